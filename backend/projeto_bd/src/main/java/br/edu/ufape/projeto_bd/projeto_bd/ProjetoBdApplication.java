@@ -3,9 +3,11 @@ package br.edu.ufape.projeto_bd.projeto_bd;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 public class ProjetoBdApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,93 @@
+package br.edu.ufape.projeto_bd.projeto_bd.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.events.RowChanges;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxBatchRepository.NewOutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxBatchRepositoryImpl;
+
+/**
+ * Registra no outbox (feed de mudanças) os INSERTs, UPDATEs e DELETEs das tabelas principais feitos pelo
+ * Hibernate, inclusive as exclusões lógicas do {@code @SQLDelete}, que também disparam o evento de exclusão.
+ * As alterações da sessão são acumuladas e gravadas num único lote antes do commit, na mesma transação.
+ * Carregado pelo Hibernate via META-INF/services; as escritas por SQL direto registram os eventos por conta própria.
+ */
+public class ChangeFeedIntegrator implements Integrator, PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+    private final Map<SessionImplementor, List<NewOutboxEvent>> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getSession(), event.getEntity(), OutboxEventType.CREATED);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getSession(), event.getEntity(), OutboxEventType.UPDATED);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getSession(), event.getEntity(), OutboxEventType.DELETED);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // --------- métodos privados ---------
+
+    private void record(EventSource session, Object entity, OutboxEventType type) {
+        NewOutboxEvent change = RowChanges.of(entity, type);
+        if (change == null) return;
+        pending.computeIfAbsent(session, key -> {
+            // roda depois do flush do commit, então pega também as alterações gravadas nele
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) -> pending.remove(s));
+            return new ArrayList<>();
+        }).add(change);
+    }
+
+    private void write(SessionImplementor session) {
+        List<NewOutboxEvent> changes = pending.remove(session);
+        if (changes == null || changes.isEmpty()) return;
+        session.doWork(connection -> OutboxBatchRepositoryImpl.insert(connection, changes));
+    }
+}
@@ -18,7 +18,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 )
                 .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Location", "Content-Disposition")
+                .exposedHeaders("Location", "Content-Disposition", "ETag", "Last-Modified")
                 .allowCredentials(false)
                 .maxAge(3600);
     }
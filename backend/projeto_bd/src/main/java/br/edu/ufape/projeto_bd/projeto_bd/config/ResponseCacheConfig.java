@@ -0,0 +1,44 @@
+package br.edu.ufape.projeto_bd.projeto_bd.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache das respostas de GET por id (produtos, categorias e fornecedores).
+ * As remoções feitas pelos métodos de alteração só acontecem após o commit, para que uma leitura
+ * concorrente não volte a guardar o estado anterior. Acertos, faltas e despejos ficam em
+ * /actuator/metrics (cache.gets, cache.evictions).
+ */
+@Configuration
+@EnableCaching
+public class ResponseCacheConfig {
+
+    public static final String PRODUCTS = "product-responses";
+    public static final String CATEGORIES = "category-responses";
+    public static final String SUPPLIERS = "supplier-responses";
+
+    @Bean
+    public CacheManager responseCacheManager(
+            @Value("${app.response-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.response-cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        // nomes fixos: os caches existem desde a inicialização e são registrados nas métricas
+        cacheManager.setCacheNames(List.of(PRODUCTS, CATEGORIES, SUPPLIERS));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,8 +1,6 @@
 package br.edu.ufape.projeto_bd.projeto_bd.config;
 
 import java.math.BigDecimal;
-import java.sql.PreparedStatement;
-import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -11,20 +9,28 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.GeneratedKeyHolder;
-import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.github.javafaker.Faker;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.*;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.SupplierType;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.*;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrderLine;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 
 @Component
@@ -44,10 +50,26 @@ public class SeedDataRunner implements CommandLineRunner {
     private final ProductTranslationRepository productTranslationRepository;
     private final ProductStockRepository productStockRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final OrderTotalsService orderTotalsService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PlatformTransactionManager transactionManager;
 
     private final Faker faker = new Faker();
     private final Random random = new Random();
 
+    // entregas PROCESSING extras para testar a atribuição de transportadoras (0 = desligado)
+    @Value("${app.seed.delivery-backlog:0}")
+    private int deliveryBacklog;
+
+    static final String[][] BACKLOG_CITIES = {
+        { "PE", "Recife", "50000" }, { "PE", "Garanhuns", "55290" }, { "PE", "Caruaru", "55000" },
+        { "PE", "Petrolina", "56300" }, { "PB", "João Pessoa", "58000" }, { "PB", "Campina Grande", "58400" },
+        { "AL", "Maceió", "57000" }, { "AL", "Arapiraca", "57300" }, { "RN", "Natal", "59000" },
+        { "CE", "Fortaleza", "60000" }, { "BA", "Salvador", "40000" }, { "BA", "Feira de Santana", "44000" },
+        { "SE", "Aracaju", "49000" }, { "PI", "Teresina", "64000" }, { "MA", "São Luís", "65000" },
+        { "SP", "São Paulo", "01000" }, { "RJ", "Rio de Janeiro", "20000" }, { "MG", "Belo Horizonte", "30100" }
+    };
+
     @Override
     @Transactional
     public void run(String... args) throws Exception {
@@ -60,6 +82,64 @@ public class SeedDataRunner implements CommandLineRunner {
         seedProductsIfEmpty(20);
         seedOrdersIfEmpty(8); // also seeds orders_products
         seedDeliveriesIfEmpty(5);
+        if (deliveryBacklog > 0) {
+            seedDeliveryBacklog(jdbcTemplate, new IdAllocator(jdbcTemplate, transactionManager), random, deliveryBacklog);
+            // o UPDATE de companies via JDBC não passa pelo cache de segundo nível; limpa depois que o
+            // Hibernate gravar no cache as empresas inseridas nesta transação
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entityManagerFactory.getCache().evict(Company.class);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gera {@code howMany} entregas em PROCESSING com destinos espalhados pelas cidades de BACKLOG_CITIES
+     * (vários CEPs por cidade) e transforma em transportadora toda empresa que ainda não for,
+     * com capacidade suficiente para o lote. Usa INSERTs em lote, com os ids de endereço reservados no
+     * {@code idAllocator}; exige armazéns, empresas e pedidos.
+     */
+    public static void seedDeliveryBacklog(JdbcTemplate jdbcTemplate, IdAllocator idAllocator, Random random, int howMany) {
+        List<Long> companyIds = jdbcTemplate.queryForList("SELECT id FROM companies WHERE deleted_at IS NULL", Long.class);
+        List<Long> warehouseIds = jdbcTemplate.queryForList("SELECT id FROM warehouses WHERE deleted_at IS NULL", Long.class);
+        Long orderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Long.class);
+        if (companyIds.isEmpty() || warehouseIds.isEmpty() || orderId == null) return;
+
+        int averageCapacity = howMany / companyIds.size() + 1;
+        for (Long companyId : companyIds) {
+            jdbcTemplate.update("UPDATE companies SET delivery_capacity = ?, delivery_price = ? WHERE id = ? AND delivery_capacity IS NULL",
+                averageCapacity * (8 + random.nextInt(9)) / 10,
+                BigDecimal.valueOf(1_500 + random.nextInt(3_000), 2),
+                companyId);
+        }
+
+        int addressesPerCity = 20;
+        long nextAddressId = idAllocator.reserve(IdAllocator.ADDRESSES, BACKLOG_CITIES.length * addressesPerCity);
+        List<Object[]> addresses = new ArrayList<>();
+        List<Long> addressIds = new ArrayList<>();
+        for (String[] city : BACKLOG_CITIES) {
+            for (int i = 0; i < addressesPerCity; i++) {
+                String zip = city[2].substring(0, 3) + String.format("%02d-%03d", random.nextInt(100), random.nextInt(1000));
+                addressIds.add(nextAddressId);
+                addresses.add(new Object[] { nextAddressId++, "BR", city[0], city[1], "Rua " + (i + 1), String.valueOf(1 + random.nextInt(999)), zip });
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO addresses (id, country, state, city, street, number, zip_code, created_at, updated_at) VALUES (?,?,?,?,?,?,?,NOW(),NOW())", addresses);
+
+        List<Object[]> deliveries = new ArrayList<>(howMany);
+        for (int i = 0; i < howMany; i++) {
+            deliveries.add(new Object[] {
+                companyIds.get(random.nextInt(companyIds.size())),
+                orderId,
+                BigDecimal.ZERO,
+                DeliveryStatus.PROCESSING.name(),
+                addressIds.get(random.nextInt(addressIds.size())),
+                warehouseIds.get(random.nextInt(warehouseIds.size()))
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO deliveries (companies_id, orders_id, price, status, addresses_destination_id, warehouses_source_id, created_at, updated_at) VALUES (?,?,?,?,?,?,NOW(),NOW())", deliveries);
     }
 
     private void seedLanguagesIfEmpty() {
@@ -108,6 +188,8 @@ public class SeedDataRunner implements CommandLineRunner {
             c.setPhones(List.of(faker.phoneNumber().cellPhone(), faker.phoneNumber().phoneNumber()));
             c.setEmails(List.of(faker.internet().emailAddress(), faker.internet().safeEmailAddress()));
             c.setAddress(fakeAddress());
+            c.setDeliveryCapacity(faker.number().numberBetween(50, 500));
+            c.setDeliveryPrice(new BigDecimal(faker.commerce().price(15, 45)));
             list.add(c);
         }
         companyRepository.saveAll(list);
@@ -238,37 +320,20 @@ public class SeedDataRunner implements CommandLineRunner {
         List<Product> products = productRepository.findAll();
         if (customerIds.isEmpty() || products.isEmpty()) return;
 
+        List<NewOrderLine> lines = new ArrayList<>();
+        long nextOrderId = new IdAllocator(jdbcTemplate, transactionManager).reserve(IdAllocator.ORDERS, howMany);
         for (int i = 0; i < howMany; i++) {
             Long customerId = customerIds.get(random.nextInt(customerIds.size()));
-            String method = random.nextBoolean() ? "online" : "in_person";
-            String status = switch (random.nextInt(5)) {
-                case 0 -> "pending";
-                case 1 -> "processing";
-                case 2 -> "shipped";
-                case 3 -> "delivered";
-                default -> "canceled";
-            };
-
-            KeyHolder kh = new GeneratedKeyHolder();
-            jdbcTemplate.update(con -> {
-                PreparedStatement ps = con.prepareStatement(
-                    "INSERT INTO orders (order_method, status, customers_id, ordered_at, expected_to_deliver_at, created_at, updated_at) VALUES (?,?,?,?,?,?,?)",
-                    Statement.RETURN_GENERATED_KEYS
-                );
-                ps.setString(1, method);
-                ps.setString(2, status);
-                ps.setLong(3, customerId);
-                LocalDateTime orderedAt = LocalDateTime.now().minusDays(random.nextInt(10));
-                LocalDateTime expected = orderedAt.plusDays(3 + random.nextInt(10));
-                ps.setObject(4, orderedAt);
-                ps.setObject(5, expected);
-                ps.setObject(6, LocalDateTime.now());
-                ps.setObject(7, LocalDateTime.now());
-                return ps;
-            }, kh);
-            Number key = kh.getKey();
-            if (key == null) continue;
-            long orderId = key.longValue();
+            String method = (random.nextBoolean() ? OrderMethod.ONLINE : OrderMethod.IN_PERSON).name();
+            String status = OrderStatus.values()[random.nextInt(OrderStatus.values().length)].name();
+
+            long orderId = nextOrderId++;
+            LocalDateTime orderedAt = LocalDateTime.now().minusDays(random.nextInt(10));
+            LocalDateTime expected = orderedAt.plusDays(3 + random.nextInt(10));
+            jdbcTemplate.update(
+                "INSERT INTO orders (id, order_method, status, customers_id, ordered_at, expected_to_deliver_at, created_at, updated_at) VALUES (?,?,?,?,?,?,?,?)",
+                orderId, method, status, customerId, orderedAt, expected, LocalDateTime.now(), LocalDateTime.now()
+            );
 
             int items = 1 + random.nextInt(3);
             for (int it = 0; it < items; it++) {
@@ -280,8 +345,10 @@ public class SeedDataRunner implements CommandLineRunner {
                     "INSERT INTO orders_products (orders_id, products_id, amount, sale_price) VALUES (?,?,?,?)",
                     orderId, p.getId(), amount, salePrice
                 );
+                lines.add(new NewOrderLine(orderId, p.getId(), amount, salePrice));
             }
         }
+        orderTotalsService.linesInserted(lines);
     }
 
     private void seedDeliveriesIfEmpty(int howMany) {
@@ -292,32 +359,23 @@ public class SeedDataRunner implements CommandLineRunner {
         Integer anyOrderId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM orders", Integer.class);
         if (companies.isEmpty() || warehouses.isEmpty() || anyOrderId == null) return;
 
+        long nextAddressId = new IdAllocator(jdbcTemplate, transactionManager).reserve(IdAllocator.ADDRESSES, howMany);
         for (int i = 0; i < howMany; i++) {
             Company c = companies.get(random.nextInt(companies.size()));
             Warehouse w = warehouses.get(random.nextInt(warehouses.size()));
             long orderId = jdbcTemplate.queryForObject("SELECT id FROM orders ORDER BY RAND() LIMIT 1", Long.class);
             // create a destination address
             Address a = fakeAddress();
-            // persist address to get id
-            KeyHolder kh = new GeneratedKeyHolder();
-            jdbcTemplate.update(con -> {
-                PreparedStatement ps = con.prepareStatement(
-                    "INSERT INTO addresses (country, state, city, street, number, zip_code, created_at, updated_at) VALUES (?,?,?,?,?,?,NOW(),NOW())",
-                    Statement.RETURN_GENERATED_KEYS
-                );
-                ps.setString(1, a.getCountry());
-                ps.setString(2, a.getState());
-                ps.setString(3, a.getCity());
-                ps.setString(4, a.getStreet());
-                ps.setString(5, a.getNumber());
-                ps.setString(6, a.getZipCode());
-                return ps;
-            }, kh);
-            long addressId = kh.getKey().longValue();
+            // id reserved up front (same allocator the Address entity uses)
+            long addressId = nextAddressId++;
+            jdbcTemplate.update(
+                "INSERT INTO addresses (id, country, state, city, street, number, zip_code, created_at, updated_at) VALUES (?,?,?,?,?,?,?,NOW(),NOW())",
+                addressId, a.getCountry(), a.getState(), a.getCity(), a.getStreet(), a.getNumber(), a.getZipCode()
+            );
 
             jdbcTemplate.update(
                 "INSERT INTO deliveries (companies_id, orders_id, price, status, addresses_destination_id, warehouses_source_id, created_at, updated_at) VALUES (?,?,?,?,?,?,NOW(),NOW())",
-                c.getId(), orderId, BigDecimal.valueOf(faker.number().numberBetween(10, 300)), "processing", addressId, w.getId()
+                c.getId(), orderId, BigDecimal.valueOf(faker.number().numberBetween(10, 300)), DeliveryStatus.PROCESSING.name(), addressId, w.getId()
             );
         }
     }
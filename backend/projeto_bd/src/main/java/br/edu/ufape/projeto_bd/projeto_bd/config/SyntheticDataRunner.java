@@ -0,0 +1,427 @@
+package br.edu.ufape.projeto_bd.projeto_bd.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Massa de dados sintética em escala de produção (milhões de produtos, pedidos, itens e estoques) para
+ * reproduzir problemas de desempenho localmente. Roda no perfil "synthetic", no lugar do SeedDataRunner:
+ * mvn spring-boot:run -Dspring-boot.run.profiles=synthetic -Dspring-boot.run.arguments=--app.synthetic.orders=5000000
+ * <p>
+ * Determinística: cada tabela é dividida em blocos de {@link #CHUNK_SIZE} linhas e cada bloco tem o seu gerador
+ * aleatório, derivado de app.synthetic.seed, do nome da tabela e do número do bloco. O conteúdo não depende do
+ * número de threads nem da ordem em que os blocos terminam; em banco vazio os ids também se repetem.
+ * Os blocos são gerados e gravados em paralelo (app.synthetic.threads conexões) com INSERTs em lote, que no
+ * MySQL viram INSERTs de várias linhas pelo rewriteBatchedStatements=true da URL.
+ * <p>
+ * Acrescenta ao que já existe e preenche order_totals e customer_balances, mas não grava o feed de mudanças
+ * (outbox_events): consumidores incrementais devem refazer o snapshot depois de uma carga.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Profile("synthetic")
+public class SyntheticDataRunner implements CommandLineRunner {
+
+    /**
+     * Tamanho da carga. Os estoques de um produto ficam em armazéns diferentes, então stocksPerProduct <= warehouses.
+     */
+    public record Plan(long seed, int categories, int customers, int warehouses, int products, int stocksPerProduct,
+            int orders, int maxLinesPerOrder, List<String> languages, int threads) {
+    }
+
+    // muda o conteúdo gerado: faz parte da "semente"
+    static final int CHUNK_SIZE = 10_000;
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final String[] NOUNS = { "Cadeira", "Mesa", "Sofá", "Armário", "Estante", "Cama", "Luminária",
+            "Tapete", "Cortina", "Espelho", "Poltrona", "Banqueta", "Escrivaninha", "Rack", "Painel", "Colchão" };
+    private static final String[] ADJECTIVES = { "gamer", "de madeira", "de aço", "de vidro", "retrô", "moderna",
+            "dobrável", "infantil", "premium", "compacta", "reclinável", "rústica", "industrial", "clássica" };
+    private static final String[] FIRST_NAMES = { "Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Heitor", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael", "Sofia", "Tiago" };
+    private static final String[] LAST_NAMES = { "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Costa",
+            "Ferreira", "Almeida", "Nascimento", "Araújo", "Barbosa", "Cavalcanti", "Melo", "Rocha", "Freitas" };
+    private static final OrderStatus[] ORDER_STATUSES = OrderStatus.values();
+    private static final OrderMethod[] ORDER_METHODS = OrderMethod.values();
+    private static final ProductStatus[] PRODUCT_STATUSES = ProductStatus.values();
+
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO categories (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ADDRESS_SQL =
+            "INSERT INTO addresses (id, country, state, city, street, number, zip_code, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CUSTOMER_SQL =
+            "INSERT INTO customers (id, name, addresses_id, credit_limit, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WAREHOUSE_SQL =
+            "INSERT INTO warehouses (id, name, addresses_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (id, warranty_date, status, minimum_sale_price, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSLATION_SQL =
+            "INSERT INTO products_translations (products_id, languages_id, name, description, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_CATEGORY_SQL =
+            "INSERT INTO products_categories (products_id, categories_id) VALUES (?, ?)";
+    private static final String INSERT_STOCK_SQL =
+            "INSERT INTO product_stocks (id, code, amount, reserved, leased, products_id, warehouses_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, 0, 0, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (id, order_method, status, customers_id, ordered_at, expected_to_deliver_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINE_SQL =
+            "INSERT INTO orders_products (orders_id, products_id, amount, sale_price) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TOTAL_SQL =
+            "INSERT INTO order_totals (orders_id, total_units, total_price, updated_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_BALANCE_SQL =
+            "INSERT INTO customer_balances (customers_id, open_balance, updated_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${app.synthetic.categories:200}")
+    private int categories;
+
+    @Value("${app.synthetic.customers:200000}")
+    private int customers;
+
+    @Value("${app.synthetic.warehouses:20}")
+    private int warehouses;
+
+    @Value("${app.synthetic.products:1000000}")
+    private int products;
+
+    @Value("${app.synthetic.stocks-per-product:3}")
+    private int stocksPerProduct;
+
+    @Value("${app.synthetic.orders:2000000}")
+    private int orders;
+
+    @Value("${app.synthetic.max-lines-per-order:5}")
+    private int maxLinesPerOrder;
+
+    @Value("${app.synthetic.languages:pt,en}")
+    private List<String> languages;
+
+    @Value("${app.synthetic.threads:8}")
+    private int threads;
+
+    @Override
+    public void run(String... args) {
+        Plan plan = new Plan(seed, categories, customers, warehouses, products, stocksPerProduct, orders,
+                maxLinesPerOrder, languages, threads);
+        long start = System.nanoTime();
+        Map<String, Long> rows = generate(plan);
+        long seconds = Math.max(1, (System.nanoTime() - start) / 1_000_000_000);
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Carga sintética: {} linhas em {}s ({} linhas/s) {}", total, seconds, total / seconds, rows);
+    }
+
+    /**
+     * Gera a carga e devolve o número de linhas inseridas por tabela.
+     */
+    public Map<String, Long> generate(Plan plan) {
+        if (plan.stocksPerProduct() > 0 && plan.stocksPerProduct() > plan.warehouses()) {
+            throw new IllegalArgumentException("stocks-per-product não pode passar do número de armazéns");
+        }
+        if (plan.orders() > 0 && (plan.customers() == 0 || plan.products() == 0 || plan.maxLinesPerOrder() < 1)) {
+            throw new IllegalArgumentException("Pedidos exigem clientes, produtos e ao menos um item por pedido");
+        }
+        Ids ids = reserveIds(plan);
+        Map<String, Long> rows = new ConcurrentHashMap<>();
+        Map<Long, BigDecimal> openBalances = new ConcurrentHashMap<>();
+
+        insert(rows, "categories", INSERT_CATEGORY_SQL, categoryRows(plan, ids));
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, plan.threads()))) {
+            List<Future<?>> stage = new ArrayList<>();
+            submitChunks(executor, stage, plan, "customers", plan.customers(),
+                    (random, from, to) -> writeCustomers(rows, ids, random, from, to));
+            submitChunks(executor, stage, plan, "warehouses", plan.warehouses(),
+                    (random, from, to) -> writeWarehouses(rows, plan, ids, random, from, to));
+            submitChunks(executor, stage, plan, "products", plan.products(),
+                    (random, from, to) -> writeProducts(rows, plan, ids, random, from, to));
+            await(stage);
+
+            // estoques e pedidos só referenciam linhas da etapa anterior
+            stage.clear();
+            submitChunks(executor, stage, plan, "product_stocks", plan.stocksPerProduct() == 0 ? 0 : plan.products(),
+                    (random, from, to) -> writeStocks(rows, plan, ids, random, from, to));
+            submitChunks(executor, stage, plan, "orders", plan.orders(),
+                    (random, from, to) -> writeOrders(rows, openBalances, plan, ids, random, from, to));
+            await(stage);
+        }
+
+        List<Object[]> balances = new ArrayList<>(openBalances.size());
+        Timestamp now = Timestamp.valueOf(BASE_DATE);
+        new TreeMap<>(openBalances).forEach((customerId, balance) -> balances.add(new Object[] { customerId, balance, now }));
+        insert(rows, "customer_balances", INSERT_BALANCE_SQL, balances);
+        return new TreeMap<>(rows);
+    }
+
+    // --------- ids ---------
+
+    /**
+     * Último id em uso de cada tabela: as linhas geradas recebem base + 1 + posição. Tabelas com IDENTITY
+     * partem do MAX(id) (o auto_increment do MySQL avança sozinho); as de id_generators reservam a faixa inteira.
+     */
+    private record Ids(long category, long customer, long warehouse, long product, long address, long stock,
+            long order, List<Long> languages) {
+    }
+
+    private Ids reserveIds(Plan plan) {
+        IdAllocator idAllocator = new IdAllocator(jdbcTemplate, transactionManager);
+        List<Long> languageIds = new ArrayList<>();
+        for (String isoCode : plan.languages()) {
+            languageIds.addAll(jdbcTemplate.queryForList("SELECT id FROM languages WHERE iso_code = ?", Long.class, isoCode));
+        }
+        int stocks = Math.multiplyExact(plan.products(), plan.stocksPerProduct());
+        return new Ids(maxId("categories"), maxId("customers"), maxId("warehouses"), maxId("products"),
+                idAllocator.reserve(IdAllocator.ADDRESSES, plan.customers() + plan.warehouses()) - 1,
+                idAllocator.reserve(IdAllocator.PRODUCT_STOCKS, stocks) - 1,
+                idAllocator.reserve(IdAllocator.ORDERS, plan.orders()) - 1,
+                languageIds);
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // --------- blocos ---------
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(SplittableRandom random, int from, int to);
+    }
+
+    private void submitChunks(ExecutorService executor, List<Future<?>> futures, Plan plan, String table, int total,
+            ChunkWriter writer) {
+        long tableSeed = mix64(plan.seed() ^ mix64(table.hashCode()));
+        for (int from = 0, chunk = 0; from < total; from += CHUNK_SIZE, chunk++) {
+            int to = Math.min(total, from + CHUNK_SIZE);
+            int fromIndex = from;
+            SplittableRandom random = new SplittableRandom(mix64(tableSeed + chunk));
+            futures.add(executor.submit(() -> writer.write(random, fromIndex, to)));
+        }
+    }
+
+    private static void await(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Carga sintética interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na carga sintética", e.getCause());
+        }
+    }
+
+    private void insert(Map<String, Long> rows, String table, String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, batch);
+        rows.merge(table, (long) batch.size(), Long::sum);
+    }
+
+    // --------- tabelas ---------
+
+    private List<Object[]> categoryRows(Plan plan, Ids ids) {
+        Timestamp created = Timestamp.valueOf(BASE_DATE);
+        List<Object[]> batch = new ArrayList<>(plan.categories());
+        for (int i = 0; i < plan.categories(); i++) {
+            batch.add(new Object[] { ids.category() + 1 + i, NOUNS[i % NOUNS.length] + " " + (i + 1),
+                    "Categoria sintética " + (i + 1), created, created });
+        }
+        return batch;
+    }
+
+    private Object[] addressRow(SplittableRandom random, long id) {
+        String[] city = SeedDataRunner.BACKLOG_CITIES[random.nextInt(SeedDataRunner.BACKLOG_CITIES.length)];
+        String zip = city[2].substring(0, 3) + String.format("%02d-%03d", random.nextInt(100), random.nextInt(1000));
+        Timestamp created = Timestamp.valueOf(BASE_DATE);
+        return new Object[] { id, "BR", city[0], city[1], "Rua " + (1 + random.nextInt(500)),
+                String.valueOf(1 + random.nextInt(9999)), zip, created, created };
+    }
+
+    private void writeCustomers(Map<String, Long> rows, Ids ids, SplittableRandom random, int from, int to) {
+        Timestamp created = Timestamp.valueOf(BASE_DATE);
+        List<Object[]> addresses = new ArrayList<>(to - from);
+        List<Object[]> customerRows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long addressId = ids.address() + 1 + i;
+            addresses.add(addressRow(random, addressId));
+            customerRows.add(new Object[] { ids.customer() + 1 + i,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    addressId, BigDecimal.valueOf(500 + random.nextInt(49_501)), created, created });
+        }
+        insert(rows, "addresses", INSERT_ADDRESS_SQL, addresses);
+        insert(rows, "customers", INSERT_CUSTOMER_SQL, customerRows);
+    }
+
+    private void writeWarehouses(Map<String, Long> rows, Plan plan, Ids ids, SplittableRandom random, int from, int to) {
+        Timestamp created = Timestamp.valueOf(BASE_DATE);
+        List<Object[]> addresses = new ArrayList<>(to - from);
+        List<Object[]> warehouseRows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            // endereços dos armazéns vêm depois dos de clientes na faixa reservada
+            long addressId = ids.address() + 1 + plan.customers() + i;
+            Object[] address = addressRow(random, addressId);
+            addresses.add(address);
+            warehouseRows.add(new Object[] { ids.warehouse() + 1 + i, "Armazém " + (i + 1) + " - " + address[3],
+                    addressId, created, created });
+        }
+        insert(rows, "addresses", INSERT_ADDRESS_SQL, addresses);
+        insert(rows, "warehouses", INSERT_WAREHOUSE_SQL, warehouseRows);
+    }
+
+    private void writeProducts(Map<String, Long> rows, Plan plan, Ids ids, SplittableRandom random, int from, int to) {
+        Timestamp created = Timestamp.valueOf(BASE_DATE);
+        List<Object[]> productRows = new ArrayList<>(to - from);
+        List<Object[]> translations = new ArrayList<>((to - from) * ids.languages().size());
+        List<Object[]> productCategories = new ArrayList<>((to - from) * 2);
+        for (int i = from; i < to; i++) {
+            long productId = ids.product() + 1 + i;
+            productRows.add(new Object[] { productId,
+                    Timestamp.valueOf(BASE_DATE.plusDays(30 + random.nextInt(700))),
+                    PRODUCT_STATUSES[random.nextInt(PRODUCT_STATUSES.length)].name(),
+                    minimumSalePrice(plan.seed(), i), created, created });
+            String name = NOUNS[random.nextInt(NOUNS.length)] + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            for (int l = 0; l < ids.languages().size(); l++) {
+                translations.add(new Object[] { productId, ids.languages().get(l),
+                        l == 0 ? name + " " + (i + 1) : name + " (" + plan.languages().get(l) + ") " + (i + 1),
+                        "Produto sintético " + (i + 1), created, created });
+            }
+            if (plan.categories() > 0) {
+                int first = random.nextInt(plan.categories());
+                productCategories.add(new Object[] { productId, ids.category() + 1 + first });
+                int second = random.nextInt(plan.categories());
+                if (second != first && random.nextBoolean()) {
+                    productCategories.add(new Object[] { productId, ids.category() + 1 + second });
+                }
+            }
+        }
+        insert(rows, "products", INSERT_PRODUCT_SQL, productRows);
+        insert(rows, "products_translations", INSERT_TRANSLATION_SQL, translations);
+        insert(rows, "products_categories", INSERT_PRODUCT_CATEGORY_SQL, productCategories);
+    }
+
+    private void writeStocks(Map<String, Long> rows, Plan plan, Ids ids, SplittableRandom random, int from, int to) {
+        Timestamp created = Timestamp.valueOf(BASE_DATE);
+        List<Object[]> stocks = new ArrayList<>((to - from) * plan.stocksPerProduct());
+        for (int i = from; i < to; i++) {
+            for (int s = 0; s < plan.stocksPerProduct(); s++) {
+                long stockId = ids.stock() + 1 + (long) i * plan.stocksPerProduct() + s;
+                // armazéns consecutivos a partir da posição do produto: nunca repete o par produto/armazém
+                int warehouse = (i + s) % plan.warehouses();
+                stocks.add(new Object[] { stockId, "SYN-" + stockId, random.nextInt(501),
+                        ids.product() + 1 + i, ids.warehouse() + 1 + warehouse, created, created });
+            }
+        }
+        insert(rows, "product_stocks", INSERT_STOCK_SQL, stocks);
+    }
+
+    private void writeOrders(Map<String, Long> rows, Map<Long, BigDecimal> openBalances, Plan plan, Ids ids,
+            SplittableRandom random, int from, int to) {
+        List<Object[]> orderRows = new ArrayList<>(to - from);
+        List<Object[]> lines = new ArrayList<>((to - from) * plan.maxLinesPerOrder());
+        List<Object[]> totals = new ArrayList<>(to - from);
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        int[] picked = new int[plan.maxLinesPerOrder()];
+        for (int i = from; i < to; i++) {
+            long orderId = ids.order() + 1 + i;
+            long customerId = ids.customer() + 1 + random.nextInt(plan.customers());
+            OrderStatus status = ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)];
+            LocalDateTime orderedAt = BASE_DATE.plusMinutes(random.nextInt(365 * 24 * 60));
+            Timestamp ordered = Timestamp.valueOf(orderedAt);
+            orderRows.add(new Object[] { orderId, ORDER_METHODS[random.nextInt(ORDER_METHODS.length)].name(),
+                    status.name(), customerId, ordered, Timestamp.valueOf(orderedAt.plusDays(3 + random.nextInt(12))),
+                    ordered, ordered });
+
+            int count = Math.min(plan.products(), 1 + random.nextInt(plan.maxLinesPerOrder()));
+            long units = 0;
+            BigDecimal price = BigDecimal.ZERO;
+            for (int l = 0; l < count; l++) {
+                int product = nextDistinct(random, plan.products(), picked, l);
+                long amount = 1 + random.nextInt(5);
+                BigDecimal salePrice = minimumSalePrice(plan.seed(), product)
+                        .multiply(BigDecimal.valueOf(100 + random.nextInt(31), 2)).setScale(2, RoundingMode.HALF_UP);
+                lines.add(new Object[] { orderId, ids.product() + 1 + product, amount, salePrice });
+                units += amount;
+                price = price.add(salePrice.multiply(BigDecimal.valueOf(amount)));
+            }
+            totals.add(new Object[] { orderId, units, price, ordered });
+            if (OrderTotalsService.isOpen(status)) {
+                balances.merge(customerId, price, BigDecimal::add);
+            }
+        }
+        insert(rows, "orders", INSERT_ORDER_SQL, orderRows);
+        insert(rows, "orders_products", INSERT_LINE_SQL, lines);
+        insert(rows, "order_totals", INSERT_TOTAL_SQL, totals);
+        balances.forEach((customerId, balance) -> openBalances.merge(customerId, balance, BigDecimal::add));
+    }
+
+    // produto ainda não escolhido para o pedido (a chave primária de orders_products é pedido + produto)
+    private static int nextDistinct(SplittableRandom random, int bound, int[] picked, int count) {
+        while (true) {
+            int candidate = random.nextInt(bound);
+            boolean repeated = false;
+            for (int p = 0; p < count && !repeated; p++) {
+                repeated = picked[p] == candidate;
+            }
+            if (!repeated) {
+                picked[count] = candidate;
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Preço mínimo do produto na posição {@code index}: calculado da semente, sem estado, para os itens de pedido
+     * (gerados em outros blocos) respeitarem o mínimo sem consultar a tabela.
+     */
+    private static BigDecimal minimumSalePrice(long seed, int index) {
+        long cents = 1_000 + Math.floorMod(mix64(seed ^ mix64(index + 1L)), 199_000L);
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // finalizador do SplitMix64: espalha sementes próximas
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -19,6 +19,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/categories")
@@ -27,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 public class CategoryController {
 
     private final ICategoryService categoryService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/create")
     public ResponseEntity<CategoryResponseDTO> createCategory(@Valid @RequestBody CategoryRequestDTO request) {
@@ -36,9 +41,9 @@ public class CategoryController {
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponseDTO> getCategoryById(@PathVariable Long id) {
-        CategoryResponseDTO category = categoryService.findCategoryById(id);
-        return ResponseEntity.ok(category);
+    public ResponseEntity<CategoryResponseDTO> getCategoryById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.CATEGORIES, id),
+                () -> categoryService.findCategoryById(id));
     }
 
     /**
@@ -48,9 +53,10 @@ public class CategoryController {
      * Ex: /categories?page=0&size=10&sort=name,asc&search=eletron
      */
     @GetMapping
-    public ResponseEntity<Page<CategoryResponseDTO>> getAllCategories(Pageable pageable, @RequestParam(required = false) String search) {
-        Page<CategoryResponseDTO> categories = categoryService.findAllCategories(pageable, search);
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<Page<CategoryResponseDTO>> getAllCategories(Pageable pageable, @RequestParam(required = false) String search,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.CATEGORIES),
+                () -> categoryService.findAllCategories(pageable, search));
     }
 
 
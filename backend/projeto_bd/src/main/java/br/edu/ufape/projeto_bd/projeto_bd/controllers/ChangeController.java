@@ -0,0 +1,36 @@
+package br.edu.ufape.projeto_bd.projeto_bd.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("api/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Changes-Next";
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Feed incremental das mudanças (INSERT, UPDATE e DELETE, inclusive exclusões lógicas) em NDJSON.
+     * O cabeçalho {@code X-Changes-Next} traz o cursor para a próxima chamada; responde 410 se o cursor expirou.
+     * Ex: GET /changes?since=0 e depois GET /changes?since={X-Changes-Next}
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getChanges(@RequestParam(defaultValue = "0") long since) {
+        long until = changeFeedService.latestSeq(since);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(NEXT_CURSOR_HEADER, String.valueOf(until))
+                .body(out -> changeFeedService.stream(since, until, out));
+    }
+}
@@ -1,6 +1,5 @@
 package br.edu.ufape.projeto_bd.projeto_bd.controllers;
 
-import org.springframework.data.domain.Page;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,10 +16,15 @@ import org.springframework.web.bind.annotation.RestController;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.PageResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyPatchDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.ICompanyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("/api/companies")
@@ -28,6 +32,7 @@ import lombok.RequiredArgsConstructor;
 public class CompanyController {
 
     private final ICompanyService companyService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     public ResponseEntity<CompanyResponseDTO> createCompany(@Valid @RequestBody CompanyRequestDTO companyRequestDTO) {
@@ -35,8 +40,9 @@ public class CompanyController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CompanyResponseDTO> getCompanyById(@PathVariable Long id) {
-        return ResponseEntity.ok(companyService.getCompanyById(id));
+    public ResponseEntity<CompanyResponseDTO> getCompanyById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.COMPANIES, id),
+                () -> companyService.getCompanyById(id));
     }
 
     @GetMapping
@@ -45,9 +51,23 @@ public class CompanyController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String direction,
-            @RequestParam(required = false) String tradeName) {
-        Page<CompanyResponseDTO> companies = companyService.getAllCompanies(page, size, sortBy, direction, tradeName);
-        return ResponseEntity.ok(new PageResponseDTO<>(companies));
+            @RequestParam(required = false) String tradeName,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.COMPANIES),
+                () -> new PageResponseDTO<>(
+                        companyService.getAllCompanies(page, size, sortBy, direction, tradeName)));
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<WindowResponseDTO<CompanyResponseDTO>> scrollCompanies(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String tradeName,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.COMPANIES),
+                () -> companyService.scrollCompanies(after, limit, sortBy, direction, tradeName));
     }
 
     @PatchMapping("/{id}")
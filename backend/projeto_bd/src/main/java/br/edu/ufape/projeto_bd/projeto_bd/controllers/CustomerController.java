@@ -5,12 +5,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.CustomerRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CustomerResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CustomerService;
 import jakarta.validation.Valid;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/customers")
@@ -18,6 +25,8 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class CustomerController {
     private final CustomerService customerService;
+    private final TableExportService tableExportService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/create")
     public ResponseEntity<CustomerResponseDTO> createCustomer(@Valid @RequestBody CustomerRequestDTO request) {
@@ -26,15 +35,16 @@ public class CustomerController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
-        CustomerResponseDTO customer = customerService.findCustomerById(id);
-        return ResponseEntity.ok(customer);
+    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.CUSTOMERS, id),
+                () -> customerService.findCustomerById(id));
     }
 
     @GetMapping
-    public ResponseEntity<Page<CustomerResponseDTO>> getAllCustomers(@RequestParam(required = false) String name, Pageable pageable) {
-        Page<CustomerResponseDTO> customers = customerService.findAllCustomers(name, pageable);
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<Page<CustomerResponseDTO>> getAllCustomers(@RequestParam(required = false) String name, Pageable pageable,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.CUSTOMERS),
+                () -> customerService.findAllCustomers(name, pageable));
     }
 
     @PutMapping("/update/{id}")
@@ -48,4 +58,14 @@ public class CustomerController {
         customerService.deleteCustomer(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Exporta os clientes ativos com o saldo em aberto, em NDJSON ou CSV.
+     * Ex: /customers/export?format=csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportFormat.attachment("customers", out -> tableExportService.exportCustomers(exportFormat, out));
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.ufape.projeto_bd.projeto_bd.controllers;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CarrierAssignmentResultDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryDispatchResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IDeliveryService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
+
+@RestController
+@RequestMapping("api/deliveries")
+@RequiredArgsConstructor
+@Validated
+public class DeliveryController {
+
+    private final IDeliveryService deliveryService;
+    private final CarrierAssignmentService carrierAssignmentService;
+    private final ResourceVersionService resourceVersionService;
+
+    @PostMapping("/create")
+    public ResponseEntity<DeliveryResponseDTO> createDelivery(@Valid @RequestBody DeliveryRequestDTO request) {
+        DeliveryResponseDTO newDelivery = deliveryService.createDelivery(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(newDelivery);
+    }
+
+    /**
+     * Despacho em lote: cria, numa única transação, as entregas de todos os pedidos do corpo.
+     * Pedidos sem armazém recebem uma entrega por armazém escolhido pela alocação de estoque.
+     */
+    @PostMapping("/dispatch")
+    public ResponseEntity<DeliveryDispatchResponseDTO> dispatchDeliveries(@Valid @RequestBody DeliveryDispatchRequestDTO request) {
+        DeliveryDispatchResponseDTO result = deliveryService.dispatchDeliveries(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
+    /**
+     * Redistribui as entregas em PROCESSING (até 50000 por chamada) entre as transportadoras,
+     * agrupando por rota e respeitando capacidade e preço. Ex: /deliveries/assign-carriers?warehouseId=3
+     */
+    @PostMapping("/assign-carriers")
+    public ResponseEntity<CarrierAssignmentResultDTO> assignCarriers(@RequestParam(required = false) Long warehouseId) {
+        return ResponseEntity.ok(carrierAssignmentService.assignPendingDeliveries(warehouseId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeliveryResponseDTO> getDeliveryById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.DELIVERIES, id),
+                () -> deliveryService.findDeliveryById(id));
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<DeliveryResponseDTO>> getAllDeliveries(
+            @RequestParam(required = false) Long orderId,
+            Pageable pageable,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.DELIVERIES),
+                () -> deliveryService.findAllDeliveries(orderId, pageable));
+    }
+
+    @PutMapping("/update/{id}")
+    public ResponseEntity<DeliveryResponseDTO> updateDelivery(@PathVariable Long id, @Valid @RequestBody DeliveryRequestDTO request) {
+        return ResponseEntity.ok(deliveryService.updateDelivery(id, request));
+    }
+
+    @DeleteMapping("/delete/{id}")
+    public ResponseEntity<Void> deleteDelivery(@PathVariable Long id) {
+        deliveryService.deleteDelivery(id);
+        return ResponseEntity.noContent().build();
+    }
+}
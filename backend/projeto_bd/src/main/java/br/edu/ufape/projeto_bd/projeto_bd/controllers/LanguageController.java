@@ -1,15 +1,20 @@
 package br.edu.ufape.projeto_bd.projeto_bd.controllers;
 
-import java.util.List;
-
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
-import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.LanguageRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -18,11 +23,50 @@ import lombok.RequiredArgsConstructor;
 @Validated
 public class LanguageController {
 
-    private final LanguageRepository languageRepository;
+    private final LanguageRegistry languageRegistry;
+    private final ObjectMapper objectMapper;
+
+    private volatile CachedBody cachedBody;
+
+    /**
+     * Corpo JSON já serializado para um snapshot do registro, com o ETag correspondente.
+     */
+    private record CachedBody(LanguageRegistry.Snapshot snapshot, byte[] json, String etag) {
+    }
 
+    /**
+     * Lista os idiomas a partir do registro em memória. O JSON é serializado uma única vez
+     * por snapshot e revalidações com If-None-Match recebem 304 sem corpo.
+     */
     @GetMapping
-    public ResponseEntity<List<Language>> listLanguages() {
-        List<Language> langs = languageRepository.findAll();
-        return ResponseEntity.ok(langs);
+    public ResponseEntity<byte[]> listLanguages(WebRequest request) throws JsonProcessingException {
+        CachedBody body = currentBody();
+        if (request.checkNotModified(body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(body.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(body.etag())
+                .body(body.json());
+    }
+
+    /**
+     * Recarrega o registro de idiomas a partir do banco (ex.: após alterar a tabela languages).
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refreshLanguages() {
+        languageRegistry.refresh();
+        return ResponseEntity.noContent().build();
+    }
+
+    private CachedBody currentBody() throws JsonProcessingException {
+        LanguageRegistry.Snapshot snapshot = languageRegistry.getSnapshot();
+        CachedBody body = cachedBody;
+        if (body == null || body.snapshot() != snapshot) {
+            byte[] json = objectMapper.writeValueAsBytes(snapshot.languages());
+            body = new CachedBody(snapshot, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+            cachedBody = body;
+        }
+        return body;
     }
 }
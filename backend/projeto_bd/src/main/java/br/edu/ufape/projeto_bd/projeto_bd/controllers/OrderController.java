@@ -1,17 +1,38 @@
 package br.edu.ufape.projeto_bd.projeto_bd.controllers;
 
+import java.io.InputStream;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderAggregateRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAggregateResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderIngestResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderTotalsCheckResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IOrderService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderIngestionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.StockAllocationService;
 import jakarta.validation.Valid;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/orders")
@@ -20,6 +41,11 @@ import lombok.RequiredArgsConstructor;
 public class OrderController {
 
     private final IOrderService orderService;
+    private final StockAllocationService stockAllocationService;
+    private final OrderIngestionService orderIngestionService;
+    private final OrderTotalsService orderTotalsService;
+    private final TableExportService tableExportService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/create")
     public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO request) {
@@ -27,10 +53,35 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(newOrder);
     }
 
+    /**
+     * Cria o pedido com todos os itens em uma única transação e devolve o pedido completo com os totais.
+     */
+    @PostMapping("/aggregate")
+    public ResponseEntity<OrderAggregateResponseDTO> createOrderAggregate(@Valid @RequestBody OrderAggregateRequestDTO request) {
+        OrderAggregateResponseDTO newOrder = orderService.createOrderAggregate(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(newOrder);
+    }
+
+    /**
+     * Ingestão em lote: recebe um array JSON de pedidos com os itens e devolve o resultado de cada um.
+     * O corpo é lido como stream, então o array pode ter dezenas de milhares de pedidos.
+     * Ex: POST /orders/ingest com [{"orderMethod":"ONLINE", ..., "lines":[{"productId":1,"amount":2,"salePrice":10.5}]}]
+     */
+    @PostMapping(value = "/ingest", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<OrderIngestResponseDTO> ingestOrders(InputStream body) {
+        return ResponseEntity.ok(orderIngestionService.ingest(body));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id) {
-        OrderResponseDTO order = orderService.findOrderById(id);
-        return ResponseEntity.ok(order);
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.ORDERS, id),
+                () -> orderService.findOrderById(id));
+    }
+
+    @GetMapping("/{id}/aggregate")
+    public ResponseEntity<OrderAggregateResponseDTO> getOrderAggregateById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.ORDERS, id),
+                () -> orderService.findOrderAggregateById(id));
     }
 
     /**
@@ -41,9 +92,53 @@ public class OrderController {
      * @return ResponseEntity com a página de pedidos e o status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<Page<OrderResponseDTO>> getAllOrders(Pageable pageable) {
-        Page<OrderResponseDTO> orders = orderService.findAllOrders(pageable);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<Page<OrderResponseDTO>> getAllOrders(Pageable pageable, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.ORDERS),
+                () -> orderService.findAllOrders(pageable));
+    }
+
+    /**
+     * Listagem por cursor (keyset), selecionada quando a URL traz {@code limit}.
+     * Ex: /orders?limit=50&sort=orderedAt,desc e depois /orders?limit=50&sort=orderedAt,desc&after={next}
+     * @param after Cursor opaco devolvido em {@code next} pela janela anterior.
+     * @param limit Quantidade de itens da janela (máximo 100).
+     * @param sort Ordenação; o id é acrescentado como desempate.
+     * @return ResponseEntity com a janela de pedidos e o status HTTP 200 (OK).
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<WindowResponseDTO<OrderResponseDTO>> scrollOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit,
+            Sort sort,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.ORDERS),
+                () -> orderService.scrollOrders(after, limit, sort));
+    }
+
+    /**
+     * Sugere de quais armazéns sai cada item do pedido (não reserva estoque).
+     */
+    @GetMapping("/{id}/allocation")
+    public ResponseEntity<OrderAllocationDTO> getOrderAllocation(@PathVariable Long id) {
+        return ResponseEntity.ok(stockAllocationService.allocateOrder(id));
+    }
+
+    /**
+     * Alocação em lote: os pedidos são atendidos em ordem de id sobre a mesma fotografia de estoque.
+     * Ex: POST /orders/allocations com o corpo [10, 11, 12]
+     */
+    @PostMapping("/allocations")
+    public ResponseEntity<List<OrderAllocationDTO>> allocateOrders(@RequestBody List<Long> orderIds) {
+        return ResponseEntity.ok(stockAllocationService.allocateOrders(orderIds));
+    }
+
+    /**
+     * Recalcula os totais materializados dos pedidos e os saldos dos clientes e compara com os gravados.
+     * Ex: POST /orders/totals/check?repair=true corrige as divergências encontradas.
+     */
+    @PostMapping("/totals/check")
+    public ResponseEntity<OrderTotalsCheckResponseDTO> checkOrderTotals(@RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(orderTotalsService.checkConsistency(repair));
     }
 
     @PutMapping("/update/{id}")
@@ -57,4 +152,14 @@ public class OrderController {
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exporta os pedidos com os totais materializados, em NDJSON ou CSV.
+     * Ex: /orders/export?format=csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportFormat.attachment("orders", out -> tableExportService.exportOrders(exportFormat, out));
+    }
 }
@@ -1,18 +1,29 @@
 package br.edu.ufape.projeto_bd.projeto_bd.controllers;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductBatchRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IOrderProduct;
 
 import jakarta.validation.Valid;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/orders-products")
@@ -21,6 +32,8 @@ import lombok.RequiredArgsConstructor;
 public class OrderProductController {
 
     private final IOrderProduct orderProductService;
+    private final TableExportService tableExportService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/create")
     public ResponseEntity<OrderProductResponseDTO> createOrderProduct(
@@ -30,19 +43,45 @@ public class OrderProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Cria vários itens em uma transação. Se algum item for inválido, nenhum é gravado
+     * e a resposta 400 traz os erros por posição (ex.: "lines[3]").
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderProductResponseDTO>> createOrderProducts(
+            @Valid @RequestBody OrderProductBatchRequestDTO request) {
+
+        List<OrderProductResponseDTO> response = orderProductService.createOrderProducts(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     @GetMapping("/{orderId}/{productId}")
     public ResponseEntity<OrderProductResponseDTO> getOrderProductById(
             @PathVariable Long orderId,
-            @PathVariable Long productId) {
+            @PathVariable Long productId,
+            WebRequest request) {
 
-        OrderProductResponseDTO response = orderProductService.findOrderProductById(orderId, productId);
-        return ResponseEntity.ok(response);
+        return ResourceVersion.conditionalGet(request,
+                resourceVersionService.ofRow(Resource.ORDER_PRODUCTS, orderId, productId),
+                () -> orderProductService.findOrderProductById(orderId, productId));
     }
 
     @GetMapping
-    public ResponseEntity<Page<OrderProductResponseDTO>> getAllOrderProducts(Pageable pageable) {
-        Page<OrderProductResponseDTO> page = orderProductService.findAllOrderProducts(pageable);
-        return ResponseEntity.ok(page);
+    public ResponseEntity<Page<OrderProductResponseDTO>> getAllOrderProducts(Pageable pageable, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.ORDER_PRODUCTS),
+                () -> orderProductService.findAllOrderProducts(pageable));
+    }
+
+    /**
+     * Listagem por cursor na ordem da PK (orderId, productId), selecionada quando a URL traz {@code limit}.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<WindowResponseDTO<OrderProductResponseDTO>> scrollOrderProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.ORDER_PRODUCTS),
+                () -> orderProductService.scrollOrderProducts(after, limit));
     }
 
     @PutMapping("/update/{orderId}/{productId}")
@@ -63,4 +102,14 @@ public class OrderProductController {
         orderProductService.deleteOrderProduct(orderId, productId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exporta os itens de todos os pedidos, em NDJSON ou CSV.
+     * Ex: /orders-products/export?format=csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrderProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportFormat.attachment("orders-products", out -> tableExportService.exportOrderProducts(exportFormat, out));
+    }
 }
@@ -1,7 +1,10 @@
 package br.edu.ufape.projeto_bd.projeto_bd.controllers;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -14,11 +17,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSearchHitDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSuggestionDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import jakarta.validation.Valid;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
 import lombok.RequiredArgsConstructor;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IProductService;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/products")
@@ -27,6 +40,8 @@ import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IProductService;
 public class ProductController {
 
     private final IProductService productService;
+    private final TableExportService tableExportService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     public ResponseEntity<ProductResponseDTO> createProduct(@Valid @RequestBody ProductRequestDTO request) {
@@ -37,10 +52,10 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponseDTO> getProductById(@PathVariable Long id, WebRequest request) {
 
-        ProductResponseDTO product = productService.findProductById(id);
-        return ResponseEntity.ok(product);
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.PRODUCTS, id),
+                () -> productService.findProductById(id));
 
     }
 
@@ -54,13 +69,73 @@ public class ProductController {
      */
     @GetMapping
     public ResponseEntity<Page<ProductResponseDTO>> getAllProducts(Pageable pageable,
-            @RequestParam(name = "search", required = false) String search) {
+            @RequestParam(name = "search", required = false) String search,
+            WebRequest request) {
+
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.PRODUCTS),
+                () -> productService.findAllProducts(pageable, search));
+
+    }
+
+    /**
+     * Listagem por cursor (keyset), selecionada quando a URL traz {@code limit}.
+     * Não executa COUNT e o custo não cresce com a profundidade.
+     * Ex: /products?limit=20&sort=minimumSalePrice,desc e depois /products?limit=20&sort=minimumSalePrice,desc&after={next}
+     * @param after Cursor opaco devolvido em {@code next} pela janela anterior.
+     * @param limit Quantidade de itens da janela (máximo 100).
+     * @param sort Ordenação; o id é acrescentado como desempate.
+     * @param search Palavra-chave opcional para filtrar (por id, status ou preço mínimo).
+     * @return ResponseEntity com a janela de produtos e o status HTTP 200 (OK).
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<WindowResponseDTO<ProductResponseDTO>> scrollProducts(
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "limit") int limit,
+            Sort sort,
+            @RequestParam(name = "search", required = false) String search,
+            WebRequest request) {
+
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.PRODUCTS),
+                () -> productService.scrollProducts(after, limit, sort, search));
+
+    }
+
 
-        Page<ProductResponseDTO> products = productService.findAllProducts(pageable, search);
-        return ResponseEntity.ok(products);
+    /**
+     * Busca textual por nome e descrição dos produtos, ordenada por relevância.
+     * Ex: /products/search?q=cadeira&lang=pt&limit=20
+     * @param q Termo buscado.
+     * @param lang Código ISO opcional para restringir a busca a um idioma.
+     * @param limit Quantidade máxima de resultados (máximo 100).
+     * @return ResponseEntity com os produtos encontrados e o status HTTP 200 (OK).
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchHitDTO>> searchProducts(
+            @RequestParam(name = "q") String q,
+            @RequestParam(name = "lang", required = false) String lang,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(productService.searchProducts(q, lang, limit));
 
     }
 
+    /**
+     * Sugestões de nomes para autocomplete, por prefixo e tolerando um erro de digitação.
+     * Ex: /products/suggest?q=cadei&lang=pt
+     * @param q Texto digitado até o momento.
+     * @param lang Código ISO do idioma dos nomes.
+     * @param limit Quantidade máxima de sugestões (máximo 50).
+     * @return ResponseEntity com as sugestões e o status HTTP 200 (OK).
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam(name = "q") String q,
+            @RequestParam(name = "lang") String lang,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(productService.suggestProducts(q, lang, limit));
+
+    }
 
     @PutMapping("/update/{id}")
     public ResponseEntity<ProductResponseDTO> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequestDTO request) {
@@ -76,4 +151,14 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exporta todos os produtos em NDJSON (padrão) ou CSV, lidos por cursor e escritos direto na resposta.
+     * Ex: /products/export?format=csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportFormat.attachment("products", out -> tableExportService.exportProducts(exportFormat, out));
+    }
 }
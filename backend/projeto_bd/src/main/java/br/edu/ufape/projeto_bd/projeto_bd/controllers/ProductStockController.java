@@ -5,12 +5,20 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductStockRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.StockMovementRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductStockResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductStockService;
 import jakarta.validation.Valid;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/product-stocks")
@@ -18,6 +26,8 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class ProductStockController {
     private final ProductStockService productStockService;
+    private final TableExportService tableExportService;
+    private final ResourceVersionService resourceVersionService;
 
 
     @PostMapping("/create")
@@ -28,16 +38,16 @@ public class ProductStockController {
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductStockResponseDTO> getProductStockById(@PathVariable Long id) {
-        ProductStockResponseDTO stock = productStockService.findProductStockById(id);
-        return ResponseEntity.ok(stock);
+    public ResponseEntity<ProductStockResponseDTO> getProductStockById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.PRODUCT_STOCKS, id),
+                () -> productStockService.findProductStockById(id));
     }
 
 
     @GetMapping
-    public ResponseEntity<Page<ProductStockResponseDTO>> getAllProductStocks(Pageable pageable) {
-        Page<ProductStockResponseDTO> stocks = productStockService.findAllProductStocks(pageable);
-        return ResponseEntity.ok(stocks);
+    public ResponseEntity<Page<ProductStockResponseDTO>> getAllProductStocks(Pageable pageable, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.PRODUCT_STOCKS),
+                () -> productStockService.findAllProductStocks(pageable));
     }
 
 
@@ -48,9 +58,54 @@ public class ProductStockController {
     }
 
 
+    @PostMapping("/reserve")
+    public ResponseEntity<Void> reserveStock(@Valid @RequestBody StockMovementRequestDTO request) {
+        productStockService.reserveStock(request.getProductId(), request.getWarehouseId(), request.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+
+
+    @PostMapping("/commit")
+    public ResponseEntity<Void> commitReservation(@Valid @RequestBody StockMovementRequestDTO request) {
+        productStockService.commitReservation(request.getProductId(), request.getWarehouseId(), request.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+
+
+    @PostMapping("/release")
+    public ResponseEntity<Void> releaseReservation(@Valid @RequestBody StockMovementRequestDTO request) {
+        productStockService.releaseReservation(request.getProductId(), request.getWarehouseId(), request.getQuantity());
+        return ResponseEntity.noContent().build();
+    }
+
+
+    @PostMapping("/hot/{productId}/{warehouseId}")
+    public ResponseEntity<Void> enableHotStock(@PathVariable Long productId, @PathVariable Long warehouseId) {
+        productStockService.enableHotStock(productId, warehouseId);
+        return ResponseEntity.noContent().build();
+    }
+
+
+    @DeleteMapping("/hot/{productId}/{warehouseId}")
+    public ResponseEntity<Void> disableHotStock(@PathVariable Long productId, @PathVariable Long warehouseId) {
+        productStockService.disableHotStock(productId, warehouseId);
+        return ResponseEntity.noContent().build();
+    }
+
+
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Void> deleteProductStock(@PathVariable Long id) {
         productStockService.deleteProductStock(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Exporta os estoques com as quantidades reservadas e em cota, em NDJSON ou CSV.
+     * Ex: /product-stocks/export?format=csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProductStocks(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportFormat.attachment("product-stocks", out -> tableExportService.exportProductStocks(exportFormat, out));
+    }
 }
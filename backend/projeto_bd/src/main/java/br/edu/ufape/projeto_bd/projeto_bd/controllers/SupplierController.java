@@ -1,19 +1,26 @@
 package br.edu.ufape.projeto_bd.projeto_bd.controllers;
 
-import org.springframework.data.domain.Page;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.PageResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierPatchDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.SupplierRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.SupplierService;
 import jakarta.validation.Valid;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("/api/suppliers")
@@ -22,6 +29,8 @@ import lombok.RequiredArgsConstructor;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final TableExportService tableExportService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping
     public ResponseEntity<SupplierResponseDTO> createSupplier(@Valid @RequestBody SupplierRequestDTO body) {
@@ -35,16 +44,31 @@ public class SupplierController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String direction,
-            @RequestParam(required = false) String name) {
+            @RequestParam(required = false) String name,
+            WebRequest request) {
 
-        Page<SupplierResponseDTO> suppliers = supplierService.findAllSuppliers(page, size, sortBy, direction, name);
-        return ResponseEntity.ok(new PageResponseDTO<>(suppliers));
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.SUPPLIERS),
+                () -> new PageResponseDTO<>(
+                        supplierService.findAllSuppliers(page, size, sortBy, direction, name)));
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<WindowResponseDTO<SupplierResponseDTO>> scrollSuppliers(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String name,
+            WebRequest request) {
+
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.SUPPLIERS),
+                () -> supplierService.scrollSuppliers(after, limit, sortBy, direction, name));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<SupplierResponseDTO> getSupplier(@PathVariable Long id) {
-        SupplierResponseDTO supplier = supplierService.findSupplierById(id);
-        return ResponseEntity.ok(supplier);
+    public ResponseEntity<SupplierResponseDTO> getSupplier(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.SUPPLIERS, id),
+                () -> supplierService.findSupplierById(id));
     }
 
     @PatchMapping("/{id}")
@@ -59,4 +83,14 @@ public class SupplierController {
         supplierService.deleteSupplier(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Exporta os fornecedores ativos em NDJSON ou CSV.
+     * Ex: /suppliers/export?format=csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSuppliers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return exportFormat.attachment("suppliers", out -> tableExportService.exportSuppliers(exportFormat, out));
+    }
+}
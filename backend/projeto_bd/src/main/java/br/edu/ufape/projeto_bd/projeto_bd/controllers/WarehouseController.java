@@ -19,6 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.WebRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @RestController
 @RequestMapping("api/warehouses")
@@ -27,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 public class WarehouseController {
 
     private final WarehouseService warehouseService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/create")
     public ResponseEntity<WarehouseResponseDTO> createWarehouse(@Valid @RequestBody WarehouseRequestDTO request) {
@@ -36,9 +41,9 @@ public class WarehouseController {
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<WarehouseResponseDTO> getWarehouseById(@PathVariable Long id) {
-        WarehouseResponseDTO warehouse = warehouseService.findWarehouseById(id);
-        return ResponseEntity.ok(warehouse);
+    public ResponseEntity<WarehouseResponseDTO> getWarehouseById(@PathVariable Long id, WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofRow(Resource.WAREHOUSES, id),
+                () -> warehouseService.findWarehouseById(id));
     }
 
     /**
@@ -48,9 +53,10 @@ public class WarehouseController {
      * @return ResponseEntity com a página de armazéns e o status HTTP 200 (OK).
      */
     @GetMapping
-    public ResponseEntity<Page<WarehouseResponseDTO>> getAllWarehouses(@RequestParam(required = false) String name, Pageable pageable) {
-        Page<WarehouseResponseDTO> warehouses = warehouseService.findAllWarehouses(name, pageable);
-        return ResponseEntity.ok(warehouses);
+    public ResponseEntity<Page<WarehouseResponseDTO>> getAllWarehouses(@RequestParam(required = false) String name, Pageable pageable,
+            WebRequest request) {
+        return ResourceVersion.conditionalGet(request, resourceVersionService.ofTable(Resource.WAREHOUSES),
+                () -> warehouseService.findAllWarehouses(name, pageable));
     }
 
 
@@ -1,8 +1,10 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos;
 
+import java.math.BigDecimal;
 import java.util.List;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,4 +21,10 @@ public class CompanyPatchDTO {
 
     @Valid
     private AddressDTO address;
+
+    @PositiveOrZero(message = "A capacidade de entregas não pode ser negativa")
+    private Integer deliveryCapacity;
+
+    @PositiveOrZero(message = "O preço por entrega não pode ser negativo")
+    private BigDecimal deliveryPrice;
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos;
 
+import java.math.BigDecimal;
 import java.util.List;
 import org.hibernate.validator.constraints.br.CNPJ;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -32,4 +34,10 @@ public class CompanyRequestDTO {
     @Valid
     private AddressDTO address;
 
+    @PositiveOrZero(message = "A capacidade de entregas não pode ser negativa")
+    private Integer deliveryCapacity;
+
+    @PositiveOrZero(message = "O preço por entrega não pode ser negativo")
+    private BigDecimal deliveryPrice;
+
 }
\ No newline at end of file
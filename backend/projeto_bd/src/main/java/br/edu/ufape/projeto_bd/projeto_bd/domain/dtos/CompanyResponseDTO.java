@@ -1,5 +1,6 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,5 +17,7 @@ public class CompanyResponseDTO {
     private List<String> phones;
     private List<String> emails;
     private AddressDTO address;
+    private Integer deliveryCapacity;
+    private BigDecimal deliveryPrice;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
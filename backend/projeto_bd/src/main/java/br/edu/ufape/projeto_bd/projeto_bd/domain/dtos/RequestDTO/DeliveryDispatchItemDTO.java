@@ -0,0 +1,31 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pedido a despachar. Sem armazém, a origem vem do {@code StockAllocationService} (uma entrega por armazém);
+ * sem endereço, o destino é o endereço cadastrado do cliente.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryDispatchItemDTO {
+    @NotNull(message = "O ID do pedido é obrigatório")
+    private Long orderId;
+
+    @NotNull(message = "O preço da entrega não pode ser nulo")
+    @PositiveOrZero(message = "O preço da entrega não pode ser negativo")
+    private BigDecimal price;
+
+    private Long warehouseId;
+
+    private Integer destinationAddressId;
+}
@@ -0,0 +1,25 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryDispatchRequestDTO {
+    @NotNull(message = "O ID da transportadora é obrigatório")
+    private Long companyId;
+
+    @NotEmpty(message = "Informe ao menos um pedido para despachar")
+    @Size(max = 50_000, message = "Um despacho aceita no máximo 50000 pedidos")
+    private List<@Valid @NotNull DeliveryDispatchItemDTO> orders;
+}
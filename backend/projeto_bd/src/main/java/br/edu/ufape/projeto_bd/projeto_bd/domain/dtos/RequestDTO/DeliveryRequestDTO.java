@@ -0,0 +1,36 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import java.math.BigDecimal;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryRequestDTO {
+    @NotNull(message = "O ID da transportadora é obrigatório")
+    private Long companyId;
+
+    @NotNull(message = "O ID do pedido é obrigatório")
+    private Long orderId;
+
+    @NotNull(message = "O preço da entrega não pode ser nulo")
+    @PositiveOrZero(message = "O preço da entrega não pode ser negativo")
+    private BigDecimal price;
+
+    @NotNull(message = "O status da entrega é obrigatório")
+    private DeliveryStatus status;
+
+    @NotNull(message = "O ID do endereço de destino é obrigatório")
+    private Integer destinationAddressId;
+
+    @NotNull(message = "O ID do armazém de origem é obrigatório")
+    private Long warehouseId;
+}
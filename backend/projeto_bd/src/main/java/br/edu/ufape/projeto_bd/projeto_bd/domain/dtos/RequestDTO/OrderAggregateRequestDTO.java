@@ -0,0 +1,24 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pedido completo (cabeçalho e itens) criado em uma única requisição.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderAggregateRequestDTO extends OrderRequestDTO {
+
+    @NotEmpty(message = "O pedido deve ter ao menos um item.")
+    @Size(max = 1_000, message = "Um pedido aceita no máximo 1000 itens.")
+    private List<@Valid @NotNull OrderLineRequestDTO> lines;
+}
@@ -0,0 +1,41 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pedido recebido na ingestão em lote, já com os itens.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIngestItemDTO {
+    @NotNull(message = "O método do pedido é obrigatório.")
+    private OrderMethod orderMethod;
+
+    @NotNull(message = "O status do pedido é obrigatório.")
+    private OrderStatus orderStatus;
+
+    @NotNull(message = "O ID do cliente é obrigatório.")
+    private Long customerId;
+
+    @NotNull(message = "A data do pedido é obrigatória.")
+    private LocalDateTime orderedAt;
+
+    @NotNull(message = "A data de entrega esperada é obrigatória.")
+    private LocalDateTime expectedToDeliverAt;
+
+    @NotEmpty(message = "O pedido deve ter ao menos um item.")
+    private List<@Valid @NotNull OrderLineRequestDTO> lines;
+}
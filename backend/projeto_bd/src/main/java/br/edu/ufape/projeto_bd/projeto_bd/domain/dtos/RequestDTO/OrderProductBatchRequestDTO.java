@@ -0,0 +1,22 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderProductBatchRequestDTO {
+    @NotEmpty(message = "Informe ao menos um item")
+    @Size(max = 10_000, message = "Um lote aceita no máximo 10000 itens")
+    private List<@Valid @NotNull OrderProductRequestDTO> lines;
+}
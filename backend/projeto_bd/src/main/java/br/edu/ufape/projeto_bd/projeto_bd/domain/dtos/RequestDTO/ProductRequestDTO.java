@@ -6,8 +6,10 @@ import java.util.Map;
 import java.util.List;
 import java.util.Set;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -29,7 +31,8 @@ public class ProductRequestDTO {
     private BigDecimal minimumSalePrice;
 
     // Map<ISO_CODE, value>
-    private Map<String, String> names;
+    private Map<String, @NotBlank(message = "O nome não pode estar em branco.")
+            @Size(max = 100, message = "O nome não pode ultrapassar 100 caracteres.") String> names;
     private Map<String, String> descriptions;
 
     private List<Long> categoriesIds;
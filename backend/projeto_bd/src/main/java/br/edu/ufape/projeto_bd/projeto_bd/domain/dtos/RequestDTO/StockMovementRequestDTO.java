@@ -0,0 +1,27 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Quantidade a reservar, confirmar ou liberar no estoque de um produto em um armazém.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementRequestDTO {
+    @NotNull(message = "O ID do produto é obrigatório")
+    private Long productId;
+
+    @NotNull(message = "O ID do armazém é obrigatório")
+    private Long warehouseId;
+
+    @NotNull(message = "A quantidade não pode ser nula")
+    @Positive(message = "A quantidade deve ser maior que zero")
+    private Long quantity;
+}
@@ -0,0 +1,27 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumo de uma rodada de atribuição de transportadoras. Entregas sem capacidade
+ * disponível ({@code unassigned}) não são alteradas e continuam com a transportadora anterior;
+ * {@code unassignedDeliveryIds} lista as primeiras delas.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarrierAssignmentResultDTO {
+    private int deliveries;
+    private int groups;
+    private int assigned;
+    private int unassigned;
+    private List<Long> unassignedDeliveryIds;
+    private BigDecimal totalPrice;
+    private List<CarrierLoadDTO> carriers;
+}
@@ -0,0 +1,16 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CarrierLoadDTO {
+    private Long companyId;
+    private Integer capacity;
+    private Integer assigned;
+}
@@ -18,6 +18,7 @@ public class CustomerResponseDTO {
 	  private String name;
 	  private AddressDTO addresses;
 	  private BigDecimal creditLimit;
+	  private BigDecimal openBalance;
 	  private LocalDateTime createdAt;
 	  private LocalDateTime updatedAt;
 }
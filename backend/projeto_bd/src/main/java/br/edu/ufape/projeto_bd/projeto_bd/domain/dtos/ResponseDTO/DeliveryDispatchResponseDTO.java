@@ -0,0 +1,18 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado de um despacho: pedidos atendidos e entregas criadas (um pedido pode gerar várias).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryDispatchResponseDTO {
+    private int orders;
+    private int deliveries;
+}
@@ -0,0 +1,26 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryResponseDTO {
+    private Long id;
+    private Long companyId;
+    private Long orderId;
+    private BigDecimal price;
+    private DeliveryStatus status;
+    private Integer destinationAddressId;
+    private Long warehouseId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Pedido com os itens e os totais calculados (quantidade de unidades e valor).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderAggregateResponseDTO extends OrderResponseDTO {
+    private List<OrderLineResponseDTO> lines;
+}
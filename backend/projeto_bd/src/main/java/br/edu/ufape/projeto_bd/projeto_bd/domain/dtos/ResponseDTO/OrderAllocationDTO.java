@@ -0,0 +1,23 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Armazéns escolhidos para atender um pedido. {@code splitLines} conta os itens divididos
+ * entre mais de um armazém; {@code unallocated} traz o que nenhum armazém pôde atender.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderAllocationDTO {
+    private Long orderId;
+    private boolean complete;
+    private int splitLines;
+    private List<ShipmentAllocationDTO> shipments;
+    private List<AllocationLineDTO> unallocated;
+}
@@ -0,0 +1,19 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIngestResponseDTO {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<OrderIngestResultDTO> results;
+}
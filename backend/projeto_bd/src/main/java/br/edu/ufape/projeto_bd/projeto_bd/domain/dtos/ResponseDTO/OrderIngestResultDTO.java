@@ -0,0 +1,22 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado de um pedido da ingestão: {@code index} é a posição no array recebido;
+ * {@code orderId} só vem preenchido quando o pedido foi gravado (sem erros).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIngestResultDTO {
+    private int index;
+    private Long orderId;
+    private List<String> errors;
+}
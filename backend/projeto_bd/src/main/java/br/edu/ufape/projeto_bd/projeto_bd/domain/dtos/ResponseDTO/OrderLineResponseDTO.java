@@ -0,0 +1,22 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Item do pedido com o total da linha (amount × salePrice).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineResponseDTO {
+    private Long productId;
+    private Long amount;
+    private BigDecimal salePrice;
+    private BigDecimal total;
+}
@@ -1,5 +1,6 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
@@ -24,4 +25,6 @@ public class OrderResponseDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime deletedAt;
+    private Long totalUnits;
+    private BigDecimal totalPrice;
 }
@@ -0,0 +1,22 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado da checagem de order_totals e customer_balances contra orders_products.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTotalsCheckResponseDTO {
+    private long ordersChecked;
+    private int orderMismatches;
+    private int customersChecked;
+    private int customerMismatches;
+    private boolean repaired;
+    private long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Produto encontrado na busca textual, com a relevância calculada pelo índice FULLTEXT.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHitDTO {
+    private Double score;
+    private ProductResponseDTO product;
+}
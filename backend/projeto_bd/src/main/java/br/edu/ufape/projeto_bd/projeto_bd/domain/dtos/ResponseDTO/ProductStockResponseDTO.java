@@ -14,6 +14,8 @@ public class ProductStockResponseDTO {
     private Long id;
     private String code;
     private Long amount;
+    private Long reserved;
+    private Long leased;
     private ProductResponseDTO product;
     private WarehouseResponseDTO warehouse;
     private LocalDateTime createdAt;
@@ -0,0 +1,19 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Itens de um pedido que saem de um mesmo armazém (uma entrega).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ShipmentAllocationDTO {
+    private Long warehouseId;
+    private List<AllocationLineDTO> lines;
+}
@@ -0,0 +1,27 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.dtos;
+
+import org.springframework.data.domain.Window;
+import java.util.List;
+
+/**
+ * Resposta da paginação por cursor (keyset). Não traz total de registros:
+ * para continuar, o cliente repassa {@code next} no parâmetro {@code after}.
+ */
+public class WindowResponseDTO<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String next;
+
+    public WindowResponseDTO(Window<T> window, String next) {
+        this.content = window.getContent();
+        this.size = window.size();
+        this.hasNext = window.hasNext();
+        this.next = next;
+    }
+
+    public List<T> getContent() { return content; }
+    public int getSize() { return size; }
+    public boolean isHasNext() { return hasNext; }
+    public String getNext() { return next; }
+}
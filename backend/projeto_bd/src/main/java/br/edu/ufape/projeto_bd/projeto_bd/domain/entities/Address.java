@@ -1,12 +1,16 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
 
 import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -14,6 +18,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,16 +26,21 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "addresses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "addresses")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SQLDelete(sql = "UPDATE addresses SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE addresses SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction(value = "deleted_at IS NULL")
 public class Address {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "addresses_ids")
+  @TableGenerator(name = "addresses_ids", table = IdAllocator.TABLE, pkColumnName = IdAllocator.SEGMENT_COLUMN,
+          valueColumnName = IdAllocator.VALUE_COLUMN, pkColumnValue = IdAllocator.ADDRESSES,
+          allocationSize = IdAllocator.ALLOCATION_SIZE)
   @Column(name = "id")
   private Integer id;
 
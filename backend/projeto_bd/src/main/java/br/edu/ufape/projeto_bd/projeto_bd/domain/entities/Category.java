@@ -5,11 +5,14 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -27,8 +30,10 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql= "UPDATE categories SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql= "UPDATE categories SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
@@ -1,8 +1,11 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
@@ -10,6 +13,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -27,12 +31,14 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SQLDelete(sql = "UPDATE companies SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE companies SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 public class Company {
     @Id
@@ -49,11 +55,13 @@ public class Company {
     private String cnpj;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies-phones")
     @CollectionTable(name = "companies_phones", joinColumns = @JoinColumn(name = "companies_id"))
     @Column(name = "phone", nullable = false)
     private List<String> phones;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies-emails")
     @CollectionTable(name = "companies_emails", joinColumns = @JoinColumn(name = "companies_id"))
     @Column(name = "email", nullable = false)
     private List<String> emails;
@@ -62,6 +70,13 @@ public class Company {
     @JoinColumn(name = "addresses_id", referencedColumnName = "id")
     private Address address;
 
+    // entregas que a transportadora aceita por rodada de atribuição (nulo: não é transportadora)
+    @Column(name = "delivery_capacity")
+    private Integer deliveryCapacity;
+
+    @Column(name = "delivery_price", precision = 10, scale = 2)
+    private BigDecimal deliveryPrice;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
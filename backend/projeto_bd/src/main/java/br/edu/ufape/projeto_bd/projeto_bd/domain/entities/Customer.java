@@ -3,6 +3,7 @@ package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
@@ -30,7 +31,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SQLDelete(sql = "UPDATE customers SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE customers SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction(value = "deleted_at IS NULL")
 @Entity
 @Table(name="customers")
@@ -61,4 +62,8 @@ public class Customer {
 
 	  @Column(name = "deleted_at")
 	  private LocalDateTime deletedAt;
+
+	  // saldo dos pedidos em aberto, materializado em customer_balances pelo OrderTotalsService
+	  @Formula("(SELECT COALESCE(MAX(b.open_balance), 0) FROM customer_balances b WHERE b.customers_id = id)")
+	  private BigDecimal openBalance;
 }
@@ -0,0 +1,33 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Saldo em aberto do cliente: soma dos totais dos pedidos ainda não entregues nem cancelados.
+ * Gravado só pelo OrderTotalsService, com incrementos atômicos.
+ */
+@Entity
+@Table(name = "customer_balances")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CustomerBalance {
+    @Id
+    @Column(name = "customers_id")
+    private Long customerId;
+
+    @Column(name = "open_balance", nullable = false, precision = 14, scale = 2)
+    private BigDecimal openBalance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
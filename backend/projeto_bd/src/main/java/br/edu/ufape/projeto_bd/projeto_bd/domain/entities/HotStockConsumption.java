@@ -0,0 +1,40 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Reserva confirmada de um estoque quente ainda não movida de leased para reserved (HotStockCounter).
+ */
+@Entity
+@Table(name = "hot_stock_consumptions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class HotStockConsumption {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "products_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "warehouses_id", nullable = false)
+    private Long warehouseId;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,11 +1,14 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
 
 import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -22,8 +25,10 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "languages")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "languages")
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete (sql = "UPDATE languages SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete (sql = "UPDATE languages SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
@@ -2,14 +2,20 @@ package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
 
 import java.time.LocalDateTime;
 
+import java.math.BigDecimal;
+
 import org.hibernate.annotations.Check;
+import org.hibernate.annotations.Formula;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -17,19 +23,24 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
 @Table(name = "orders")
+@EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @Check(constraints = "expected_to_deliver_at >= ordered_at")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_ids")
+    @TableGenerator(name = "orders_ids", table = IdAllocator.TABLE, pkColumnName = IdAllocator.SEGMENT_COLUMN,
+            valueColumnName = IdAllocator.VALUE_COLUMN, pkColumnValue = IdAllocator.ORDERS,
+            allocationSize = IdAllocator.ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -45,6 +56,10 @@ public class Order {
     @JoinColumn(name = "customers_id", nullable = false)
     private Customer customer;
 */
+    // enquanto o relacionamento acima não é mapeado, grava só o id (a coluna é NOT NULL no MySQL)
+    @Column(name = "customers_id")
+    private Long customerId;
+
     @Column(name = "ordered_at", nullable = false, updatable = false)
     private LocalDateTime orderedAt;
 
@@ -62,6 +77,13 @@ public class Order {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // totais materializados (order_totals, mantida pelo OrderTotalsService): lidos junto, sem somar os itens
+    @Formula("(SELECT COALESCE(MAX(t.total_units), 0) FROM order_totals t WHERE t.orders_id = id)")
+    private Long totalUnits;
+
+    @Formula("(SELECT COALESCE(MAX(t.total_price), 0) FROM order_totals t WHERE t.orders_id = id)")
+    private BigDecimal totalPrice;
+
 
 
 }
@@ -0,0 +1,35 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Totais materializados de um pedido. Gravado só pelo OrderTotalsService, com incrementos atômicos.
+ */
+@Entity
+@Table(name = "order_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderTotal {
+    @Id
+    @Column(name = "orders_id")
+    private Long orderId;
+
+    @Column(name = "total_units", nullable = false)
+    private Long totalUnits;
+
+    @Column(name = "total_price", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,66 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Evento gravado na mesma transação da alteração (OutboxService) e publicado depois pelo OutboxRelay.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private OutboxEventType eventType;
+
+    // JSON no MySQL
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // numerado pelo relay na publicação: crescente na ordem em que os eventos ficam visíveis (feed de mudanças)
+    @Column(name = "seq", unique = true)
+    private Long seq;
+
+    // falhas de publicação deste evento; alterado só por OutboxEventRepository.recordFailure
+    @ColumnDefault("0")
+    @Column(name = "attempts", nullable = false, insertable = false, updatable = false)
+    private int attempts;
+
+    // preenchido quando as tentativas se esgotam: o relay deixa de publicar o evento
+    @Column(name = "dead_lettered_at", insertable = false, updatable = false)
+    private LocalDateTime deadLetteredAt;
+}
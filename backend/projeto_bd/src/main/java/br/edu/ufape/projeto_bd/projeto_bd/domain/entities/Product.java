@@ -34,7 +34,7 @@ import lombok.Setter;
 @Entity
 @Table(name = "products")
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE products SET deleted_at = NOW() WHERE id = ?")//soflt-delet
+@SQLDelete(sql = "UPDATE products SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")//soflt-delet
 @SQLRestriction("deleted_at IS NULL")//filtra nas consultas apenas os registros cujo deleted_at==null
 @Getter
 @Setter
@@ -1,11 +1,13 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.entities;
 
 import java.time.LocalDateTime;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
@@ -16,6 +18,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -31,7 +34,7 @@ import lombok.Setter;
     uniqueConstraints = { @UniqueConstraint(columnNames = {"products_id", "warehouses_id"})}
     )
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE product_stocks SET deleted_at=NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE product_stocks SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
@@ -39,7 +42,10 @@ import lombok.Setter;
 @AllArgsConstructor
 public class ProductStock {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_stocks_ids")
+    @TableGenerator(name = "product_stocks_ids", table = IdAllocator.TABLE, pkColumnName = IdAllocator.SEGMENT_COLUMN,
+            valueColumnName = IdAllocator.VALUE_COLUMN, pkColumnValue = IdAllocator.PRODUCT_STOCKS,
+            allocationSize = IdAllocator.ALLOCATION_SIZE)
     @Column(name = "id")
     private Long id;
 
@@ -52,6 +58,16 @@ public class ProductStock {
     @Column(name = "amount", nullable = false)
     private Long amount;
 
+    // alterado apenas pelas operações atômicas de reserva do ProductStockRepository
+    @ColumnDefault("0")
+    @Column(name = "reserved", nullable = false, insertable = false, updatable = false)
+    private Long reserved = 0L;
+
+    // cota retirada de amount e mantida em memória pelo HotStockCounter
+    @ColumnDefault("0")
+    @Column(name = "leased", nullable = false, insertable = false, updatable = false)
+    private Long leased = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "products_id", nullable = false)
     private Product product;
@@ -27,7 +27,7 @@ import lombok.Setter;
 @Entity
 @Table(name = "products_translations")
 @EntityListeners(AuditingEntityListener.class)
-@SQLDelete(sql = "UPDATE products_translations SET deleted_at = NOW() WHERE products_id = ? AND languages_id = ?")
+@SQLDelete(sql = "UPDATE products_translations SET deleted_at = NOW(), updated_at = NOW(6) WHERE products_id = ? AND languages_id = ?")
 @SQLRestriction ("deleted_at IS NULL")
 @Getter
 @Setter
@@ -35,7 +35,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@SQLDelete(sql = "UPDATE suppliers SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE suppliers SET deleted_at = NOW(), updated_at = NOW(6) WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
 public class Supplier {
 
@@ -0,0 +1,5 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.enums;
+
+public enum DeliveryStatus {
+    PROCESSING, IN_TRANSIT, DELIVERED, CANCELED
+}
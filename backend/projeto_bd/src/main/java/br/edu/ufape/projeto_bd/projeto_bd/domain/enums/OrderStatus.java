@@ -1,5 +1,26 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.enums;
 
 public enum OrderStatus {
-    PENDING, PROCESSING, SHIPPED, DELIVERED, CANCELED
+    PENDING, PROCESSING, SHIPPED, DELIVERED, CANCELED;
+
+    /**
+     * Transições permitidas: PENDING -> PROCESSING -> SHIPPED -> DELIVERED, com cancelamento possível
+     * até o envio. DELIVERED e CANCELED são finais.
+     */
+    public boolean canMoveTo(OrderStatus next) {
+        return switch (this) {
+            case PENDING -> next == PROCESSING || next == CANCELED;
+            case PROCESSING -> next == SHIPPED || next == CANCELED;
+            case SHIPPED -> next == DELIVERED;
+            case DELIVERED, CANCELED -> false;
+        };
+    }
+
+    /**
+     * Todo pedido é criado em PENDING (createOrder, createOrderAggregate e a ingestão em lote);
+     * os demais status só são alcançados pelas transições de {@link #canMoveTo}.
+     */
+    public boolean isInitial() {
+        return this == PENDING;
+    }
 }
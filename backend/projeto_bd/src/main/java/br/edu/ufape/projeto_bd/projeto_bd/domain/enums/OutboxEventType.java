@@ -0,0 +1,7 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.enums;
+
+public enum OutboxEventType {
+    ORDER_CREATED, ORDER_STATUS_CHANGED, ORDER_DELETED,
+    // alteração de uma linha das tabelas principais (feed de mudanças)
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,18 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.events;
+
+import java.util.List;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+
+/**
+ * Lote de eventos do outbox entregue pelo OutboxRelay aos {@code @EventListener} da aplicação, em ordem de id.
+ * A entrega é "ao menos uma vez": se um listener falhar, o lote inteiro volta no próximo ciclo,
+ * então os listeners devem ignorar eventos (ids) já processados.
+ */
+public record OutboxEventBatch(List<OutboxEvent> events) {
+
+    public List<OutboxEvent> ofType(OutboxEventType type) {
+        return events.stream().filter(event -> event.getEventType() == type).toList();
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.events;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Category;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Delivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Supplier;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxBatchRepository.NewOutboxEvent;
+
+/**
+ * Eventos do feed de mudanças: aggregate_type é a tabela, aggregate_id o id da raiz
+ * (o pedido para orders_products, o produto para product_stocks) e o payload a chave da linha.
+ */
+public final class RowChanges {
+
+    public static final String ORDERS = "orders";
+    public static final String ORDERS_PRODUCTS = "orders_products";
+    public static final String PRODUCT_STOCKS = "product_stocks";
+    public static final String DELIVERIES = "deliveries";
+
+    private RowChanges() {
+    }
+
+    public static NewOutboxEvent row(String table, OutboxEventType type, long id) {
+        return new NewOutboxEvent(table, id, type, "{\"id\":" + id + "}");
+    }
+
+    public static NewOutboxEvent orderLine(OutboxEventType type, long orderId, long productId) {
+        return new NewOutboxEvent(ORDERS_PRODUCTS, orderId, type,
+                "{\"orders_id\":" + orderId + ",\"products_id\":" + productId + "}");
+    }
+
+    // product_stocks é identificado pelo par (produto, armazém): as baixas de estoque são UPDATEs por esse par
+    public static NewOutboxEvent stock(OutboxEventType type, long productId, long warehouseId) {
+        return new NewOutboxEvent(PRODUCT_STOCKS, productId, type,
+                "{\"products_id\":" + productId + ",\"warehouses_id\":" + warehouseId + "}");
+    }
+
+    /**
+     * Evento de uma entidade gravada pelo Hibernate, ou null se a tabela não faz parte do feed.
+     */
+    public static NewOutboxEvent of(Object entity, OutboxEventType type) {
+        if (entity instanceof Order order) return row(ORDERS, type, order.getId());
+        if (entity instanceof OrderProduct line) return orderLine(type, line.getOrder().getId(), line.getProduct().getId());
+        if (entity instanceof ProductStock stock) return stock(type, stock.getProduct().getId(), stock.getWarehouse().getId());
+        if (entity instanceof Delivery delivery) return row(DELIVERIES, type, delivery.getId());
+        if (entity instanceof Product product) return row("products", type, product.getId());
+        if (entity instanceof Customer customer) return row("customers", type, customer.getId());
+        if (entity instanceof Supplier supplier) return row("suppliers", type, supplier.getId());
+        if (entity instanceof Warehouse warehouse) return row("warehouses", type, warehouse.getId());
+        if (entity instanceof Category category) return row("categories", type, category.getId());
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o cursor do feed de mudanças aponta para eventos que já foram apagados do outbox.
+ * Mapeada para o status HTTP 410 Gone: o consumidor precisa recarregar os dados e recomeçar do cursor atual.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class CursorExpiredException extends RuntimeException {
+
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
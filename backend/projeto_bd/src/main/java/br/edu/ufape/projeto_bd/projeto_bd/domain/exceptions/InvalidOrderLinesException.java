@@ -0,0 +1,23 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exceção lançada quando itens de pedido violam regras de preço ou referência.
+ * Carrega os erros por item (ex.: "lines[3]" ou "salePrice" -> mensagens),
+ * no mesmo formato das falhas de validação dos DTOs.
+ */
+public class InvalidOrderLinesException extends BusinessRuleException {
+
+    private final Map<String, List<String>> errors;
+
+    public InvalidOrderLinesException(Map<String, List<String>> errors) {
+        super("Há itens de pedido inválidos.");
+        this.errors = errors;
+    }
+
+    public Map<String, List<String>> getErrors() {
+        return errors;
+    }
+}
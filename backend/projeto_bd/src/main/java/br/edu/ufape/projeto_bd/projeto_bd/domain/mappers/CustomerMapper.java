@@ -17,12 +17,14 @@ public interface CustomerMapper{
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "openBalance", ignore = true)
     Customer toEntity(CustomerRequestDTO requestDTO);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "openBalance", ignore = true)
     void updateCustomerFromDto(CustomerRequestDTO requestDTO, @MappingTarget Customer customer);
     
 }
\ No newline at end of file
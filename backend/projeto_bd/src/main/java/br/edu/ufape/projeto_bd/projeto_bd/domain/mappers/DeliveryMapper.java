@@ -0,0 +1,48 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.mappers;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Company;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Delivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+
+@Mapper(componentModel = "spring")
+public interface DeliveryMapper {
+
+    @Mapping(source = "company.id", target = "companyId")
+    @Mapping(source = "order.id", target = "orderId")
+    @Mapping(source = "destinationAddress.id", target = "destinationAddressId")
+    @Mapping(source = "sourceWarehouse.id", target = "warehouseId")
+    DeliveryResponseDTO toResponseDTO(Delivery delivery);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(source = "request.price", target = "price")
+    @Mapping(source = "request.status", target = "status")
+    @Mapping(source = "company", target = "company")
+    @Mapping(source = "order", target = "order")
+    @Mapping(source = "destinationAddress", target = "destinationAddress")
+    @Mapping(source = "sourceWarehouse", target = "sourceWarehouse")
+    Delivery toEntity(DeliveryRequestDTO request, Company company, Order order, Address destinationAddress,
+            Warehouse sourceWarehouse);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(source = "request.price", target = "price")
+    @Mapping(source = "request.status", target = "status")
+    @Mapping(source = "company", target = "company")
+    @Mapping(source = "order", target = "order")
+    @Mapping(source = "destinationAddress", target = "destinationAddress")
+    @Mapping(source = "sourceWarehouse", target = "sourceWarehouse")
+    void updateDeliveryFromDto(DeliveryRequestDTO request, Company company, Order order, Address destinationAddress,
+            Warehouse sourceWarehouse, @MappingTarget Delivery delivery);
+}
@@ -6,6 +6,7 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAggregateResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
 
@@ -17,15 +18,25 @@ public interface OrderMapper{
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "exoectedToDeliverAt", source = "expectedToDeliverAt")
     Order toEntity(OrderRequestDTO dto);
 
     // Mapear de entidade para DTO de resposta
+    @Mapping(target = "expectedToDeliverAt", source = "exoectedToDeliverAt")
     OrderResponseDTO toDTO(Order entity);
 
+    // Cabeçalho do pedido completo; itens e totais são preenchidos pelo serviço
+    @Mapping(target = "expectedToDeliverAt", source = "exoectedToDeliverAt")
+    @Mapping(target = "lines", ignore = true)
+    @Mapping(target = "totalUnits", ignore = true)
+    @Mapping(target = "totalPrice", ignore = true)
+    OrderAggregateResponseDTO toAggregateDTO(Order entity);
+
     // Atualizar uma entidade existente a partir do DTO
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "exoectedToDeliverAt", source = "expectedToDeliverAt")
     void updateOrderFromDto(OrderRequestDTO dto, @MappingTarget Order entity);
 }
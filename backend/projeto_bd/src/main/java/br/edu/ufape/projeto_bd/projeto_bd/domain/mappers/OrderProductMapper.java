@@ -20,6 +20,8 @@ public interface OrderProductMapper {
     @Mapping(target = "salePrice", source = "dto.salePrice")
     OrderProduct toEntity(OrderProductRequestDTO dto, Order order, Product product);
 
+    @Mapping(target = "orderId", source = "order.id")
+    @Mapping(target = "productId", source = "product.id")
     OrderProductResponseDTO toResponseDTO(OrderProduct entity);
 
     @Mapping(target = "amount", source = "dto.amount")
@@ -18,6 +18,8 @@ public interface ProductStockMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "reserved", ignore = true)
+    @Mapping(target = "leased", ignore = true)
     @Mapping(source = "request.code", target = "code")
     @Mapping(source = "request.amount", target = "amount")
     @Mapping(source = "product", target = "product")
@@ -29,6 +31,8 @@ public interface ProductStockMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "reserved", ignore = true)
+    @Mapping(target = "leased", ignore = true)
     @Mapping(source = "request.code", target = "code")
     @Mapping(source = "request.amount", target = "amount")
     @Mapping(source = "product", target = "product")
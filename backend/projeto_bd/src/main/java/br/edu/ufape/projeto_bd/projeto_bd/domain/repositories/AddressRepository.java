@@ -1,10 +1,16 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
 
 @Repository
 public interface AddressRepository extends JpaRepository<Address, Integer> {
-    
+
+    @Query("SELECT a.id FROM Address a WHERE a.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
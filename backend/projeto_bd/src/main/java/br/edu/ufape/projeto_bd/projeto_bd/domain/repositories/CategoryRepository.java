@@ -1,11 +1,23 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Category;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
-    
+
+    /**
+     * Resolve as categorias de um produto pelo cache de consultas: guarda só os ids,
+     * as entidades vêm do cache de segundo nível. Invalidado por qualquer escrita em categories.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAllById(Iterable<Long> ids);
 }
@@ -1,14 +1,50 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Company;
 
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long> {
+public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpecificationExecutor<Company> {
     Page<Company> findByTradeNameContainingIgnoreCase(String tradeName, Pageable pageable);
     boolean existsByCnpj(String cnpj);
-}
\ No newline at end of file
+
+    interface CarrierView {
+        Long getCompanyId();
+        Integer getCapacity();
+        BigDecimal getPrice();
+        String getState();
+        String getCity();
+    }
+
+    /**
+     * Empresas que atuam como transportadoras (capacidade e preço informados), com a cidade da sede.
+     */
+    @Query("""
+            SELECT c.id AS companyId, c.deliveryCapacity AS capacity, c.deliveryPrice AS price,
+                   a.state AS state, a.city AS city
+            FROM Company c LEFT JOIN c.address a
+            WHERE c.deliveryCapacity > 0 AND c.deliveryPrice IS NOT NULL
+            ORDER BY c.id
+            """)
+    List<CarrierView> findCarriers();
+
+    /**
+     * Trava as linhas das transportadoras até o fim da transação: rodadas de atribuição concorrentes
+     * leem as entregas pendentes e as cargas uma depois da outra.
+     */
+    @Query(value = """
+            SELECT id FROM companies
+            WHERE delivery_capacity > 0 AND delivery_price IS NOT NULL AND deleted_at IS NULL
+            ORDER BY id FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockCarriers();
+}
@@ -0,0 +1,10 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.CustomerBalance;
+
+@Repository
+public interface CustomerBalanceRepository extends JpaRepository<CustomerBalance, Long> {
+}
@@ -1,7 +1,14 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,4 +19,22 @@ public interface CustomerRepository extends JpaRepository<Customer, Long>{
 
     Page<Customer> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    @Query("SELECT c.id FROM Customer c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    interface CreditView {
+        BigDecimal getCreditLimit();
+        BigDecimal getOpenBalance();
+    }
+
+    /**
+     * Limite de crédito e saldo em aberto materializado (customer_balances) do cliente.
+     */
+    @Query(value = """
+            SELECT c.credit_limit AS creditLimit, COALESCE(b.open_balance, 0) AS openBalance
+            FROM customers c LEFT JOIN customer_balances b ON b.customers_id = c.id
+            WHERE c.id = :id AND c.deleted_at IS NULL
+            """, nativeQuery = true)
+    Optional<CreditView> findCredit(@Param("id") Long id);
+
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+
+/**
+ * Operações em lote sobre deliveries feitas via JDBC (despacho noturno).
+ */
+public interface DeliveryBatchRepository {
+
+    /**
+     * Linha de deliveries a inserir, já com todas as chaves resolvidas.
+     */
+    record NewDelivery(Long companyId, Long orderId, BigDecimal price, DeliveryStatus status,
+            Integer destinationAddressId, Long sourceWarehouseId) {
+    }
+
+    /**
+     * Insere as entregas com INSERTs em lote (reescritos em multi-row pelo driver MySQL).
+     */
+    int insertAll(List<NewDelivery> deliveries);
+
+    /**
+     * Endereço cadastrado do cliente de cada pedido (orderId -> addresses.id).
+     * Pedidos sem cliente ativo ficam fora do mapa.
+     */
+    Map<Long, Integer> findCustomerAddressIds(Collection<Long> orderIds);
+
+    /**
+     * Entrega ainda não despachada, com o destino usado para agrupar rotas.
+     */
+    record PendingDelivery(long id, long warehouseId, String state, String city, String zipCode) {
+    }
+
+    /**
+     * Entregas em PROCESSING (opcionalmente de um armazém), na ordem do id.
+     */
+    List<PendingDelivery> findPendingDeliveries(Long warehouseId, int limit);
+
+    /**
+     * Entregas em PROCESSING por transportadora (companyId -> entregas), sem contar o lote lido por
+     * {@link #findPendingDeliveries} (as do armazém informado até o id {@code lastPendingId}).
+     */
+    Map<Long, Integer> countCarrierLoads(Long warehouseId, long lastPendingId);
+
+    record CarrierAssignment(long deliveryId, long companyId, BigDecimal price) {
+    }
+
+    /**
+     * Grava transportadora e preço das entregas com UPDATEs em lote.
+     */
+    int assignCarriers(List<CarrierAssignment> assignments);
+}
@@ -0,0 +1,124 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.events.RowChanges;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxBatchRepository.NewOutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class DeliveryBatchRepositoryImpl implements DeliveryBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO deliveries (companies_id, orders_id, price, status, addresses_destination_id, "
+            + "warehouses_source_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW(6))";
+    // Order guarda só customerId (sem relacionamento com Customer), então o join fica em SQL
+    private static final String CUSTOMER_ADDRESSES_SQL =
+            "SELECT o.id, c.addresses_id FROM orders o "
+            + "JOIN customers c ON c.id = o.customers_id AND c.deleted_at IS NULL "
+            + "WHERE o.id IN (%s)";
+    private static final String PENDING_SQL =
+            "SELECT d.id, d.warehouses_source_id, a.state, a.city, a.zip_code FROM deliveries d "
+            + "JOIN addresses a ON a.id = d.addresses_destination_id "
+            + "WHERE d.status = 'PROCESSING' AND d.deleted_at IS NULL %s "
+            + "ORDER BY d.id LIMIT ?";
+    private static final String LOAD_SQL =
+            "SELECT companies_id, COUNT(*) FROM deliveries "
+            + "WHERE status = 'PROCESSING' AND deleted_at IS NULL AND %s "
+            + "GROUP BY companies_id";
+    private static final String ASSIGN_SQL =
+            "UPDATE deliveries SET companies_id = ?, price = ?, updated_at = NOW(6) WHERE id = ?";
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertAll(List<NewDelivery> deliveries) {
+        // as chaves geradas identificam as linhas no feed de mudanças, gravado na mesma conexão
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            List<NewOutboxEvent> changes = new ArrayList<>(deliveries.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < deliveries.size(); from += INSERT_BATCH_SIZE) {
+                    for (NewDelivery delivery : deliveries.subList(from, Math.min(deliveries.size(), from + INSERT_BATCH_SIZE))) {
+                        ps.setLong(1, delivery.companyId());
+                        ps.setLong(2, delivery.orderId());
+                        ps.setBigDecimal(3, delivery.price());
+                        ps.setString(4, delivery.status().name());
+                        ps.setInt(5, delivery.destinationAddressId());
+                        ps.setLong(6, delivery.sourceWarehouseId());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            changes.add(RowChanges.row(RowChanges.DELIVERIES, OutboxEventType.CREATED, keys.getLong(1)));
+                        }
+                    }
+                }
+            }
+            OutboxBatchRepositoryImpl.insert(connection, changes);
+            return deliveries.size();
+        });
+    }
+
+    @Override
+    public List<PendingDelivery> findPendingDeliveries(Long warehouseId, int limit) {
+        RowMapper<PendingDelivery> mapper = (rs, row) -> new PendingDelivery(
+                rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), rs.getString(5));
+        if (warehouseId == null) {
+            return jdbcTemplate.query(String.format(PENDING_SQL, ""), mapper, limit);
+        }
+        return jdbcTemplate.query(String.format(PENDING_SQL, "AND d.warehouses_source_id = ?"), mapper, warehouseId, limit);
+    }
+
+    @Override
+    public Map<Long, Integer> countCarrierLoads(Long warehouseId, long lastPendingId) {
+        Map<Long, Integer> loads = new HashMap<>();
+        RowCallbackHandler collect = rs -> { loads.put(rs.getLong(1), rs.getInt(2)); };
+        if (warehouseId == null) {
+            jdbcTemplate.query(String.format(LOAD_SQL, "id > ?"), collect, lastPendingId);
+        } else {
+            jdbcTemplate.query(String.format(LOAD_SQL, "(warehouses_source_id <> ? OR id > ?)"), collect,
+                    warehouseId, lastPendingId);
+        }
+        return loads;
+    }
+
+    @Override
+    public int assignCarriers(List<CarrierAssignment> assignments) {
+        jdbcTemplate.batchUpdate(ASSIGN_SQL, assignments, INSERT_BATCH_SIZE, (ps, assignment) -> {
+            ps.setLong(1, assignment.companyId());
+            ps.setBigDecimal(2, assignment.price());
+            ps.setLong(3, assignment.deliveryId());
+        });
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> OutboxBatchRepositoryImpl.insert(connection,
+                assignments.stream().map(assignment -> RowChanges.row(RowChanges.DELIVERIES, OutboxEventType.UPDATED,
+                        assignment.deliveryId())).toList()));
+        return assignments.size();
+    }
+
+    @Override
+    public Map<Long, Integer> findCustomerAddressIds(Collection<Long> orderIds) {
+        List<Map.Entry<Long, Integer>> rows = BatchQueries.inChunks(orderIds, chunk -> jdbcTemplate.query(
+                String.format(CUSTOMER_ADDRESSES_SQL, String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                (rs, rowNum) -> Map.entry(rs.getLong(1), rs.getInt(2)), chunk.toArray()));
+        Map<Long, Integer> addresses = new HashMap<>();
+        rows.forEach(row -> addresses.put(row.getKey(), row.getValue()));
+        return addresses;
+    }
+}
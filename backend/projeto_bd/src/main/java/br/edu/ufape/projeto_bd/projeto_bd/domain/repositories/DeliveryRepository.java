@@ -0,0 +1,25 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Delivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+
+@Repository
+public interface DeliveryRepository extends JpaRepository<Delivery, Long>, DeliveryBatchRepository {
+
+    Page<Delivery> findByOrderId(Long orderId, Pageable pageable);
+
+    /**
+     * Pedidos, entre os informados, que já têm alguma entrega fora do status {@code excluded}.
+     */
+    @Query("SELECT DISTINCT d.order.id FROM Delivery d WHERE d.order.id IN :orderIds AND d.status <> :excluded")
+    List<Long> findOrderIdsWithDeliveries(@Param("orderIds") Collection<Long> orderIds,
+            @Param("excluded") DeliveryStatus excluded);
+}
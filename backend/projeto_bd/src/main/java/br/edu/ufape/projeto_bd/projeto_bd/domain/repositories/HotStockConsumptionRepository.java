@@ -0,0 +1,53 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.HotStockConsumption;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface HotStockConsumptionRepository extends JpaRepository<HotStockConsumption, Long> {
+
+    interface PendingConsumption {
+        Long getProductId();
+        Long getWarehouseId();
+        Long getQuantity();
+    }
+
+    /**
+     * Registra uma reserva confirmada; deve rodar na transação de quem reservou.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "hot_stock_consumptions"))
+    @Query(value = """
+            INSERT INTO hot_stock_consumptions (products_id, warehouses_id, quantity, created_at)
+            VALUES (:productId, :warehouseId, :quantity, NOW())
+            """, nativeQuery = true)
+    int record(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Reservas confirmadas de um estoque. Sem lock: o flush de um estoque é serializado no HotStockCounter
+     * e apaga só as linhas lidas, então uma reserva que confirma no meio fica para o próximo flush.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<HotStockConsumption> findByProductIdAndWarehouseId(Long productId, Long warehouseId);
+
+    /**
+     * Soma das reservas confirmadas por estoque (reconciliação ao subir a aplicação).
+     */
+    @Query("""
+            SELECT c.productId AS productId, c.warehouseId AS warehouseId, SUM(c.quantity) AS quantity
+            FROM HotStockConsumption c
+            GROUP BY c.productId, c.warehouseId
+            """)
+    List<PendingConsumption> sumByStock();
+}
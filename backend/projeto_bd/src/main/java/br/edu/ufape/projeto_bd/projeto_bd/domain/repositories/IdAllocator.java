@@ -0,0 +1,63 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Faixas de ids da tabela id_generators, a mesma do @TableGenerator de Order, ProductStock e Address
+ * (otimizador pooled-lo: next_val é o último id já reservado). Com ids explícitos o Hibernate agrupa os INSERTs
+ * em lotes; os INSERTs via JDBC dessas tabelas também precisam pegar os ids aqui, porque o auto_increment
+ * não conhece as faixas que o Hibernate já reservou em memória.
+ * <p>
+ * A reserva roda em transação própria: o lock da linha não fica preso até o fim da transação de quem chamou.
+ * Não é um bean (os fragmentos JDBC e o seed criam a sua), para não pesar nos testes @DataJpaTest.
+ */
+public class IdAllocator {
+
+    public static final String TABLE = "id_generators";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    // mesmo valor de hibernate.jdbc.batch_size: uma faixa por lote
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String ORDERS = "orders";
+    public static final String PRODUCT_STOCKS = "product_stocks";
+    public static final String ADDRESSES = "addresses";
+
+    private static final String SELECT_SQL =
+            "SELECT next_val FROM id_generators WHERE sequence_name = ? FOR UPDATE";
+    private static final String UPDATE_SQL =
+            "UPDATE id_generators SET next_val = ? WHERE sequence_name = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+
+    public IdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserva {@code count} ids seguidos e devolve o primeiro.
+     */
+    public long reserve(String sequence, int count) {
+        return requiresNew.execute(status -> {
+            List<Long> current = jdbcTemplate.queryForList(SELECT_SQL, Long.class, sequence);
+            if (current.isEmpty()) {
+                // banco criado sem a migração: começa do 1, como o Hibernate
+                jdbcTemplate.update(INSERT_SQL, sequence, (long) count);
+                return 1L;
+            }
+            long last = current.get(0);
+            jdbcTemplate.update(UPDATE_SQL, last + count, sequence);
+            return last + 1;
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+
+/**
+ * Inserção de pedidos e itens em lote via JDBC (ingestão do conector do marketplace).
+ */
+public interface OrderBatchRepository {
+
+    record NewOrder(OrderMethod orderMethod, OrderStatus orderStatus, Long customerId,
+            LocalDateTime orderedAt, LocalDateTime expectedToDeliverAt) {
+    }
+
+    record NewOrderLine(long orderId, long productId, long amount, BigDecimal salePrice) {
+    }
+
+    /**
+     * Insere os pedidos com INSERTs em lote e devolve os ids reservados no IdAllocator, na mesma ordem da lista.
+     */
+    List<Long> insertAll(List<NewOrder> orders);
+
+    /**
+     * Insere os itens em orders_products com INSERTs em lote.
+     */
+    int insertLines(List<NewOrderLine> lines);
+}
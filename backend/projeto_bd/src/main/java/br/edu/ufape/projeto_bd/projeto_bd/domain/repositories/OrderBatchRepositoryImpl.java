@@ -0,0 +1,68 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.events.RowChanges;
+
+public class OrderBatchRepositoryImpl implements OrderBatchRepository {
+
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (id, order_method, status, customers_id, ordered_at, expected_to_deliver_at, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW(6))";
+    private static final String INSERT_LINE_SQL =
+            "INSERT INTO orders_products (orders_id, products_id, amount, sale_price) VALUES (?, ?, ?, ?)";
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdAllocator idAllocator;
+
+    public OrderBatchRepositoryImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = new IdAllocator(jdbcTemplate, transactionManager);
+    }
+
+    @Override
+    public List<Long> insertAll(List<NewOrder> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        // ids reservados de uma vez: sem RETURN_GENERATED_KEYS e sem disputar ids com o Hibernate
+        long first = idAllocator.reserve(IdAllocator.ORDERS, orders.size());
+        List<Integer> positions = IntStream.range(0, orders.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, positions, INSERT_BATCH_SIZE, (ps, i) -> {
+            NewOrder order = orders.get(i);
+            ps.setLong(1, first + i);
+            ps.setString(2, order.orderMethod().name());
+            ps.setString(3, order.orderStatus().name());
+            ps.setObject(4, order.customerId());
+            ps.setTimestamp(5, Timestamp.valueOf(order.orderedAt()));
+            ps.setTimestamp(6, Timestamp.valueOf(order.expectedToDeliverAt()));
+        });
+        List<Long> ids = LongStream.range(first, first + orders.size()).boxed().toList();
+        // os INSERTs em lote não passam pelos eventos do Hibernate: o feed de mudanças é gravado aqui
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> OutboxBatchRepositoryImpl.insert(connection,
+                ids.stream().map(id -> RowChanges.row(RowChanges.ORDERS, OutboxEventType.CREATED, id)).toList()));
+        return ids;
+    }
+
+    @Override
+    public int insertLines(List<NewOrderLine> lines) {
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, lines, INSERT_BATCH_SIZE, (ps, line) -> {
+            ps.setLong(1, line.orderId());
+            ps.setLong(2, line.productId());
+            ps.setLong(3, line.amount());
+            ps.setBigDecimal(4, line.salePrice());
+        });
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> OutboxBatchRepositoryImpl.insert(connection,
+                lines.stream().map(line -> RowChanges.orderLine(OutboxEventType.CREATED, line.orderId(), line.productId())).toList()));
+        return lines.size();
+    }
+}
@@ -1,10 +1,65 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct;
-import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProductId;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct.OrderProductId;
 
 @Repository
 public interface OrderProductRepository extends JpaRepository<OrderProduct, OrderProductId> {
+
+    interface AllocationLine {
+        Long getOrderId();
+        Long getProductId();
+        Long getAmount();
+    }
+
+    /**
+     * Itens dos pedidos informados, sem carregar as entidades, na ordem da PK.
+     */
+    @Query("""
+            SELECT op.order.id AS orderId, op.product.id AS productId, op.amount AS amount
+            FROM OrderProduct op
+            WHERE op.order.id IN :orderIds
+            ORDER BY op.order.id, op.product.id
+            """)
+    List<AllocationLine> findAllocationLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    interface OrderLineView {
+        Long getProductId();
+        Long getAmount();
+        BigDecimal getSalePrice();
+    }
+
+    @Query("""
+            SELECT op.product.id AS productId, op.amount AS amount, op.salePrice AS salePrice
+            FROM OrderProduct op
+            WHERE op.order.id = :orderId
+            ORDER BY op.product.id
+            """)
+    List<OrderLineView> findLinesByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * Primeira janela da listagem por cursor, na ordem da PK (orders_id, products_id).
+     */
+    @Query("SELECT op FROM OrderProduct op ORDER BY op.order.id, op.product.id")
+    List<OrderProduct> findFirstWindow(Limit limit);
+
+    /**
+     * Janela seguinte à PK informada. A condição em orders_id vira um range na PK,
+     * então o custo não depende de quantas linhas ficaram para trás.
+     */
+    @Query("""
+            SELECT op FROM OrderProduct op
+            WHERE op.order.id >= :orderId
+              AND (op.order.id > :orderId OR op.product.id > :productId)
+            ORDER BY op.order.id, op.product.id
+            """)
+    List<OrderProduct> findWindowAfter(@Param("orderId") Long orderId, @Param("productId") Long productId, Limit limit);
 }
@@ -1,10 +1,26 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-	
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>, OrderBatchRepository {
+
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Troca o status só se ele ainda for {@code from}. Retorna 0 se outra transação mudou o status antes.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :to WHERE o.id = :id AND o.orderStatus = :from")
+    int compareAndSetStatus(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
 }
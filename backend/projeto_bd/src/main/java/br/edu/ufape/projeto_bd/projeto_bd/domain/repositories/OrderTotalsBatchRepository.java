@@ -0,0 +1,87 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+
+/**
+ * Manutenção de order_totals e customer_balances via JDBC: incrementos atômicos em lote
+ * e as consultas de recálculo usadas pela checagem de consistência.
+ */
+public interface OrderTotalsBatchRepository {
+
+    record TotalDelta(long orderId, long units, BigDecimal price) {
+    }
+
+    record BalanceDelta(long customerId, BigDecimal balance) {
+    }
+
+    /**
+     * Pedido com o total recalculado a partir de orders_products.
+     */
+    record ComputedTotal(long orderId, Long customerId, OrderStatus status, long units, BigDecimal price) {
+    }
+
+    record OrderState(long orderId, Long customerId, OrderStatus status) {
+    }
+
+    /**
+     * Soma os deltas aos totais dos pedidos, criando a linha quando ainda não existe.
+     */
+    void addToOrderTotals(List<TotalDelta> deltas);
+
+    /**
+     * Soma os deltas aos saldos dos clientes, criando a linha quando ainda não existe.
+     */
+    void addToCustomerBalances(List<BalanceDelta> deltas);
+
+    /**
+     * Sobrescreve os totais dos pedidos com os valores informados (reparo).
+     */
+    void setOrderTotals(List<TotalDelta> totals);
+
+    /**
+     * Sobrescreve os saldos dos clientes com os valores informados (reparo).
+     */
+    void setCustomerBalances(List<BalanceDelta> balances);
+
+    /**
+     * Cliente e status atuais dos pedidos, com trava de escrita (leitura do valor confirmado mais recente).
+     */
+    List<OrderState> lockOrderStates(Collection<Long> orderIds);
+
+    /**
+     * Trava a linha de totais do pedido e devolve o valor atual (zero se ainda não existe).
+     */
+    BigDecimal lockTotalPrice(long orderId);
+
+    /**
+     * Menor e maior id de orders, ou null se a tabela está vazia.
+     */
+    long[] findOrderIdRange();
+
+    /**
+     * Recalcula os totais dos pedidos com id entre {@code fromId} e {@code toId} (inclusive).
+     */
+    List<ComputedTotal> computeTotals(long fromId, long toId);
+
+    /**
+     * Totais gravados dos pedidos com id entre {@code fromId} e {@code toId} (inclusive).
+     */
+    Map<Long, TotalDelta> findStoredTotals(long fromId, long toId);
+
+    Map<Long, BigDecimal> findStoredBalances();
+
+    /**
+     * Trava os totais dos pedidos e os recalcula a partir de orders_products.
+     */
+    List<TotalDelta> lockAndComputeTotals(Collection<Long> orderIds);
+
+    /**
+     * Trava os saldos dos clientes e os recalcula a partir de order_totals (clientes sem pedido em aberto ficam com zero).
+     */
+    List<BalanceDelta> lockAndComputeBalances(Collection<Long> customerIds);
+}
@@ -0,0 +1,192 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OrderTotalsBatchRepositoryImpl implements OrderTotalsBatchRepository {
+
+    // pedidos entregues ou cancelados não entram no saldo em aberto (o MySQL compara o ENUM sem caixa)
+    private static final String OPEN = "o.status NOT IN ('DELIVERED', 'CANCELED')";
+
+    private static final String ADD_TOTAL_SQL =
+            "UPDATE order_totals SET total_units = total_units + ?, total_price = total_price + ?, "
+            + "updated_at = CURRENT_TIMESTAMP(6) WHERE orders_id = ?";
+    private static final String SET_TOTAL_SQL =
+            "UPDATE order_totals SET total_units = ?, total_price = ?, updated_at = CURRENT_TIMESTAMP(6) WHERE orders_id = ?";
+    private static final String INSERT_TOTAL_SQL =
+            "INSERT INTO order_totals (total_units, total_price, orders_id, updated_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP(6))";
+    private static final String ADD_BALANCE_SQL =
+            "UPDATE customer_balances SET open_balance = open_balance + ?, updated_at = CURRENT_TIMESTAMP(6) "
+            + "WHERE customers_id = ?";
+    private static final String SET_BALANCE_SQL =
+            "UPDATE customer_balances SET open_balance = ?, updated_at = CURRENT_TIMESTAMP(6) WHERE customers_id = ?";
+    private static final String INSERT_BALANCE_SQL =
+            "INSERT INTO customer_balances (open_balance, customers_id, updated_at) VALUES (?, ?, CURRENT_TIMESTAMP(6))";
+
+    private static final String LOCK_ORDERS_SQL =
+            "SELECT id, customers_id, status FROM orders WHERE id IN (%s) ORDER BY id FOR UPDATE";
+    private static final String LOCK_TOTAL_SQL =
+            "SELECT total_price FROM order_totals WHERE orders_id = ? FOR UPDATE";
+    private static final String LOCK_TOTALS_SQL =
+            "SELECT orders_id FROM order_totals WHERE orders_id IN (%s) ORDER BY orders_id FOR UPDATE";
+    private static final String LOCK_BALANCES_SQL =
+            "SELECT customers_id FROM customer_balances WHERE customers_id IN (%s) ORDER BY customers_id FOR UPDATE";
+    private static final String COMPUTE_TOTALS_SQL =
+            "SELECT o.id, o.customers_id, o.status, COALESCE(SUM(op.amount), 0), "
+            + "COALESCE(SUM(op.amount * op.sale_price), 0) "
+            + "FROM orders o LEFT JOIN orders_products op ON op.orders_id = o.id "
+            + "WHERE %s GROUP BY o.id, o.customers_id, o.status";
+    private static final String COMPUTE_BALANCES_SQL =
+            "SELECT o.customers_id, SUM(t.total_price) FROM orders o JOIN order_totals t ON t.orders_id = o.id "
+            + "WHERE o.customers_id IN (%s) AND " + OPEN + " GROUP BY o.customers_id";
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addToOrderTotals(List<TotalDelta> deltas) {
+        upsert(ADD_TOTAL_SQL, INSERT_TOTAL_SQL, deltas, OrderTotalsBatchRepositoryImpl::setTotal);
+    }
+
+    @Override
+    public void addToCustomerBalances(List<BalanceDelta> deltas) {
+        upsert(ADD_BALANCE_SQL, INSERT_BALANCE_SQL, deltas, OrderTotalsBatchRepositoryImpl::setBalance);
+    }
+
+    @Override
+    public void setOrderTotals(List<TotalDelta> totals) {
+        upsert(SET_TOTAL_SQL, INSERT_TOTAL_SQL, totals, OrderTotalsBatchRepositoryImpl::setTotal);
+    }
+
+    @Override
+    public void setCustomerBalances(List<BalanceDelta> balances) {
+        upsert(SET_BALANCE_SQL, INSERT_BALANCE_SQL, balances, OrderTotalsBatchRepositoryImpl::setBalance);
+    }
+
+    @Override
+    public List<OrderState> lockOrderStates(Collection<Long> orderIds) {
+        return BatchQueries.inChunks(orderIds, chunk -> jdbcTemplate.query(String.format(LOCK_ORDERS_SQL, placeholders(chunk)),
+                (rs, row) -> new OrderState(rs.getLong(1), rs.getObject(2, Long.class), status(rs, 3)), chunk.toArray()));
+    }
+
+    @Override
+    public BigDecimal lockTotalPrice(long orderId) {
+        List<BigDecimal> price = jdbcTemplate.queryForList(LOCK_TOTAL_SQL, BigDecimal.class, orderId);
+        return price.isEmpty() ? BigDecimal.ZERO : price.get(0);
+    }
+
+    @Override
+    public long[] findOrderIdRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM orders",
+                (rs, row) -> rs.getObject(1) == null ? null : new long[] { rs.getLong(1), rs.getLong(2) });
+    }
+
+    @Override
+    public List<ComputedTotal> computeTotals(long fromId, long toId) {
+        return jdbcTemplate.query(String.format(COMPUTE_TOTALS_SQL, "o.id BETWEEN ? AND ?"),
+                (rs, row) -> new ComputedTotal(rs.getLong(1), rs.getObject(2, Long.class), status(rs, 3),
+                        rs.getLong(4), rs.getBigDecimal(5)),
+                fromId, toId);
+    }
+
+    @Override
+    public Map<Long, TotalDelta> findStoredTotals(long fromId, long toId) {
+        Map<Long, TotalDelta> totals = new HashMap<>();
+        jdbcTemplate.query("SELECT orders_id, total_units, total_price FROM order_totals WHERE orders_id BETWEEN ? AND ?",
+                rs -> { totals.put(rs.getLong(1), new TotalDelta(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3))); },
+                fromId, toId);
+        return totals;
+    }
+
+    @Override
+    public Map<Long, BigDecimal> findStoredBalances() {
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        jdbcTemplate.query("SELECT customers_id, open_balance FROM customer_balances",
+                rs -> { balances.put(rs.getLong(1), rs.getBigDecimal(2)); });
+        return balances;
+    }
+
+    @Override
+    public List<TotalDelta> lockAndComputeTotals(Collection<Long> orderIds) {
+        return BatchQueries.inChunks(orderIds, chunk -> {
+            jdbcTemplate.queryForList(String.format(LOCK_TOTALS_SQL, placeholders(chunk)), Long.class, chunk.toArray());
+            return jdbcTemplate.query(String.format(COMPUTE_TOTALS_SQL, "o.id IN (" + placeholders(chunk) + ")"),
+                    (rs, row) -> new TotalDelta(rs.getLong(1), rs.getLong(4), rs.getBigDecimal(5)), chunk.toArray());
+        });
+    }
+
+    @Override
+    public List<BalanceDelta> lockAndComputeBalances(Collection<Long> customerIds) {
+        return BatchQueries.inChunks(customerIds, chunk -> {
+            jdbcTemplate.queryForList(String.format(LOCK_BALANCES_SQL, placeholders(chunk)), Long.class, chunk.toArray());
+            Map<Long, BigDecimal> computed = new HashMap<>();
+            jdbcTemplate.query(String.format(COMPUTE_BALANCES_SQL, placeholders(chunk)),
+                    rs -> { computed.put(rs.getLong(1), rs.getBigDecimal(2)); }, chunk.toArray());
+            return chunk.stream()
+                    .map(customerId -> new BalanceDelta(customerId, computed.getOrDefault(customerId, BigDecimal.ZERO)))
+                    .toList();
+        });
+    }
+
+    // --------- métodos privados ---------
+
+    /**
+     * UPDATE em lote; as linhas que ainda não existem são inseridas uma a uma. Se outra transação
+     * inserir a mesma linha antes, o INSERT falha com chave duplicada e o UPDATE é refeito sobre ela.
+     */
+    private <T> void upsert(String updateSql, String insertSql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) return;
+        int[][] counts = jdbcTemplate.batchUpdate(updateSql, rows, BATCH_SIZE, setter);
+        List<T> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) missing.add(rows.get(index));
+                index++;
+            }
+        }
+        for (T row : missing) {
+            try {
+                jdbcTemplate.update(insertSql, ps -> setter.setValues(ps, row));
+            } catch (DuplicateKeyException e) {
+                jdbcTemplate.update(updateSql, ps -> setter.setValues(ps, row));
+            }
+        }
+    }
+
+    private static void setTotal(PreparedStatement ps, TotalDelta total) throws SQLException {
+        ps.setLong(1, total.units());
+        ps.setBigDecimal(2, total.price());
+        ps.setLong(3, total.orderId());
+    }
+
+    private static void setBalance(PreparedStatement ps, BalanceDelta balance) throws SQLException {
+        ps.setBigDecimal(1, balance.balance());
+        ps.setLong(2, balance.customerId());
+    }
+
+    private static OrderStatus status(ResultSet rs, int column) throws SQLException {
+        return OrderStatus.valueOf(rs.getString(column));
+    }
+
+    private static String placeholders(List<?> chunk) {
+        return String.join(",", Collections.nCopies(chunk.size(), "?"));
+    }
+}
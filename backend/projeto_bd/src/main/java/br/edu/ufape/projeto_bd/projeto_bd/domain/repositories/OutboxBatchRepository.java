@@ -0,0 +1,25 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+
+/**
+ * Gravação de eventos do outbox em lote via JDBC (a ingestão cria milhares de pedidos por bloco).
+ */
+public interface OutboxBatchRepository {
+
+    record NewOutboxEvent(String aggregateType, long aggregateId, OutboxEventType eventType, String payload) {
+    }
+
+    /**
+     * Insere os eventos com INSERTs em lote, na ordem da lista.
+     */
+    int appendAll(List<NewOutboxEvent> events);
+
+    /**
+     * Marca os eventos como publicados, numerando-os em sequência a partir de {@code firstSeq} na ordem da lista.
+     */
+    int markPublished(List<Long> ids, long firstSeq, LocalDateTime publishedAt);
+}
@@ -0,0 +1,64 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class OutboxBatchRepositoryImpl implements OutboxBatchRepository {
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, NOW())";
+    private static final String MARK_PUBLISHED_SQL =
+            "UPDATE outbox_events SET seq = ?, published_at = ? WHERE id = ?";
+    private static final int INSERT_BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int appendAll(List<NewOutboxEvent> events) {
+        if (events.isEmpty()) return 0;
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> insert(connection, events));
+    }
+
+    @Override
+    public int markPublished(List<Long> ids, long firstSeq, LocalDateTime publishedAt) {
+        Timestamp at = Timestamp.valueOf(publishedAt);
+        long[] seq = { firstSeq };
+        jdbcTemplate.batchUpdate(MARK_PUBLISHED_SQL, ids, INSERT_BATCH_SIZE, (ps, id) -> {
+            ps.setLong(1, seq[0]++);
+            ps.setTimestamp(2, at);
+            ps.setLong(3, id);
+        });
+        return ids.size();
+    }
+
+    /**
+     * Insere os eventos na conexão informada; usado também pelo listener do Hibernate (feed de mudanças),
+     * que grava pela conexão da própria sessão.
+     */
+    public static int insert(Connection connection, List<NewOutboxEvent> events) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT_EVENT_SQL)) {
+            for (int from = 0; from < events.size(); from += INSERT_BATCH_SIZE) {
+                for (NewOutboxEvent event : events.subList(from, Math.min(events.size(), from + INSERT_BATCH_SIZE))) {
+                    ps.setString(1, event.aggregateType());
+                    ps.setLong(2, event.aggregateId());
+                    ps.setString(3, event.eventType().name());
+                    ps.setString(4, event.payload());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        return events.size();
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxBatchRepository {
+
+    /**
+     * Próximos eventos não publicados (nem descartados) em ordem de id, travados até o fim da transação
+     * (duas execuções do relay não publicam o mesmo lote). Lidos como somente leitura:
+     * a marcação de publicado é gravada em lote por {@link #markPublished}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OutboxEvent> findByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Conta uma falha de publicação do evento; na tentativa {@code maxAttempts} ele é descartado em {@code now}.
+     */
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e SET e.attempts = e.attempts + 1,
+                e.deadLetteredAt = CASE WHEN e.attempts + 1 >= :maxAttempts THEN :now ELSE NULL END
+            WHERE e.id = :id
+            """)
+    int recordFailure(@Param("id") Long id, @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    /**
+     * Dá ao evento o {@code seq} do feed se ele acabou de ser descartado; sem isso a mudança sumiria do feed.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.seq = :seq WHERE e.id = :id AND e.deadLetteredAt IS NOT NULL AND e.seq IS NULL")
+    int assignDeadLetteredSeq(@Param("id") Long id, @Param("seq") long seq);
+
+    @Query("SELECT COALESCE(MAX(e.seq), 0) FROM OutboxEvent e")
+    long findMaxSeq();
+
+    @Query("SELECT MIN(e.seq) FROM OutboxEvent e")
+    Long findMinSeq();
+
+    /**
+     * Página do feed de mudanças: eventos publicados com seq em (after, until] dos tipos informados.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<OutboxEvent> findBySeqGreaterThanAndSeqLessThanEqualAndEventTypeInOrderBySeqAsc(long after, long until,
+            Collection<OutboxEventType> types, Limit limit);
+
+    /**
+     * Apaga os eventos publicados (ou descartados) antes de {@code before}, exceto os de seq a partir de
+     * {@code keepFromSeq} (o último fica para a sequência continuar dele).
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM OutboxEvent e
+            WHERE (e.publishedAt < :before OR e.deadLetteredAt < :before) AND e.seq < :keepFromSeq
+            """)
+    int deletePublishedBefore(@Param("before") LocalDateTime before, @Param("keepFromSeq") long keepFromSeq);
+}
@@ -1,11 +1,33 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
-    
+
+    /**
+     * Inicializa, em uma única consulta, a coleção de categorias dos produtos informados.
+     * Os produtos já carregados na sessão passam a ter products_categories preenchido.
+     */
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.categories WHERE p.id IN :ids")
+    List<Product> findWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface PriceView {
+        Long getId();
+        BigDecimal getMinimumSalePrice();
+    }
+
+    /**
+     * Preço mínimo de venda dos produtos informados (produtos excluídos ficam de fora).
+     */
+    @Query("SELECT p.id AS id, p.minimumSalePrice AS minimumSalePrice FROM Product p WHERE p.id IN :ids")
+    List<PriceView> findPricesByIdIn(@Param("ids") Collection<Long> ids);
 }
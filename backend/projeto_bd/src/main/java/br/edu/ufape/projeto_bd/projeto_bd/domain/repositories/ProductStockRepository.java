@@ -1,14 +1,160 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductStockRepository extends JpaRepository<ProductStock, Long> {
 
+    // os UPDATEs nativos declaram a tabela alterada (HINT_NATIVE_SPACES): sem isso o Hibernate
+    // invalida todo o cache de segundo nível a cada reserva de estoque
+
     boolean existsByProductIdAndWarehouseId(Long productId, Long warehouseId);
 
     boolean existsByCode(String code);
-    
+
+    interface StockLevel {
+        Long getProductId();
+        Long getWarehouseId();
+        Long getAmount();
+    }
+
+    /**
+     * Saldo disponível de cada armazém para os produtos informados (fotografia para alocação).
+     */
+    @Query("""
+            SELECT ps.product.id AS productId, ps.warehouse.id AS warehouseId, ps.amount AS amount
+            FROM ProductStock ps
+            WHERE ps.product.id IN :productIds AND ps.amount > 0
+            """)
+    List<StockLevel> findStockLevelsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Move a quantidade de amount para reserved se houver saldo. Retorna 0 se não houver
+     * saldo suficiente (ou estoque cadastrado); a verificação e a baixa são o mesmo UPDATE.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = """
+            UPDATE product_stocks
+            SET amount = amount - :quantity, reserved = reserved + :quantity, updated_at = NOW(6)
+            WHERE products_id = :productId AND warehouses_id = :warehouseId
+              AND deleted_at IS NULL AND amount >= :quantity
+            """, nativeQuery = true)
+    int reserve(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Confirma a saída de uma quantidade reservada. Retorna 0 se a reserva for menor que a quantidade.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = """
+            UPDATE product_stocks
+            SET reserved = reserved - :quantity, updated_at = NOW(6)
+            WHERE products_id = :productId AND warehouses_id = :warehouseId
+              AND deleted_at IS NULL AND reserved >= :quantity
+            """, nativeQuery = true)
+    int commitReservation(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Devolve ao saldo uma quantidade reservada. Retorna 0 se a reserva for menor que a quantidade.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = """
+            UPDATE product_stocks
+            SET amount = amount + :quantity, reserved = reserved - :quantity, updated_at = NOW(6)
+            WHERE products_id = :productId AND warehouses_id = :warehouseId
+              AND deleted_at IS NULL AND reserved >= :quantity
+            """, nativeQuery = true)
+    int releaseReservation(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Move uma cota de amount para leased, para ser consumida em memória pelo HotStockCounter.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = """
+            UPDATE product_stocks
+            SET amount = amount - :quantity, leased = leased + :quantity, updated_at = NOW(6)
+            WHERE products_id = :productId AND warehouses_id = :warehouseId
+              AND deleted_at IS NULL AND amount >= :quantity
+            """, nativeQuery = true)
+    int lease(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Registra como reservada a parte da cota já consumida em memória.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = """
+            UPDATE product_stocks
+            SET leased = leased - :quantity, reserved = reserved + :quantity, updated_at = NOW(6)
+            WHERE products_id = :productId AND warehouses_id = :warehouseId
+              AND deleted_at IS NULL AND leased >= :quantity
+            """, nativeQuery = true)
+    int settleLease(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Devolve ao saldo a parte da cota que não foi consumida.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = """
+            UPDATE product_stocks
+            SET amount = amount + :quantity, leased = leased - :quantity, updated_at = NOW(6)
+            WHERE products_id = :productId AND warehouses_id = :warehouseId
+              AND deleted_at IS NULL AND leased >= :quantity
+            """, nativeQuery = true)
+    int returnLease(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId,
+            @Param("quantity") long quantity);
+
+    /**
+     * Devolve ao saldo todas as cotas pendentes (usado ao subir a aplicação, após uma queda).
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_stocks"))
+    @Query(value = "UPDATE product_stocks SET amount = amount + leased, leased = 0, updated_at = NOW(6) WHERE leased > 0",
+            nativeQuery = true)
+    int returnAllLeases();
+
+    /**
+     * Registra no feed de mudanças a alteração de um estoque feita pelos UPDATEs nativos acima,
+     * que não passam pelos eventos do Hibernate. Deve rodar na mesma transação do UPDATE.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(value = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+            VALUES ('product_stocks', :productId, 'UPDATED',
+                    CONCAT('{"products_id":', :productId, ',"warehouses_id":', :warehouseId, '}'), NOW())
+            """, nativeQuery = true)
+    int recordChange(@Param("productId") Long productId, @Param("warehouseId") Long warehouseId);
+
+    /**
+     * Registra no feed de mudanças os estoques que {@link #returnAllLeases()} vai alterar; chamar antes dele.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(value = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+            SELECT 'product_stocks', products_id, 'UPDATED',
+                   CONCAT('{"products_id":', products_id, ',"warehouses_id":', warehouses_id, '}'), NOW()
+            FROM product_stocks WHERE leased > 0
+            """, nativeQuery = true)
+    int recordLeasedChanges();
 }
@@ -0,0 +1,45 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.util.Map;
+
+/**
+ * Operações em lote sobre products_translations feitas via JDBC.
+ */
+public interface ProductTranslationBatchRepository {
+
+    /**
+     * Conteúdo desejado de uma tradução (por idioma).
+     */
+    record TranslationValues(String name, String description) {
+    }
+
+    /**
+     * Quantidade de linhas escritas por um merge.
+     */
+    record MergeResult(int inserted, int updated, int deleted) {
+        public int total() {
+            return inserted + updated + deleted;
+        }
+    }
+
+    /**
+     * Sincroniza as traduções de um produto com o conteúdo desejado (languageId -> valores),
+     * emitindo apenas os INSERT, UPDATE e DELETE (soft delete) realmente necessários, em lote.
+     * Traduções idênticas às armazenadas não geram escrita.
+     */
+    MergeResult mergeTranslations(Long productId, Map<Long, TranslationValues> desired);
+
+    /**
+     * Recebe uma linha (produto, idioma, nome) de {@link #forEachActiveName}.
+     */
+    @FunctionalInterface
+    interface NameRowHandler {
+        void accept(long productId, long languageId, String name);
+    }
+
+    /**
+     * Percorre os nomes de todas as traduções ativas (tradução e produto sem soft delete),
+     * em blocos ordenados pela PK, sem carregar a tabela inteira em memória.
+     */
+    void forEachActiveName(NameRowHandler handler);
+}
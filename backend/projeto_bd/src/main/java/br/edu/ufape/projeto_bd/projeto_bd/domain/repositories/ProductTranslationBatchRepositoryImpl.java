@@ -0,0 +1,93 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ProductTranslationBatchRepositoryImpl implements ProductTranslationBatchRepository {
+
+    private static final String SELECT_SQL =
+            "SELECT languages_id, name, description, deleted_at FROM products_translations WHERE products_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO products_translations (products_id, languages_id, name, description, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, NOW(), NOW(6))";
+    // também reativa linhas removidas por soft delete, que ainda ocupam a PK
+    private static final String UPDATE_SQL =
+            "UPDATE products_translations SET name = ?, description = ?, deleted_at = NULL, updated_at = NOW(6) "
+            + "WHERE products_id = ? AND languages_id = ?";
+    // mesmo efeito do @SQLDelete de ProductTranslation
+    private static final String DELETE_SQL =
+            "UPDATE products_translations SET deleted_at = NOW(), updated_at = NOW(6) WHERE products_id = ? AND languages_id = ?";
+
+    private static final String ACTIVE_NAMES_SQL =
+            "SELECT t.products_id, t.languages_id, t.name FROM products_translations t "
+            + "JOIN products p ON p.id = t.products_id AND p.deleted_at IS NULL "
+            + "WHERE t.deleted_at IS NULL "
+            + "AND (t.products_id > ? OR (t.products_id = ? AND t.languages_id > ?)) "
+            + "ORDER BY t.products_id, t.languages_id LIMIT ?";
+    private static final int ACTIVE_NAMES_CHUNK = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record StoredRow(String name, String description, boolean deleted) {
+    }
+
+    @Override
+    public MergeResult mergeTranslations(Long productId, Map<Long, TranslationValues> desired) {
+        Map<Long, StoredRow> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            stored.put(rs.getLong("languages_id"), new StoredRow(
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getTimestamp("deleted_at") != null));
+        }, productId);
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        desired.forEach((languageId, values) -> {
+            StoredRow row = stored.get(languageId);
+            if (row == null) {
+                inserts.add(new Object[] { productId, languageId, values.name(), values.description() });
+            } else if (row.deleted()
+                    || !Objects.equals(row.name(), values.name())
+                    || !Objects.equals(row.description(), values.description())) {
+                updates.add(new Object[] { values.name(), values.description(), productId, languageId });
+            }
+        });
+        stored.forEach((languageId, row) -> {
+            if (!row.deleted() && !desired.containsKey(languageId)) {
+                deletes.add(new Object[] { productId, languageId });
+            }
+        });
+
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        if (!deletes.isEmpty()) jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+
+        return new MergeResult(inserts.size(), updates.size(), deletes.size());
+    }
+
+    @Override
+    public void forEachActiveName(NameRowHandler handler) {
+        long[] last = { 0L, 0L };
+        int[] read = new int[1];
+        do {
+            read[0] = 0;
+            jdbcTemplate.query(ACTIVE_NAMES_SQL, rs -> {
+                last[0] = rs.getLong(1);
+                last[1] = rs.getLong(2);
+                handler.accept(last[0], last[1], rs.getString(3));
+                read[0]++;
+            }, last[0], last[0], last[1], ACTIVE_NAMES_CHUNK);
+        } while (read[0] == ACTIVE_NAMES_CHUNK);
+    }
+}
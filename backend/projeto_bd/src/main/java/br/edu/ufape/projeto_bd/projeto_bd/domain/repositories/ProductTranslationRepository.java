@@ -1,13 +1,51 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslation;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslationId;
 
 @Repository
-public interface ProductTranslationRepository extends JpaRepository<ProductTranslation, ProductTranslationId> {
+public interface ProductTranslationRepository extends JpaRepository<ProductTranslation, ProductTranslationId>, ProductTranslationBatchRepository {
     List<ProductTranslation> findByProductId(Long productId);
     void deleteByProductId(Long productId);
+
+    /**
+     * Carrega, em uma única consulta, as traduções (com o idioma) de vários produtos.
+     * Usado na montagem de páginas para evitar uma consulta por produto.
+     */
+    @Query("SELECT t FROM ProductTranslation t JOIN FETCH t.language WHERE t.product.id IN :productIds")
+    List<ProductTranslation> findWithLanguageByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Produto e sua relevância no índice FULLTEXT (name, description).
+     */
+    interface RankedProduct {
+        Long getProductId();
+        Double getScore();
+    }
+
+    /**
+     * Busca textual em nome/descrição usando o índice ft__products_translations__name__description.
+     * Cada produto aparece uma vez, com a maior relevância entre seus idiomas;
+     * languageId nulo busca em todos os idiomas.
+     */
+    @Query(value = """
+            SELECT t.products_id AS productId,
+                   MAX(MATCH(t.name, t.description) AGAINST (:query IN NATURAL LANGUAGE MODE)) AS score
+            FROM products_translations t
+            JOIN products p ON p.id = t.products_id AND p.deleted_at IS NULL
+            WHERE MATCH(t.name, t.description) AGAINST (:query IN NATURAL LANGUAGE MODE)
+              AND t.deleted_at IS NULL
+              AND (:languageId IS NULL OR t.languages_id = :languageId)
+            GROUP BY t.products_id
+            ORDER BY score DESC, t.products_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<RankedProduct> searchByText(@Param("query") String query, @Param("languageId") Long languageId,
+            @Param("limit") int limit);
 }
@@ -1,6 +1,10 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
 import org.springframework.data.domain.Page;
@@ -9,5 +13,8 @@ import org.springframework.data.domain.Pageable;
 @Repository
 public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
     Page<Warehouse> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    @Query("SELECT w.id FROM Warehouse w WHERE w.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
     
 }
\ No newline at end of file
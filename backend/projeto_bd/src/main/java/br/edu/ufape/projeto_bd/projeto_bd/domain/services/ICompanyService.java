@@ -5,6 +5,7 @@ import org.springframework.data.domain.Page;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyPatchDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 
 public interface ICompanyService {
     CompanyResponseDTO createCompany(CompanyRequestDTO companyRequestDTO);
@@ -13,6 +14,8 @@ public interface ICompanyService {
 
     Page<CompanyResponseDTO> getAllCompanies(int page, int size, String sortBy, String direction, String tradeName);
 
+    WindowResponseDTO<CompanyResponseDTO> scrollCompanies(String after, int limit, String sortBy, String direction, String tradeName);
+
     CompanyResponseDTO updateCompany(Long id, CompanyPatchDTO companyPatchDTO);
 
     void deleteCompany(Long id);
@@ -0,0 +1,22 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryDispatchResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryResponseDTO;
+
+public interface IDeliveryService {
+    public DeliveryResponseDTO createDelivery(DeliveryRequestDTO request);
+
+    public DeliveryResponseDTO findDeliveryById(Long id);
+
+    public Page<DeliveryResponseDTO> findAllDeliveries(Long orderId, Pageable pageable);
+
+    public DeliveryResponseDTO updateDelivery(Long id, DeliveryRequestDTO request);
+
+    public void deleteDelivery(Long id);
+
+    public DeliveryDispatchResponseDTO dispatchDeliveries(DeliveryDispatchRequestDTO request);
+}
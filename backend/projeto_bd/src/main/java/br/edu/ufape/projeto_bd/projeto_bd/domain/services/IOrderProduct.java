@@ -1,8 +1,12 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductBatchRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderProductResponseDTO;
 
@@ -10,10 +14,14 @@ public interface IOrderProduct{
 
     OrderProductResponseDTO createOrderProduct(OrderProductRequestDTO request);
 
+    List<OrderProductResponseDTO> createOrderProducts(OrderProductBatchRequestDTO request);
+
     OrderProductResponseDTO findOrderProductById(Long orderId, Long productId);
 
     Page<OrderProductResponseDTO> findAllOrderProducts(Pageable pageable);
 
+    WindowResponseDTO<OrderProductResponseDTO> scrollOrderProducts(String after, int limit);
+
     OrderProductResponseDTO updateOrderProduct(Long orderId, Long productId, OrderProductRequestDTO request);
 
     void deleteOrderProduct(Long orderId, Long productId);
@@ -2,17 +2,27 @@ package br.edu.ufape.projeto_bd.projeto_bd.domain.services;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderAggregateRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAggregateResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderResponseDTO;
 
 
 public interface IOrderService {
     public OrderResponseDTO createOrder (OrderRequestDTO request);
 
+    OrderAggregateResponseDTO createOrderAggregate(OrderAggregateRequestDTO request);
+
     public OrderResponseDTO findOrderById(Long id);
 
+    OrderAggregateResponseDTO findOrderAggregateById(Long id);
+
     Page<OrderResponseDTO> findAllOrders(Pageable pageable);
 
+    WindowResponseDTO<OrderResponseDTO> scrollOrders(String after, int limit, Sort sort);
+
     public OrderResponseDTO updateOrder(Long id, OrderRequestDTO request);
 
     public void deleteOrder(Long id);
@@ -1,9 +1,14 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services;
 
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSearchHitDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSuggestionDTO;
 
 public interface IProductService {
     public ProductResponseDTO createProduct (ProductRequestDTO request);
@@ -12,6 +17,12 @@ public interface IProductService {
 
     Page<ProductResponseDTO> findAllProducts(Pageable pageable, String search);
 
+    WindowResponseDTO<ProductResponseDTO> scrollProducts(String after, int limit, Sort sort, String search);
+
+    List<ProductSearchHitDTO> searchProducts(String query, String isoCode, int limit);
+
+    List<ProductSuggestionDTO> suggestProducts(String query, String isoCode, int limit);
+
     public ProductResponseDTO updateProduct(Long id, ProductRequestDTO request);
 
     public void deleteProduct(Long id);
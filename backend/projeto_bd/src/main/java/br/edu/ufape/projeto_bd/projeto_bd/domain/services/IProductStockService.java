@@ -15,4 +15,14 @@ public interface IProductStockService {
     public ProductStockResponseDTO updateProductStock(Long id, ProductStockRequestDTO request);
 
     public void deleteProductStock(Long id);
+
+    public void reserveStock(Long productId, Long warehouseId, long quantity);
+
+    public void commitReservation(Long productId, Long warehouseId, long quantity);
+
+    public void releaseReservation(Long productId, Long warehouseId, long quantity);
+
+    public void enableHotStock(Long productId, Long warehouseId);
+
+    public void disableHotStock(Long productId, Long warehouseId);
 }
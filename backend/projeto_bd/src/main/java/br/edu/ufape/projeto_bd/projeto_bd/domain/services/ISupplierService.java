@@ -1,6 +1,7 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services;
 
 import org.springframework.data.domain.Page;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.SupplierRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierPatchDTO;
@@ -12,6 +13,8 @@ public interface ISupplierService {
 
     public Page<SupplierResponseDTO> findAllSuppliers(int page, int size, String sortBy, String direction, String name);
 
+    WindowResponseDTO<SupplierResponseDTO> scrollSuppliers(String after, int limit, String sortBy, String direction, String name);
+
     SupplierResponseDTO updateSupplier(Long id, SupplierPatchDTO request);
 
     void deleteSupplier(Long id);
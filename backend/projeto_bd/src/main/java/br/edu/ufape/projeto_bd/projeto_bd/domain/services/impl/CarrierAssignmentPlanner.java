@@ -0,0 +1,255 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.CarrierAssignment;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.PendingDelivery;
+
+/**
+ * Distribui entregas entre transportadoras, em memória e sem acesso ao banco.
+ * <ol>
+ * <li>Agrupa as entregas por armazém de origem, cidade e prefixo do CEP do destino (uma rota),
+ * normalizando os endereços em paralelo;
+ * um grupo vai inteiro para uma transportadora sempre que alguma tiver capacidade.</li>
+ * <li>Calcula, em paralelo (fork/join), o custo unitário de cada transportadora para cada grupo:
+ * preço base × fator regional (mesma cidade, mesmo estado ou outro estado da sede).</li>
+ * <li>Atribui os grupos em ordem de arrependimento (diferença entre a melhor e a segunda melhor opção),
+ * penalizando transportadoras mais ocupadas para equilibrar a carga. A carga parte das entregas que
+ * cada transportadora já tem fora do lote ({@link Carrier#load()}).</li>
+ * </ol>
+ */
+public final class CarrierAssignmentPlanner {
+
+    public record Carrier(long companyId, int capacity, int load, BigDecimal price, String state, String city) {
+    }
+
+    /**
+     * Resultado do planejamento: atribuições, quantidade de grupos, entregas sem capacidade
+     * e carga final de cada transportadora (companyId -> entregas).
+     */
+    public record Plan(List<CarrierAssignment> assignments, int groups, List<Long> unassigned, Map<Long, Integer> load) {
+    }
+
+    private static final BigDecimal SAME_CITY = BigDecimal.ONE;
+    private static final BigDecimal SAME_STATE = new BigDecimal("1.15");
+    private static final BigDecimal OTHER_STATE = new BigDecimal("1.40");
+    // uma transportadora lotada parece até 50% mais cara na escolha
+    private static final double BALANCE_WEIGHT = 0.5;
+    private static final int GROUPS_PER_TASK = 256;
+    private static final int DELIVERIES_PER_TASK = 4_096;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private CarrierAssignmentPlanner() {
+    }
+
+    public static Plan plan(List<PendingDelivery> deliveries, List<Carrier> carriers, ForkJoinPool pool) {
+        Group[] groups = group(deliveries, pool);
+        Carrier[] carrierArray = carriers.toArray(Carrier[]::new);
+        if (carrierArray.length > 0) {
+            pool.invoke(new ScoreTask(groups, carrierArray, 0, groups.length));
+        }
+
+        Arrays.sort(groups, Comparator.comparingDouble((Group g) -> -g.regret * g.size)
+                .thenComparingInt(g -> -g.size)
+                .thenComparing(g -> g.key));
+
+        int[] used = new int[carrierArray.length];
+        for (int i = 0; i < carrierArray.length; i++) {
+            used[i] = carrierArray[i].load();
+        }
+        List<CarrierAssignment> assignments = new ArrayList<>(deliveries.size());
+        List<Long> unassigned = new ArrayList<>();
+        for (Group group : groups) {
+            int next = 0;
+            int whole = cheapest(group, carrierArray, used, group.size);
+            if (whole >= 0) {
+                next = assign(group, carrierArray, used, whole, next, group.size, assignments);
+            }
+            // nenhuma comporta o grupo inteiro: divide entre as mais baratas com capacidade
+            while (next < group.size) {
+                int carrier = cheapest(group, carrierArray, used, 1);
+                if (carrier < 0) break;
+                int amount = Math.min(group.size - next, carrierArray[carrier].capacity() - used[carrier]);
+                next = assign(group, carrierArray, used, carrier, next, amount, assignments);
+            }
+            for (int i = next; i < group.size; i++) {
+                unassigned.add(group.deliveryIds[i]);
+            }
+        }
+
+        Map<Long, Integer> load = new LinkedHashMap<>();
+        for (int i = 0; i < carrierArray.length; i++) {
+            load.put(carrierArray[i].companyId(), used[i]);
+        }
+        return new Plan(assignments, groups.length, unassigned, load);
+    }
+
+    // --------- métodos privados ---------
+
+    private static Group[] group(List<PendingDelivery> deliveries, ForkJoinPool pool) {
+        PendingDelivery[] array = deliveries.toArray(PendingDelivery[]::new);
+        String[][] keys = new String[array.length][];
+        pool.invoke(new KeyTask(array, keys, 0, array.length));
+        Map<String, Group> groups = new LinkedHashMap<>();
+        for (int i = 0; i < array.length; i++) {
+            String[] key = keys[i];
+            groups.computeIfAbsent(key[0], k -> new Group(k, key[1], key[2])).add(array[i].id());
+        }
+        return groups.values().toArray(Group[]::new);
+    }
+
+    // chave da rota, estado e cidade normalizados
+    private static String[] key(PendingDelivery delivery) {
+        String city = normalize(delivery.city());
+        String zip = delivery.zipCode() == null ? "" : NON_DIGITS.matcher(delivery.zipCode()).replaceAll("");
+        String key = delivery.warehouseId() + "|" + city + "|" + zip.substring(0, Math.min(5, zip.length()));
+        return new String[] { key, normalize(delivery.state()), city };
+    }
+
+    private static int cheapest(Group group, Carrier[] carriers, int[] used, int amount) {
+        int best = -1;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < carriers.length; i++) {
+            int capacity = carriers[i].capacity();
+            if (capacity - used[i] < amount) continue;
+            double cost = group.unitCost[i] * (1 + BALANCE_WEIGHT * (used[i] + amount) / capacity);
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private static int assign(Group group, Carrier[] carriers, int[] used, int carrier, int from, int amount,
+            List<CarrierAssignment> assignments) {
+        BigDecimal price = carriers[carrier].price().multiply(group.factor[carrier]).setScale(2, RoundingMode.HALF_UP);
+        for (int i = from; i < from + amount; i++) {
+            assignments.add(new CarrierAssignment(group.deliveryIds[i], carriers[carrier].companyId(), price));
+        }
+        used[carrier] += amount;
+        return from + amount;
+    }
+
+    private static BigDecimal regionalFactor(Carrier carrier, Group group) {
+        if (!group.state.isEmpty() && group.state.equals(normalize(carrier.state()))) {
+            return group.city.equals(normalize(carrier.city())) ? SAME_CITY : SAME_STATE;
+        }
+        return OTHER_STATE;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Group {
+        private final String key;
+        private final String state;
+        private final String city;
+        private long[] deliveryIds = new long[4];
+        private int size;
+        private BigDecimal[] factor;
+        private double[] unitCost;
+        private double regret;
+
+        Group(String key, String state, String city) {
+            this.key = key;
+            this.state = state;
+            this.city = city;
+        }
+
+        void add(long deliveryId) {
+            if (size == deliveryIds.length) deliveryIds = Arrays.copyOf(deliveryIds, size * 2);
+            deliveryIds[size++] = deliveryId;
+        }
+    }
+
+    /**
+     * Custo unitário de cada transportadora por grupo; os grupos são independentes entre si.
+     */
+    private static final class ScoreTask extends RecursiveAction {
+        private final Group[] groups;
+        private final Carrier[] carriers;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Group[] groups, Carrier[] carriers, int from, int to) {
+            this.groups = groups;
+            this.carriers = carriers;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GROUPS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreTask(groups, carriers, from, middle), new ScoreTask(groups, carriers, middle, to));
+                return;
+            }
+            for (int g = from; g < to; g++) {
+                Group group = groups[g];
+                group.factor = new BigDecimal[carriers.length];
+                group.unitCost = new double[carriers.length];
+                double best = Double.MAX_VALUE;
+                double second = Double.MAX_VALUE;
+                for (int c = 0; c < carriers.length; c++) {
+                    group.factor[c] = regionalFactor(carriers[c], group);
+                    double cost = carriers[c].price().doubleValue() * group.factor[c].doubleValue();
+                    group.unitCost[c] = cost;
+                    if (cost < best) {
+                        second = best;
+                        best = cost;
+                    } else if (cost < second) {
+                        second = cost;
+                    }
+                }
+                group.regret = second == Double.MAX_VALUE ? 0 : second - best;
+            }
+        }
+    }
+
+    /**
+     * Normaliza os endereços das entregas; cada posição do vetor é escrita por uma única tarefa.
+     */
+    private static final class KeyTask extends RecursiveAction {
+        private final PendingDelivery[] deliveries;
+        private final String[][] keys;
+        private final int from;
+        private final int to;
+
+        KeyTask(PendingDelivery[] deliveries, String[][] keys, int from, int to) {
+            this.deliveries = deliveries;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > DELIVERIES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new KeyTask(deliveries, keys, from, middle), new KeyTask(deliveries, keys, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                keys[i] = key(deliveries[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CarrierAssignmentResultDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CarrierLoadDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CompanyRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.CarrierAssignment;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.PendingDelivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner.Carrier;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner.Plan;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Atribui transportadoras às entregas em PROCESSING: uma leitura das entregas pendentes,
+ * uma das transportadoras e da carga que elas já têm fora do lote, planejamento em memória ({@link CarrierAssignmentPlanner}) e UPDATEs em lote.
+ */
+@Service
+@RequiredArgsConstructor
+public class CarrierAssignmentService {
+
+    public static final int MAX_BATCH_SIZE = 50_000;
+    public static final int MAX_REPORTED_UNASSIGNED = 1_000;
+
+    private final DeliveryRepository deliveryRepository;
+    private final CompanyRepository companyRepository;
+
+    @Transactional
+    public CarrierAssignmentResultDTO assignPendingDeliveries(Long warehouseId) {
+        // sem a trava, duas rodadas leriam as mesmas cargas e juntas passariam da capacidade
+        companyRepository.lockCarriers();
+        List<PendingDelivery> pending = deliveryRepository.findPendingDeliveries(warehouseId, MAX_BATCH_SIZE);
+        // o lote vem em ordem de id: as entregas do armazém até a última lida são replanejadas
+        Map<Long, Integer> currentLoads = pending.isEmpty()
+                ? Map.of()
+                : deliveryRepository.countCarrierLoads(warehouseId, pending.get(pending.size() - 1).id());
+        List<Carrier> carriers = companyRepository.findCarriers().stream()
+                .map(view -> new Carrier(view.getCompanyId(), view.getCapacity(),
+                        currentLoads.getOrDefault(view.getCompanyId(), 0), view.getPrice(), view.getState(), view.getCity()))
+                .toList();
+        if (carriers.isEmpty() && !pending.isEmpty()) {
+            throw new BusinessRuleException("Nenhuma empresa tem capacidade e preço de entrega cadastrados.");
+        }
+
+        Plan plan = CarrierAssignmentPlanner.plan(pending, carriers, ForkJoinPool.commonPool());
+        deliveryRepository.assignCarriers(plan.assignments());
+
+        BigDecimal totalPrice = plan.assignments().stream()
+                .map(CarrierAssignment::price)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<CarrierLoadDTO> loads = carriers.stream()
+                .map(carrier -> new CarrierLoadDTO(carrier.companyId(), carrier.capacity(),
+                        plan.load().getOrDefault(carrier.companyId(), 0)))
+                .toList();
+        return new CarrierAssignmentResultDTO(pending.size(), plan.groups(), plan.assignments().size(),
+                plan.unassigned().size(), plan.unassigned().stream().limit(MAX_REPORTED_UNASSIGNED).toList(),
+                totalPrice, loads);
+    }
+}
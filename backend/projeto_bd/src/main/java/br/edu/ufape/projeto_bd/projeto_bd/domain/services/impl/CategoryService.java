@@ -14,6 +14,10 @@ import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CategoryRepository
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.ICategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import br.edu.ufape.projeto_bd.projeto_bd.config.ResponseCacheConfig;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +39,7 @@ public class CategoryService implements ICategoryService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(ResponseCacheConfig.CATEGORIES)
     public CategoryResponseDTO findCategoryById(Long id) {
 
         Category category = findCategoryByIdOrThrow(id);
@@ -77,6 +82,11 @@ public class CategoryService implements ICategoryService {
 
     @Override
     @Transactional
+    // as respostas de produto trazem as categorias: as que citam esta não são localizáveis pela chave
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ResponseCacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = ResponseCacheConfig.PRODUCTS, allEntries = true)
+    })
     public CategoryResponseDTO updateCategory(Long id, CategoryRequestDTO request) {
         Category existingCategory = findCategoryByIdOrThrow(id);
     
@@ -89,6 +99,11 @@ public class CategoryService implements ICategoryService {
 
     @Override
     @Transactional
+    // mesmo motivo do updateCategory: uma resposta de produto guardada ainda pode citar esta categoria
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ResponseCacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = ResponseCacheConfig.PRODUCTS, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         Category existingCategory = findCategoryByIdOrThrow(id);
 
@@ -0,0 +1,88 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.CursorExpiredException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxEventRepository;
+
+/**
+ * Feed de mudanças das tabelas principais, lido do outbox pelo {@code seq} que o OutboxRelay atribui na publicação
+ * (ou no descarte, quando os listeners falharam em todas as tentativas: a linha vem com {@code "deadLettered":true}).
+ * O consumidor guarda o último seq recebido e pede só o que veio depois; como o seq não tem buracos,
+ * um cursor anterior ao evento mais antigo ainda guardado indica que parte do feed já foi apagada.
+ */
+@Service
+public class ChangeFeedService {
+
+    static final int PAGE_SIZE = 1_000;
+    private static final Set<OutboxEventType> ROW_CHANGES =
+            EnumSet.of(OutboxEventType.CREATED, OutboxEventType.UPDATED, OutboxEventType.DELETED);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public ChangeFeedService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Valida o cursor e devolve o seq até onde o feed será lido (o próximo cursor do consumidor).
+     */
+    public long latestSeq(long since) {
+        if (since < 0) throw new BusinessRuleException("O cursor 'since' não pode ser negativo.");
+        Long oldest = outboxEventRepository.findMinSeq();
+        if (oldest != null && since < oldest - 1) {
+            throw new CursorExpiredException("O cursor " + since + " expirou: o evento mais antigo disponível é o "
+                    + oldest + ". Recarregue os dados e continue a partir de " + outboxEventRepository.findMaxSeq() + ".");
+        }
+        return Math.max(since, outboxEventRepository.findMaxSeq());
+    }
+
+    /**
+     * Escreve as mudanças com seq em (since, until] como NDJSON, uma linha por mudança,
+     * lendo o outbox em páginas de {@value #PAGE_SIZE}.
+     * Ex: {"seq":42,"table":"orders","op":"UPDATED","key":{"id":7},"at":"2025-03-01T10:00:00"}
+     */
+    public void stream(long since, long until, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            // a resposta é fechada pelo Spring
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            long last = since;
+            List<OutboxEvent> page;
+            do {
+                page = outboxEventRepository.findBySeqGreaterThanAndSeqLessThanEqualAndEventTypeInOrderBySeqAsc(
+                        last, until, ROW_CHANGES, Limit.of(PAGE_SIZE));
+                for (OutboxEvent event : page) {
+                    json.writeStartObject();
+                    json.writeNumberField("seq", event.getSeq());
+                    json.writeStringField("table", event.getAggregateType());
+                    json.writeStringField("op", event.getEventType().name());
+                    json.writeFieldName("key");
+                    json.writeRawValue(event.getPayload());
+                    json.writeStringField("at", event.getCreatedAt().toString());
+                    if (event.getDeadLetteredAt() != null) json.writeBooleanField("deadLettered", true);
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                    last = event.getSeq();
+                }
+                json.flush();
+            } while (page.size() == PAGE_SIZE);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
 
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -10,12 +15,14 @@ import org.springframework.stereotype.Service;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.CompanyPatchDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Company;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.AttributeAlreadyInUseException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CompanyMapper;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CompanyRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.ICompanyService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -24,6 +31,7 @@ public class CompanyService implements ICompanyService {
 
     private final CompanyRepository companyRepository;
     private final CompanyMapper companyMapper;
+    private final KeysetCursorCodec cursorCodec;
 
     @Override
     public CompanyResponseDTO createCompany(CompanyRequestDTO companyRequestDTO) {
@@ -56,12 +64,33 @@ public class CompanyService implements ICompanyService {
         return result.map(companyMapper::toDTO);
     }
 
+    @Override
+    public WindowResponseDTO<CompanyResponseDTO> scrollCompanies(String after, int limit, String sortBy,
+            String direction, String tradeName) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort stableSort = KeysetCursorCodec.stableSort(Sort.by(sortDirection, sortBy));
+        KeysetScrollPosition position = cursorCodec.decode(after, Company.class, stableSort);
+
+        Specification<Company> spec = Specification.unrestricted();
+        if (tradeName != null && !tradeName.isEmpty()) {
+            spec = (root, query, cb) -> cb.like(cb.lower(root.get("tradeName")), "%" + tradeName.toLowerCase() + "%");
+        }
+
+        Window<Company> window = companyRepository.findBy(spec, query -> query
+                .sortBy(stableSort)
+                .limit(KeysetCursorCodec.clampLimit(limit))
+                .scroll(position));
+        return cursorCodec.toResponse(window.map(companyMapper::toDTO));
+    }
+
     @Override
     public CompanyResponseDTO updateCompany(Long id, CompanyPatchDTO companyPatchDTO) {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Company.class, id));
 
         companyMapper.updateEntityFromDTO(companyPatchDTO, company);
+        // telefones e e-mails ficam em outras tabelas: sem isso o updated_at (ETag) não mudaria
+        company.setUpdatedAt(LocalDateTime.now());
 
         return companyMapper.toDTO(companyRepository.save(company));
     }
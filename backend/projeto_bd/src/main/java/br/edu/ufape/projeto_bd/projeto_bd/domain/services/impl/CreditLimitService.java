@@ -0,0 +1,194 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository.CreditView;
+
+/**
+ * Checagem do limite de crédito: exposição do cliente = saldo em aberto (customer_balances)
+ * + valores reservados por transações ainda em andamento.
+ * <p>
+ * A exposição fica em memória, carregada na primeira checagem do cliente e invalidada após o commit
+ * de qualquer alteração de saldo ou de limite. Cada checagem é atômica por cliente: trava só a faixa
+ * ({@code app.credit.lock-stripes}) do cliente, então clientes diferentes não disputam a mesma trava.
+ * A recarga do banco roda fora da trava e só é instalada se nenhum commit invalidou a exposição no meio.
+ * A reserva vale até o fim da transação: no rollback é devolvida; no commit o saldo gravado passa a contê-la.
+ * Deve ser chamada antes de gravar os itens, para a recarga não contar o mesmo valor duas vezes.
+ * Pressupõe uma única instância da aplicação.
+ */
+@Service
+public class CreditLimitService {
+
+    private final CustomerRepository customerRepository;
+    private final Map<Long, Exposure> exposures = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks;
+
+    public CreditLimitService(CustomerRepository customerRepository,
+            @Value("${app.credit.lock-stripes:64}") int stripes) {
+        this.customerRepository = customerRepository;
+        this.locks = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Reserva {@code amount} no crédito do cliente ou lança {@link BusinessRuleException}.
+     */
+    public void reserve(Long customerId, BigDecimal amount) {
+        if (!tryReserve(customerId, amount)) {
+            throw new BusinessRuleException("Limite de crédito do cliente " + customerId + " excedido.");
+        }
+    }
+
+    /**
+     * Reserva {@code amount} se couber no limite; devolve false (sem reservar nada) se não couber.
+     */
+    public boolean tryReserve(Long customerId, BigDecimal amount) {
+        if (customerId == null || amount.signum() <= 0) return true;
+        ReentrantLock lock = lockFor(customerId);
+        boolean reserved = false;
+        while (!reserved) {
+            Exposure exposure;
+            long version;
+            lock.lock();
+            try {
+                exposure = exposures.computeIfAbsent(customerId, id -> new Exposure());
+                if (!exposure.stale) {
+                    if (exposure.balance.add(exposure.pending).add(amount).compareTo(exposure.creditLimit) > 0) {
+                        return false;
+                    }
+                    exposure.pending = exposure.pending.add(amount);
+                    reserved = true;
+                    continue;
+                }
+                version = exposure.version;
+            } finally {
+                lock.unlock();
+            }
+            refresh(customerId, exposure, version);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            settle(customerId, amount, true);
+            return true;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                settle(customerId, amount, status == STATUS_COMMITTED);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Descarta a exposição em memória do cliente após o commit da transação atual
+     * (saldo ou limite alterados); a próxima checagem recarrega do banco.
+     */
+    public void invalidate(Long customerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(customerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(customerId);
+            }
+        });
+    }
+
+    // --------- métodos privados ---------
+
+    private ReentrantLock lockFor(Long customerId) {
+        int hash = customerId.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+
+    // lê o banco sem a trava; a leitura só vale se a exposição não foi invalidada (nem trocada) enquanto isso
+    private void refresh(Long customerId, Exposure exposure, long version) {
+        CreditView credit;
+        try {
+            credit = customerRepository.findCredit(customerId)
+                    .orElseThrow(() -> new EntityNotFoundException(Customer.class, customerId));
+        } catch (RuntimeException e) {
+            evict(customerId);
+            throw e;
+        }
+        ReentrantLock lock = lockFor(customerId);
+        lock.lock();
+        try {
+            if (exposures.get(customerId) != exposure || exposure.version != version) return;
+            exposure.creditLimit = credit.getCreditLimit();
+            exposure.balance = credit.getOpenBalance();
+            exposure.stale = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // fim da transação que reservou: o valor sai de pending e, se confirmado, passa a vir do saldo gravado
+    private void settle(Long customerId, BigDecimal amount, boolean committed) {
+        ReentrantLock lock = lockFor(customerId);
+        lock.lock();
+        try {
+            Exposure exposure = exposures.get(customerId);
+            if (exposure == null) return;
+            exposure.pending = exposure.pending.subtract(amount);
+            if (committed) markStale(exposure);
+            discardIfIdle(customerId, exposure);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(Long customerId) {
+        ReentrantLock lock = lockFor(customerId);
+        lock.lock();
+        try {
+            Exposure exposure = exposures.get(customerId);
+            if (exposure == null) return;
+            markStale(exposure);
+            discardIfIdle(customerId, exposure);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void markStale(Exposure exposure) {
+        exposure.stale = true;
+        exposure.version++;
+    }
+
+    // sem reservas em andamento, uma exposição desatualizada não precisa ficar em memória
+    private void discardIfIdle(Long customerId, Exposure exposure) {
+        if (exposure.stale && exposure.pending.signum() == 0) {
+            exposures.remove(customerId);
+        }
+    }
+
+    /**
+     * Protegida pela trava da faixa do cliente. Nasce desatualizada, até a primeira recarga.
+     */
+    private static final class Exposure {
+        private BigDecimal creditLimit;
+        private BigDecimal balance;
+        private BigDecimal pending = BigDecimal.ZERO;
+        private boolean stale = true;
+        // muda a cada invalidação: descarta recargas que começaram antes dela
+        private long version;
+    }
+}
@@ -19,6 +19,7 @@ public class CustomerService implements ICustomerService {
     
     private final CustomerRepository customerRepository;
     private final CustomerMapper customerMapper;
+    private final CreditLimitService creditLimitService;
 
     @Override
     @Transactional
@@ -58,6 +59,7 @@ public class CustomerService implements ICustomerService {
         customerMapper.updateCustomerFromDto(request, customer);
 
         Customer updatedCustomer = customerRepository.save(customer);
+        creditLimitService.invalidate(id);
 
         return customerMapper.toResponseDTO(updatedCustomer);
     }
@@ -69,5 +71,6 @@ public class CustomerService implements ICustomerService {
                 .orElseThrow(() -> new EntityNotFoundException(Customer.class, id));
     
         customerRepository.delete(customer);
+        creditLimitService.invalidate(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,292 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchItemDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryDispatchResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.AllocationLineDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ShipmentAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Company;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Delivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.DeliveryMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.AddressRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CompanyRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.NewDelivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository.AllocationLine;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.OrderState;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.WarehouseRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IDeliveryService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class DeliveryService implements IDeliveryService {
+
+    private final DeliveryRepository deliveryRepository;
+    private final CompanyRepository companyRepository;
+    private final OrderRepository orderRepository;
+    private final AddressRepository addressRepository;
+    private final WarehouseRepository warehouseRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final OrderTotalRepository orderTotalRepository;
+    private final StockAllocationService stockAllocationService;
+    private final ProductStockService productStockService;
+    private final DeliveryMapper deliveryMapper;
+
+    @Override
+    @Transactional
+    public DeliveryResponseDTO createDelivery(DeliveryRequestDTO request) {
+        Delivery delivery = deliveryMapper.toEntity(request,
+                findCompanyByIdOrThrow(request.getCompanyId()),
+                findOrderByIdOrThrow(request.getOrderId()),
+                findAddressByIdOrThrow(request.getDestinationAddressId()),
+                findWarehouseByIdOrThrow(request.getWarehouseId()));
+
+        return deliveryMapper.toResponseDTO(deliveryRepository.save(delivery));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DeliveryResponseDTO findDeliveryById(Long id) {
+        return deliveryMapper.toResponseDTO(findDeliveryByIdOrThrow(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<DeliveryResponseDTO> findAllDeliveries(Long orderId, Pageable pageable) {
+        Page<Delivery> deliveries = orderId == null
+                ? deliveryRepository.findAll(pageable)
+                : deliveryRepository.findByOrderId(orderId, pageable);
+
+        return deliveries.map(deliveryMapper::toResponseDTO);
+    }
+
+    @Override
+    @Transactional
+    public DeliveryResponseDTO updateDelivery(Long id, DeliveryRequestDTO request) {
+        Delivery delivery = findDeliveryByIdOrThrow(id);
+
+        deliveryMapper.updateDeliveryFromDto(request,
+                findCompanyByIdOrThrow(request.getCompanyId()),
+                findOrderByIdOrThrow(request.getOrderId()),
+                findAddressByIdOrThrow(request.getDestinationAddressId()),
+                findWarehouseByIdOrThrow(request.getWarehouseId()),
+                delivery);
+
+        return deliveryMapper.toResponseDTO(deliveryRepository.save(delivery));
+    }
+
+    @Override
+    @Transactional
+    public void deleteDelivery(Long id) {
+        deliveryRepository.delete(findDeliveryByIdOrThrow(id));
+    }
+
+    /**
+     * Cria as entregas de um lote de pedidos numa única transação. Pedidos, armazéns e endereços
+     * são validados com consultas IN (blocos de 1000 ids), as origens que faltarem vêm de uma
+     * única alocação em lote e as linhas são gravadas com INSERTs em lote, sem carregar entidades.
+     * Quando a alocação divide um pedido entre armazéns, o frete informado é rateado entre as entregas.
+     * Só pedidos em PROCESSING e ainda sem entregas são aceitos, e os itens de cada entrega são reservados
+     * no armazém de origem (como em {@link ProductStockService#reserveStock}) na mesma transação.
+     */
+    @Override
+    @Transactional
+    public DeliveryDispatchResponseDTO dispatchDeliveries(DeliveryDispatchRequestDTO request) {
+        findCompanyByIdOrThrow(request.getCompanyId());
+        List<DeliveryDispatchItemDTO> items = request.getOrders();
+
+        Set<Long> orderIds = new LinkedHashSet<>();
+        for (DeliveryDispatchItemDTO item : items) {
+            if (!orderIds.add(item.getOrderId())) {
+                throw new BusinessRuleException("O pedido " + item.getOrderId() + " aparece mais de uma vez no despacho.");
+            }
+        }
+        requireAll(Order.class, orderIds, orderRepository::findExistingIds);
+        requireAll(Warehouse.class, collect(items, DeliveryDispatchItemDTO::getWarehouseId), warehouseRepository::findExistingIds);
+        requireAll(Address.class, collect(items, DeliveryDispatchItemDTO::getDestinationAddressId), addressRepository::findExistingIds);
+        requireDispatchable(orderIds);
+
+        Map<Long, Integer> customerAddresses = deliveryRepository.findCustomerAddressIds(items.stream()
+                .filter(item -> item.getDestinationAddressId() == null)
+                .map(DeliveryDispatchItemDTO::getOrderId)
+                .toList());
+
+        // a alocação só planeja: sem a reserva, dois despachos simultâneos prometeriam as mesmas unidades.
+        // Os armazéns informados reservam primeiro, para a alocação já ler o saldo sem essas unidades.
+        Map<Long, List<ShipmentAllocationDTO>> shipments = wholeOrderShipments(items);
+        reserve(shipments);
+        Map<Long, List<ShipmentAllocationDTO>> allocated = allocateSources(items.stream()
+                .filter(item -> item.getWarehouseId() == null)
+                .map(DeliveryDispatchItemDTO::getOrderId)
+                .toList());
+        reserve(allocated);
+        shipments.putAll(allocated);
+
+        List<NewDelivery> deliveries = new ArrayList<>(items.size());
+        for (DeliveryDispatchItemDTO item : items) {
+            Integer addressId = item.getDestinationAddressId() != null
+                    ? item.getDestinationAddressId()
+                    : customerAddresses.get(item.getOrderId());
+            if (addressId == null) {
+                throw new BusinessRuleException("O pedido " + item.getOrderId() + " não tem endereço de destino.");
+            }
+            List<ShipmentAllocationDTO> legs = shipments.get(item.getOrderId());
+            List<BigDecimal> prices = apportion(item.getPrice(), legs.size());
+            for (int i = 0; i < legs.size(); i++) {
+                deliveries.add(new NewDelivery(request.getCompanyId(), item.getOrderId(), prices.get(i),
+                        DeliveryStatus.PROCESSING, addressId, legs.get(i).getWarehouseId()));
+            }
+        }
+
+        return new DeliveryDispatchResponseDTO(items.size(), deliveryRepository.insertAll(deliveries));
+    }
+
+    // --------- métodos privados ---------
+
+    // trava os pedidos antes de checar: dois despachos do mesmo pedido não passam juntos pela checagem
+    private void requireDispatchable(Set<Long> orderIds) {
+        List<Long> notProcessing = orderTotalRepository.lockOrderStates(orderIds).stream()
+                .filter(state -> state.status() != OrderStatus.PROCESSING)
+                .map(OrderState::orderId)
+                .sorted()
+                .limit(20)
+                .toList();
+        if (!notProcessing.isEmpty()) {
+            throw new BusinessRuleException("Só pedidos em PROCESSING podem ser despachados: " + notProcessing + ".");
+        }
+        List<Long> dispatched = BatchQueries.inChunks(orderIds,
+                chunk -> deliveryRepository.findOrderIdsWithDeliveries(chunk, DeliveryStatus.CANCELED));
+        if (!dispatched.isEmpty()) {
+            throw new BusinessRuleException("Os pedidos " + dispatched.stream().sorted().limit(20).toList()
+                    + " já têm entregas.");
+        }
+    }
+
+    private void reserve(Map<Long, List<ShipmentAllocationDTO>> shipments) {
+        for (List<ShipmentAllocationDTO> legs : shipments.values()) {
+            for (ShipmentAllocationDTO leg : legs) {
+                for (AllocationLineDTO line : leg.getLines()) {
+                    productStockService.reserveStock(line.getProductId(), leg.getWarehouseId(), line.getAmount());
+                }
+            }
+        }
+    }
+
+    // pedidos com armazém informado: todos os itens saem dele, numa única entrega
+    private Map<Long, List<ShipmentAllocationDTO>> wholeOrderShipments(List<DeliveryDispatchItemDTO> items) {
+        Map<Long, Long> warehouseByOrder = new HashMap<>();
+        for (DeliveryDispatchItemDTO item : items) {
+            if (item.getWarehouseId() != null) warehouseByOrder.put(item.getOrderId(), item.getWarehouseId());
+        }
+        Map<Long, List<AllocationLineDTO>> lines = new HashMap<>();
+        for (AllocationLine line : BatchQueries.inChunks(warehouseByOrder.keySet(),
+                orderProductRepository::findAllocationLinesByOrderIdIn)) {
+            lines.computeIfAbsent(line.getOrderId(), id -> new ArrayList<>())
+                    .add(new AllocationLineDTO(line.getProductId(), line.getAmount()));
+        }
+        Map<Long, List<ShipmentAllocationDTO>> shipments = new HashMap<>();
+        warehouseByOrder.forEach((orderId, warehouseId) -> shipments.put(orderId,
+                List.of(new ShipmentAllocationDTO(warehouseId, lines.getOrDefault(orderId, List.of())))));
+        return shipments;
+    }
+
+    // uma entrega por armazém, na ordem escolhida pela alocação
+    private Map<Long, List<ShipmentAllocationDTO>> allocateSources(List<Long> orderIds) {
+        Map<Long, List<ShipmentAllocationDTO>> warehouses = new HashMap<>();
+        for (int from = 0; from < orderIds.size(); from += StockAllocationService.MAX_BATCH_SIZE) {
+            List<Long> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + StockAllocationService.MAX_BATCH_SIZE));
+            for (OrderAllocationDTO allocation : stockAllocationService.allocateOrders(chunk)) {
+                if (!allocation.isComplete() || allocation.getShipments().isEmpty()) {
+                    throw new BusinessRuleException("O pedido " + allocation.getOrderId()
+                            + " não tem estoque suficiente para ser despachado.");
+                }
+                warehouses.put(allocation.getOrderId(), allocation.getShipments());
+            }
+        }
+        return warehouses;
+    }
+
+    // partes iguais em centavos; a sobra do arredondamento fica na primeira entrega
+    private static List<BigDecimal> apportion(BigDecimal price, int parts) {
+        if (parts == 1) return List.of(price);
+        BigDecimal share = price.divide(BigDecimal.valueOf(parts), 2, RoundingMode.DOWN);
+        List<BigDecimal> prices = new ArrayList<>(parts);
+        prices.add(price.subtract(share.multiply(BigDecimal.valueOf(parts - 1))));
+        for (int i = 1; i < parts; i++) {
+            prices.add(share);
+        }
+        return prices;
+    }
+
+    private static <K> Set<K> collect(List<DeliveryDispatchItemDTO> items, Function<DeliveryDispatchItemDTO, K> key) {
+        return items.stream().map(key).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static <K> void requireAll(Class<?> entityClass, Collection<K> ids, Function<List<K>, List<K>> findExisting) {
+        Set<K> missing = new HashSet<>(ids);
+        BatchQueries.inChunks(ids, findExisting).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new EntityNotFoundException(String.format("%s com ID(s) %s não encontrado(s).",
+                    entityClass.getSimpleName(), missing.stream().sorted().limit(20).toList()));
+        }
+    }
+
+    private Delivery findDeliveryByIdOrThrow(Long id) {
+        return deliveryRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Delivery.class, id));
+    }
+
+    private Company findCompanyByIdOrThrow(Long id) {
+        return companyRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Company.class, id));
+    }
+
+    private Order findOrderByIdOrThrow(Long id) {
+        return orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Order.class, id));
+    }
+
+    private Address findAddressByIdOrThrow(Integer id) {
+        return addressRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Address.class, id));
+    }
+
+    private Warehouse findWarehouseByIdOrThrow(Long id) {
+        return warehouseRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Warehouse.class, id));
+    }
+}
@@ -0,0 +1,294 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.HotStockConsumption;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.HotStockConsumptionRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo "hot SKU": para estoques marcados como quentes, retira uma cota de amount para leased
+ * e atende as reservas em memória, em contadores distribuídos entre threads, sem travar a linha do estoque.
+ * Cada reserva grava uma linha em hot_stock_consumptions na transação de quem reservou; o flush
+ * move a soma dessas linhas de leased para reserved a cada intervalo.
+ * <p>
+ * O saldo nunca fica negativo: a memória só entrega unidades já retiradas de amount.
+ * Se a aplicação cair, {@link #reconcile()} grava as reservas confirmadas e devolve para amount
+ * só o restante da cota. Pressupõe uma única instância.
+ */
+@Slf4j
+@Service
+public class HotStockCounter {
+
+    public enum Reservation { RESERVED, INSUFFICIENT, NOT_HOT }
+
+    private final ProductStockRepository productStockRepository;
+    private final HotStockConsumptionRepository consumptionRepository;
+    private final TransactionTemplate requiresNew;
+    private final long leaseSize;
+    private final int stripes;
+
+    private final Map<StockKey, Lease> leases = new ConcurrentHashMap<>();
+    // cotas desativadas que ainda têm reservas em andamento
+    private final Queue<Lease> retired = new ConcurrentLinkedQueue<>();
+
+    public HotStockCounter(ProductStockRepository productStockRepository,
+            HotStockConsumptionRepository consumptionRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.stock.hot-lease-size:100}") long leaseSize) {
+        this.productStockRepository = productStockRepository;
+        this.consumptionRepository = consumptionRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leaseSize = leaseSize;
+        this.stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Após uma queda da aplicação: grava em reserved as reservas confirmadas que o flush não alcançou
+     * e devolve para amount o restante das cotas que ficaram em leased.
+     */
+    public int reconcile() {
+        return requiresNew.execute(status -> {
+            for (HotStockConsumptionRepository.PendingConsumption pending : consumptionRepository.sumByStock()) {
+                settle(pending.getProductId(), pending.getWarehouseId(), pending.getQuantity());
+            }
+            consumptionRepository.deleteAllInBatch();
+            productStockRepository.recordLeasedChanges();
+            return productStockRepository.returnAllLeases();
+        });
+    }
+
+    public void enable(Long productId, Long warehouseId) {
+        leases.computeIfAbsent(new StockKey(productId, warehouseId), key -> new Lease(key, stripes));
+    }
+
+    /**
+     * Tira o estoque do modo quente: grava o consumo e devolve a cota restante para amount.
+     */
+    public void disable(Long productId, Long warehouseId) {
+        Lease lease = leases.remove(new StockKey(productId, warehouseId));
+        if (lease == null) return;
+        lease.closed = true;
+        if (!drain(lease)) retired.add(lease);
+    }
+
+    public boolean isHot(Long productId, Long warehouseId) {
+        return leases.containsKey(new StockKey(productId, warehouseId));
+    }
+
+    /**
+     * Reserva a quantidade na cota em memória e registra o consumo na transação atual.
+     * Se ela sofrer rollback, o registro some junto e as unidades voltam para a cota.
+     */
+    public Reservation tryReserve(Long productId, Long warehouseId, long quantity) {
+        Lease lease = leases.get(new StockKey(productId, warehouseId));
+        if (lease == null) return Reservation.NOT_HOT;
+
+        lease.inFlight.add(quantity);
+        Reservation result = lease.take(quantity) ? Reservation.RESERVED : refill(lease, quantity);
+        if (result != Reservation.RESERVED) {
+            lease.inFlight.add(-quantity);
+            return result;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                requiresNew.executeWithoutResult(status -> consumptionRepository.record(productId, warehouseId, quantity));
+                lease.settled(quantity, true);
+            } catch (RuntimeException e) {
+                lease.settled(quantity, false);
+                throw e;
+            }
+            return result;
+        }
+        try {
+            consumptionRepository.record(productId, warehouseId, quantity);
+        } catch (RuntimeException e) {
+            lease.settled(quantity, false);
+            throw e;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lease.settled(quantity, status == STATUS_COMMITTED);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Grava o consumo pendente de um estoque (usado antes de confirmar ou liberar reservas).
+     */
+    public void flush(Long productId, Long warehouseId) {
+        Lease lease = leases.get(new StockKey(productId, warehouseId));
+        if (lease != null) drain(lease);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.hot-flush-interval-ms:200}")
+    public void flush() {
+        leases.values().forEach(this::drain);
+        retired.removeIf(this::drain);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leases.keySet().forEach(key -> disable(key.productId(), key.warehouseId()));
+        retired.removeIf(this::drain);
+    }
+
+    // --------- métodos privados ---------
+
+    private Reservation refill(Lease lease, long quantity) {
+        synchronized (lease) {
+            if (lease.closed) return Reservation.NOT_HOT;
+            long pool = lease.drainStripes();
+            if (pool < quantity) {
+                long missing = quantity - pool;
+                long wanted = Math.max(leaseSize, missing);
+                if (leaseFromDatabase(lease.key, wanted)) {
+                    pool += wanted;
+                } else if (wanted > missing && leaseFromDatabase(lease.key, missing)) {
+                    pool += missing;
+                }
+            }
+            if (pool < quantity) {
+                lease.spread(pool);
+                return Reservation.INSUFFICIENT;
+            }
+            lease.spread(pool - quantity);
+            return Reservation.RESERVED;
+        }
+    }
+
+    private boolean leaseFromDatabase(StockKey key, long quantity) {
+        return requiresNew.execute(status -> {
+            if (productStockRepository.lease(key.productId(), key.warehouseId(), quantity) == 0) return false;
+            productStockRepository.recordChange(key.productId(), key.warehouseId());
+            return true;
+        });
+    }
+
+    /**
+     * Grava o consumo confirmado; se a cota foi desativada, devolve também o que sobrou.
+     * Retorna true quando não resta nada pendente.
+     */
+    private boolean drain(Lease lease) {
+        synchronized (lease) {
+            // lido antes de gravar: uma reserva confirmada depois disso ainda é somada neste drain
+            boolean idle = lease.closed && lease.inFlight.sum() == 0;
+            try {
+                requiresNew.executeWithoutResult(status -> {
+                    List<HotStockConsumption> consumed = consumptionRepository
+                            .findByProductIdAndWarehouseId(lease.key.productId(), lease.key.warehouseId());
+                    if (consumed.isEmpty()) return;
+                    settle(lease.key.productId(), lease.key.warehouseId(),
+                            consumed.stream().mapToLong(HotStockConsumption::getQuantity).sum());
+                    consumptionRepository.deleteAllByIdInBatch(consumed.stream().map(HotStockConsumption::getId).toList());
+                });
+                if (lease.closed) {
+                    long remaining = lease.drainStripes();
+                    if (remaining > 0) {
+                        requiresNew.executeWithoutResult(status -> {
+                            productStockRepository.returnLease(lease.key.productId(), lease.key.warehouseId(), remaining);
+                            productStockRepository.recordChange(lease.key.productId(), lease.key.warehouseId());
+                        });
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar a cota do estoque {}: {}", lease.key, e.getMessage());
+                return false;
+            }
+            return idle;
+        }
+    }
+
+    private void settle(Long productId, Long warehouseId, long quantity) {
+        if (productStockRepository.settleLease(productId, warehouseId, quantity) == 0) {
+            throw new IllegalStateException("Consumo maior que a cota do estoque " + productId + "/" + warehouseId);
+        }
+        productStockRepository.recordChange(productId, warehouseId);
+    }
+
+    private record StockKey(Long productId, Long warehouseId) {
+    }
+
+    private static final class Lease {
+
+        private final StockKey key;
+        // unidades disponíveis em memória; cada thread começa pela sua faixa
+        private final AtomicLong[] available;
+        // reservas ainda sem commit/rollback
+        private final LongAdder inFlight = new LongAdder();
+        private volatile boolean closed;
+
+        Lease(StockKey key, int stripes) {
+            this.key = key;
+            this.available = new AtomicLong[stripes];
+            for (int i = 0; i < stripes; i++) {
+                available[i] = new AtomicLong();
+            }
+        }
+
+        boolean take(long quantity) {
+            int start = (int) Thread.currentThread().threadId() & (available.length - 1);
+            for (int i = 0; i < available.length; i++) {
+                AtomicLong stripe = available[(start + i) & (available.length - 1)];
+                long current = stripe.get();
+                while (current >= quantity) {
+                    if (stripe.compareAndSet(current, current - quantity)) return true;
+                    current = stripe.get();
+                }
+            }
+            return false;
+        }
+
+        void settled(long quantity, boolean committed) {
+            // confirmada: o consumo já está em hot_stock_consumptions
+            if (!committed) {
+                available[0].addAndGet(quantity);
+            }
+            inFlight.add(-quantity);
+        }
+
+        long drainStripes() {
+            long total = 0;
+            for (AtomicLong stripe : available) {
+                total += stripe.getAndSet(0);
+            }
+            return total;
+        }
+
+        void spread(long quantity) {
+            long share = quantity / available.length;
+            for (AtomicLong stripe : available) {
+                stripe.addAndGet(share);
+            }
+            available[0].addAndGet(quantity - share * available.length);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.LanguageRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cache imutável da tabela languages (dado de referência semeado pelo Flyway).
+ * É carregado ao subir a aplicação e só muda via {@link #refresh()}.
+ */
+@Service
+@RequiredArgsConstructor
+public class LanguageRegistry {
+
+    private final LanguageRepository languageRepository;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Conteúdo do registro em um dado momento. Cada refresh gera uma nova instância,
+     * então quem guarda uma referência pode usá-la para detectar mudanças.
+     */
+    public record Snapshot(List<Language> languages, Map<String, Language> byIsoCode, Map<Long, Language> byId) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Recarrega todos os idiomas do banco e substitui o snapshot atual de forma atômica.
+     */
+    public synchronized Snapshot refresh() {
+        List<Language> languages = languageRepository.findAll().stream()
+                .sorted(Comparator.comparing(Language::getId))
+                .toList();
+
+        Map<String, Language> byIsoCode = new HashMap<>();
+        Map<Long, Language> byId = new HashMap<>();
+        for (Language language : languages) {
+            byIsoCode.put(normalize(language.getIsoCode()), language);
+            byId.put(language.getId(), language);
+        }
+
+        snapshot = new Snapshot(languages, Map.copyOf(byIsoCode), Map.copyOf(byId));
+        return snapshot;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    public List<Language> findAll() {
+        return getSnapshot().languages();
+    }
+
+    public Optional<Language> findByIsoCode(String isoCode) {
+        if (isoCode == null) return Optional.empty();
+        return Optional.ofNullable(getSnapshot().byIsoCode().get(normalize(isoCode)));
+    }
+
+    public Optional<Language> findById(Long id) {
+        if (id == null) return Optional.empty();
+        return Optional.ofNullable(getSnapshot().byId().get(id));
+    }
+
+    // iso_code é CHAR(4) com collation case-insensitive no MySQL
+    private static String normalize(String isoCode) {
+        return isoCode.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,108 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository.PriceView;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+
+/**
+ * Preço mínimo de venda por produto, em memória, para validar itens de pedido em lote
+ * sem consultar products a cada linha. Produtos ausentes são buscados com uma consulta IN;
+ * o {@link ProductService} descarta a entrada após o commit de cada alteração ou exclusão.
+ * <p>
+ * Uma leitura só guarda o preço se nenhum descarte do produto aconteceu desde antes da consulta
+ * (contador de gerações), senão um preço lido antes do commit voltaria ao cache depois do descarte.
+ * As entradas também expiram após o TTL.
+ */
+@Service
+public class MinimumPriceCache {
+
+    // potência de 2; produtos na mesma faixa só perdem uma gravação no cache, nunca guardam preço velho
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final ProductRepository productRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> prices = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public MinimumPriceCache(ProductRepository productRepository,
+            @Value("${app.minimum-price-cache.ttl:5m}") Duration ttl) {
+        this.productRepository = productRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Preço mínimo dos produtos informados (productId -> preço). Produtos inexistentes ou excluídos
+     * ficam fora do mapa e não são guardados, já que podem ser cadastrados depois.
+     */
+    public Map<Long, BigDecimal> getAll(Collection<Long> productIds) {
+        long now = System.nanoTime();
+        Map<Long, BigDecimal> result = new HashMap<>();
+        Map<Long, Long> missing = new HashMap<>();
+        for (Long productId : productIds) {
+            Entry entry = prices.get(productId);
+            if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                result.put(productId, entry.price());
+            } else {
+                // geração lida antes da consulta
+                missing.putIfAbsent(productId, generations.get(stripe(productId)));
+            }
+        }
+        for (PriceView view : BatchQueries.inChunks(missing.keySet(), productRepository::findPricesByIdIn)) {
+            long generation = missing.get(view.getId());
+            Entry loaded = new Entry(view.getMinimumSalePrice(), now);
+            prices.compute(view.getId(), (id, current) ->
+                    generations.get(stripe(id)) == generation ? loaded : current);
+            result.put(view.getId(), view.getMinimumSalePrice());
+        }
+        return result;
+    }
+
+    /**
+     * Descarta o preço do produto depois do commit da transação atual.
+     */
+    public void evict(Long productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discard(productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                discard(productId);
+            }
+        });
+    }
+
+    // --------- métodos privados ---------
+
+    // mesma trava da chave usada em getAll: o descarte não intercala entre a checagem e a gravação
+    private void discard(Long productId) {
+        prices.compute(productId, (id, current) -> {
+            generations.incrementAndGet(stripe(id));
+            return null;
+        });
+    }
+
+    private static int stripe(Long productId) {
+        return Long.hashCode(productId) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Entry(BigDecimal price, long loadedAt) {
+    }
+}
@@ -0,0 +1,257 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderIngestItemDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderLineRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderIngestResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderIngestResultDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrder;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrderLine;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Ingestão em lote de pedidos com itens (conector do marketplace).
+ * <p>
+ * O corpo é lido como stream, em blocos de {@link #CHUNK_SIZE} pedidos: cada bloco é validado
+ * contra os preços mínimos do {@link MinimumPriceCache} e o limite de crédito dos clientes
+ * ({@link CreditLimitService}) e gravado com INSERTs em lote na sua própria transação,
+ * junto com os eventos ORDER_CREATED do outbox. Um pedido inválido é recusado sozinho e
+ * aparece no resultado com os erros; os demais do bloco são gravados.
+ * <p>
+ * As anotações de validação dos DTOs só são avaliadas pelo {@link Validator} quando a checagem
+ * rápida encontra algum problema (o caso comum, pedido completo, não paga a validação reflexiva).
+ */
+@Service
+public class OrderIngestionService {
+
+    public static final int CHUNK_SIZE = 1_000;
+
+    private final OrderRepository orderRepository;
+    private final MinimumPriceCache minimumPriceCache;
+    private final OrderTotalsService orderTotalsService;
+    private final CreditLimitService creditLimitService;
+    private final OutboxService outboxService;
+    private final CustomerRepository customerRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader itemReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderIngestionService(OrderRepository orderRepository, MinimumPriceCache minimumPriceCache,
+            OrderTotalsService orderTotalsService, CreditLimitService creditLimitService, OutboxService outboxService,
+            CustomerRepository customerRepository, ObjectMapper objectMapper, Validator validator,
+            PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.minimumPriceCache = minimumPriceCache;
+        this.orderTotalsService = orderTotalsService;
+        this.creditLimitService = creditLimitService;
+        this.outboxService = outboxService;
+        this.customerRepository = customerRepository;
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(OrderIngestItemDTO.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Lê um array JSON de pedidos. Se o JSON estiver malformado no meio do stream, os blocos
+     * anteriores já estão gravados e a mensagem de erro informa quantos pedidos foram processados.
+     */
+    public OrderIngestResponseDTO ingest(InputStream body) {
+        List<OrderIngestResultDTO> results = new ArrayList<>();
+        List<Parsed> chunk = new ArrayList<>(CHUNK_SIZE);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BusinessRuleException("O corpo deve ser um array JSON de pedidos.");
+            }
+            JsonStreamContext array = parser.getParsingContext();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(parse(index++, parser, array));
+                if (chunk.size() == CHUNK_SIZE) {
+                    results.addAll(ingestChunk(chunk));
+                    chunk.clear();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new BusinessRuleException("Cada elemento do array deve ser um pedido (objeto JSON).");
+            }
+        } catch (JsonProcessingException e) {
+            throw new BusinessRuleException("JSON inválido após o pedido " + index + "; "
+                    + results.size() + " pedidos já foram processados: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(ingestChunk(chunk));
+        }
+
+        int created = (int) results.stream().filter(result -> result.getOrderId() != null).count();
+        return new OrderIngestResponseDTO(results.size(), created, results.size() - created, results);
+    }
+
+    // --------- métodos privados ---------
+
+    /**
+     * Pedido lido do stream; {@code item} é nulo quando o objeto não pôde ser convertido.
+     */
+    private record Parsed(int index, OrderIngestItemDTO item, List<String> errors) {
+    }
+
+    private Parsed parse(int index, JsonParser parser, JsonStreamContext array) throws IOException {
+        List<String> errors = new ArrayList<>();
+        OrderIngestItemDTO item;
+        try {
+            item = itemReader.readValue(parser);
+        } catch (DatabindException e) {
+            // erro de tipo dentro do pedido: descarta o resto do objeto e segue para o próximo
+            while (parser.currentToken() != JsonToken.END_OBJECT || parser.getParsingContext() != array) {
+                if (parser.nextToken() == null) throw e;
+            }
+            errors.add("Formato inválido: " + e.getOriginalMessage());
+            return new Parsed(index, null, errors);
+        }
+        if (!isComplete(item)) {
+            for (ConstraintViolation<OrderIngestItemDTO> violation : validator.validate(item)) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (errors.isEmpty()) {
+            if (item.getExpectedToDeliverAt().isBefore(item.getOrderedAt())) {
+                errors.add("A data de entrega esperada não pode ser anterior à data do pedido.");
+            }
+            if (!item.getOrderStatus().isInitial()) {
+                errors.add("Pedidos são criados com status " + OrderStatus.PENDING + ".");
+            }
+            Set<Long> products = new HashSet<>();
+            for (OrderLineRequestDTO line : item.getLines()) {
+                if (!products.add(line.getProductId())) {
+                    errors.add("Produto " + line.getProductId() + " repetido no pedido.");
+                }
+            }
+        }
+        return new Parsed(index, item, errors);
+    }
+
+    // mesmas regras das anotações de OrderIngestItemDTO e OrderLineRequestDTO
+    private static boolean isComplete(OrderIngestItemDTO item) {
+        if (item.getOrderMethod() == null || item.getOrderStatus() == null || item.getCustomerId() == null
+                || item.getOrderedAt() == null || item.getExpectedToDeliverAt() == null
+                || item.getLines() == null || item.getLines().isEmpty()) {
+            return false;
+        }
+        for (OrderLineRequestDTO line : item.getLines()) {
+            if (line == null || line.getProductId() == null || line.getAmount() == null || line.getAmount() <= 0
+                    || line.getSalePrice() == null || line.getSalePrice().signum() <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<OrderIngestResultDTO> ingestChunk(List<Parsed> chunk) {
+        Set<Long> customerIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (Parsed parsed : chunk) {
+            if (!parsed.errors().isEmpty()) continue;
+            customerIds.add(parsed.item().getCustomerId());
+            for (OrderLineRequestDTO line : parsed.item().getLines()) {
+                productIds.add(line.getProductId());
+            }
+        }
+
+        return transactionTemplate.execute(status -> {
+            Map<Long, BigDecimal> prices = minimumPriceCache.getAll(productIds);
+            Set<Long> customers = new HashSet<>(BatchQueries.inChunks(customerIds, customerRepository::findExistingIds));
+
+            List<Parsed> accepted = new ArrayList<>(chunk.size());
+            for (Parsed parsed : chunk) {
+                if (parsed.errors().isEmpty()) {
+                    checkReferences(parsed, customers, prices);
+                }
+                if (parsed.errors().isEmpty()) {
+                    checkCredit(parsed);
+                }
+                if (parsed.errors().isEmpty()) accepted.add(parsed);
+            }
+
+            List<NewOrder> orders = accepted.stream()
+                    .map(parsed -> new NewOrder(parsed.item().getOrderMethod(), parsed.item().getOrderStatus(),
+                            parsed.item().getCustomerId(), parsed.item().getOrderedAt(),
+                            parsed.item().getExpectedToDeliverAt()))
+                    .toList();
+            List<Long> ids = orderRepository.insertAll(orders);
+            Map<Integer, Long> idByIndex = new HashMap<>();
+            List<NewOrderLine> lines = new ArrayList<>();
+            for (int i = 0; i < accepted.size(); i++) {
+                long orderId = ids.get(i);
+                idByIndex.put(accepted.get(i).index(), orderId);
+                for (OrderLineRequestDTO line : accepted.get(i).item().getLines()) {
+                    lines.add(new NewOrderLine(orderId, line.getProductId(), line.getAmount(), line.getSalePrice()));
+                }
+            }
+            orderRepository.insertLines(lines);
+            orderTotalsService.linesInserted(lines);
+            outboxService.ordersCreated(ids, orders);
+
+            return chunk.stream()
+                    .map(parsed -> new OrderIngestResultDTO(parsed.index(), idByIndex.get(parsed.index()), parsed.errors()))
+                    .toList();
+        });
+    }
+
+    private void checkCredit(Parsed parsed) {
+        OrderIngestItemDTO item = parsed.item();
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderLineRequestDTO line : item.getLines()) {
+            total = total.add(line.getSalePrice().multiply(BigDecimal.valueOf(line.getAmount())));
+        }
+        if (!creditLimitService.tryReserve(item.getCustomerId(), total)) {
+            parsed.errors().add("Limite de crédito do cliente " + item.getCustomerId() + " excedido.");
+        }
+    }
+
+    private void checkReferences(Parsed parsed, Set<Long> customers, Map<Long, BigDecimal> prices) {
+        if (!customers.contains(parsed.item().getCustomerId())) {
+            parsed.errors().add("Cliente " + parsed.item().getCustomerId() + " não encontrado.");
+        }
+        for (OrderLineRequestDTO line : parsed.item().getLines()) {
+            BigDecimal minimum = prices.get(line.getProductId());
+            if (minimum == null) {
+                parsed.errors().add("Produto " + line.getProductId() + " não encontrado.");
+            } else if (line.getSalePrice().compareTo(minimum) < 0) {
+                parsed.errors().add("Preço de venda do produto " + line.getProductId()
+                        + " abaixo do mínimo (" + minimum + ").");
+            }
+        }
+    }
+}
@@ -1,24 +1,50 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductBatchRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct;
-import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProductId;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct.OrderProductId;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.InvalidOrderLinesException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderProductMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrderLine;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository.AllocationLine;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.OrderState;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.TotalDelta;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IOrderProduct;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -27,25 +53,119 @@ public class OrderProductService implements IOrderProduct {
 
     private final OrderProductRepository orderProductRepository;
     private final OrderRepository orderRepository;
+    private final OrderTotalRepository orderTotalRepository;
     private final ProductRepository productRepository;
     private final OrderProductMapper orderProductMapper;
+    private final KeysetCursorCodec cursorCodec;
+    private final MinimumPriceCache minimumPriceCache;
+    private final OrderTotalsService orderTotalsService;
+    private final CreditLimitService creditLimitService;
+
+    // A PK composta é a própria ordenação do cursor
+    private static final Sort PK_ORDER = Sort.by("orderId", "productId");
 
     @Override
     @Transactional
     public OrderProductResponseDTO createOrderProduct(OrderProductRequestDTO request) {
         Order order = findOrderByIdOrThrow(request.getOrderId());
+        requireOpen(List.of(order.getId()));
         Product product = findProductByIdOrThrow(request.getProductId());
+        checkSalePrice(product.getMinimumSalePrice(), request);
 
         OrderProduct orderProduct = new OrderProduct();
         orderProduct.setOrder(order);
         orderProduct.setProduct(product);
         orderProduct.setAmount(Long.valueOf(request.getAmount()));
         orderProduct.setSalePrice(BigDecimal.valueOf(request.getSalePrice()));
+        reserveCredit(order, lineTotal(order.getId(), orderProduct, 1).price());
 
         OrderProduct saved = orderProductRepository.save(orderProduct);
+        orderTotalsService.linesChanged(List.of(lineTotal(order.getId(), saved, 1)));
         return orderProductMapper.toResponseDTO(saved);
     }
 
+    /**
+     * Cria vários itens de uma vez. Pedidos, produtos e preços mínimos são conferidos em lote
+     * (preços pelo {@link MinimumPriceCache}) e os itens são gravados com INSERTs em lote.
+     * Se algum item for inválido, nada é gravado e os erros voltam por posição ("lines[i]").
+     * Só pedidos em aberto (nem DELIVERED nem CANCELED) aceitam itens novos.
+     */
+    @Override
+    @Transactional
+    public List<OrderProductResponseDTO> createOrderProducts(OrderProductBatchRequestDTO request) {
+        List<OrderProductRequestDTO> lines = request.getLines();
+        Set<Long> orderIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (OrderProductRequestDTO line : lines) {
+            orderIds.add(line.getOrderId());
+            productIds.add(line.getProductId());
+        }
+        Set<Long> orders = new HashSet<>(BatchQueries.inChunks(orderIds, orderRepository::findExistingIds));
+        Map<Long, OrderStatus> closed = new HashMap<>();
+        for (OrderState state : orderTotalRepository.lockOrderStates(orders)) {
+            if (!OrderTotalsService.isOpen(state.status())) closed.put(state.orderId(), state.status());
+        }
+        Map<Long, BigDecimal> minimumPrices = minimumPriceCache.getAll(productIds);
+        Set<LineKey> taken = new HashSet<>();
+        for (AllocationLine existing : BatchQueries.inChunks(orders, orderProductRepository::findAllocationLinesByOrderIdIn)) {
+            taken.add(new LineKey(existing.getOrderId(), existing.getProductId()));
+        }
+
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        List<NewOrderLine> rows = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            OrderProductRequestDTO line = lines.get(i);
+            List<String> lineErrors = new ArrayList<>();
+            if (!orders.contains(line.getOrderId())) {
+                lineErrors.add("Pedido " + line.getOrderId() + " não encontrado.");
+            } else if (closed.containsKey(line.getOrderId())) {
+                lineErrors.add(closedMessage(line.getOrderId(), closed.get(line.getOrderId())));
+            }
+            BigDecimal minimum = minimumPrices.get(line.getProductId());
+            if (minimum == null) {
+                lineErrors.add("Produto " + line.getProductId() + " não encontrado.");
+            } else if (BigDecimal.valueOf(line.getSalePrice()).compareTo(minimum) < 0) {
+                lineErrors.add(belowMinimumMessage(minimum));
+            }
+            if (!taken.add(new LineKey(line.getOrderId(), line.getProductId()))) {
+                lineErrors.add("O produto " + line.getProductId() + " já está no pedido " + line.getOrderId() + ".");
+            }
+            if (!lineErrors.isEmpty()) {
+                errors.put("lines[" + i + "]", lineErrors);
+            } else {
+                rows.add(new NewOrderLine(line.getOrderId(), line.getProductId(), line.getAmount(),
+                        BigDecimal.valueOf(line.getSalePrice())));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidOrderLinesException(errors);
+        }
+
+        // crédito reservado por cliente, em ordem de id, antes de gravar os itens
+        Map<Long, BigDecimal> increaseByOrder = new HashMap<>();
+        for (NewOrderLine row : rows) {
+            increaseByOrder.merge(row.orderId(), row.salePrice().multiply(BigDecimal.valueOf(row.amount())), BigDecimal::add);
+        }
+        TreeMap<Long, BigDecimal> increaseByCustomer = new TreeMap<>();
+        for (Order order : orderRepository.findAllById(increaseByOrder.keySet())) {
+            if (order.getCustomerId() != null && OrderTotalsService.isOpen(order.getOrderStatus())) {
+                increaseByCustomer.merge(order.getCustomerId(), increaseByOrder.get(order.getId()), BigDecimal::add);
+            }
+        }
+        increaseByCustomer.forEach(creditLimitService::reserve);
+
+        orderRepository.insertLines(rows);
+        orderTotalsService.linesInserted(rows);
+        return lines.stream().map(line -> {
+            OrderProductResponseDTO response = new OrderProductResponseDTO();
+            response.setOrderId(line.getOrderId());
+            response.setProductId(line.getProductId());
+            response.setAmount(line.getAmount());
+            response.setSalePrice(line.getSalePrice());
+            return response;
+        }).toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderProductResponseDTO findOrderProductById(Long orderId, Long productId) {
@@ -62,17 +182,45 @@ public class OrderProductService implements IOrderProduct {
         return page.map(orderProductMapper::toResponseDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public WindowResponseDTO<OrderProductResponseDTO> scrollOrderProducts(String after, int limit) {
+        KeysetScrollPosition position = cursorCodec.decode(after, PK_ORDER, property -> Long.class);
+        int size = KeysetCursorCodec.clampLimit(limit);
+
+        // busca uma linha a mais só para saber se existe próxima janela
+        List<OrderProduct> rows = position.isInitial()
+                ? orderProductRepository.findFirstWindow(Limit.of(size + 1))
+                : orderProductRepository.findWindowAfter((Long) position.getKeys().get("orderId"),
+                        (Long) position.getKeys().get("productId"), Limit.of(size + 1));
+
+        boolean hasNext = rows.size() > size;
+        List<OrderProduct> content = hasNext ? rows.subList(0, size) : rows;
+
+        Window<OrderProduct> window = Window.from(content, index -> ScrollPosition.forward(Map.of(
+                "orderId", content.get(index).getOrder().getId(),
+                "productId", content.get(index).getProduct().getId())), hasNext);
+        return cursorCodec.toResponse(window.map(orderProductMapper::toResponseDTO));
+    }
+
     @Override
     @Transactional
     public OrderProductResponseDTO updateOrderProduct(Long orderId, Long productId, OrderProductRequestDTO request) {
         OrderProductId id = new OrderProductId(orderId, productId);
         OrderProduct existing = orderProductRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(OrderProduct.class, id));
+        requireOpen(List.of(orderId));
+        checkSalePrice(minimumPriceCache.getAll(List.of(productId)).get(productId), request);
+        TotalDelta before = lineTotal(orderId, existing, -1);
+        BigDecimal increase = BigDecimal.valueOf(request.getSalePrice()).multiply(BigDecimal.valueOf(request.getAmount()))
+                .add(before.price());
+        reserveCredit(existing.getOrder(), increase);
 
         existing.setAmount(Long.valueOf(request.getAmount()));
         existing.setSalePrice(BigDecimal.valueOf(request.getSalePrice()));
 
         OrderProduct updated = orderProductRepository.save(existing);
+        orderTotalsService.linesChanged(List.of(before, lineTotal(orderId, updated, 1)));
         return orderProductMapper.toResponseDTO(updated);
     }
 
@@ -82,12 +230,54 @@ public class OrderProductService implements IOrderProduct {
         OrderProductId id = new OrderProductId(orderId, productId);
         OrderProduct existing = orderProductRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(OrderProduct.class, id));
+        requireOpen(List.of(orderId));
 
         orderProductRepository.delete(existing);
+        orderTotalsService.linesChanged(List.of(lineTotal(orderId, existing, -1)));
     }
 
     // --------- métodos privados ---------
 
+    private record LineKey(long orderId, long productId) {
+    }
+
+    // status lido com trava: uma troca de status concorrente espera a alteração dos itens (ou vice-versa)
+    private void requireOpen(Collection<Long> orderIds) {
+        for (OrderState state : orderTotalRepository.lockOrderStates(orderIds)) {
+            if (!OrderTotalsService.isOpen(state.status())) {
+                throw new BusinessRuleException(closedMessage(state.orderId(), state.status()));
+            }
+        }
+    }
+
+    private static String closedMessage(long orderId, OrderStatus status) {
+        return "O pedido " + orderId + " está " + status + "; só pedidos em aberto podem ter itens alterados.";
+    }
+
+    // só pedidos em aberto contam no saldo do cliente
+    private void reserveCredit(Order order, BigDecimal amount) {
+        if (order.getCustomerId() != null && OrderTotalsService.isOpen(order.getOrderStatus())) {
+            creditLimitService.reserve(order.getCustomerId(), amount);
+        }
+    }
+
+    // contribuição do item para os totais do pedido (sign = -1 para retirar)
+    private static TotalDelta lineTotal(Long orderId, OrderProduct line, int sign) {
+        return new TotalDelta(orderId, sign * line.getAmount(),
+                line.getSalePrice().multiply(BigDecimal.valueOf(sign * line.getAmount())));
+    }
+
+    // produto excluído (sem preço) não bloqueia a alteração de um item já existente
+    private static void checkSalePrice(BigDecimal minimum, OrderProductRequestDTO request) {
+        if (minimum != null && BigDecimal.valueOf(request.getSalePrice()).compareTo(minimum) < 0) {
+            throw new InvalidOrderLinesException(Map.of("salePrice", List.of(belowMinimumMessage(minimum))));
+        }
+    }
+
+    private static String belowMinimumMessage(BigDecimal minimum) {
+        return "O preço de venda deve ser maior ou igual ao preço mínimo do produto (" + minimum + ").";
+    }
+
     private Order findOrderByIdOrThrow(Long id) {
         return orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Order.class, id));
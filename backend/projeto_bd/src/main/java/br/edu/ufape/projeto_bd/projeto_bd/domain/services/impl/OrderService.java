@@ -1,17 +1,42 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderAggregateRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderLineRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAggregateResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderLineResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.InvalidOrderLinesException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrderLine;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IOrderService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -20,15 +45,80 @@ public class OrderService implements IOrderService {
 
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
+    private final KeysetCursorCodec cursorCodec;
+    private final OrderProductRepository orderProductRepository;
+    private final CustomerRepository customerRepository;
+    private final MinimumPriceCache minimumPriceCache;
+    private final OrderTotalsService orderTotalsService;
+    private final CreditLimitService creditLimitService;
+    private final OutboxService outboxService;
+
+    // mesma lista para a paginação por página e por cursor
+    private static final Set<String> SORTABLE = Set.of("id", "orderStatus", "orderMethod", "customerId", "orderedAt",
+            "exoectedToDeliverAt", "createdAt", "updatedAt", "totalUnits", "totalPrice");
 
     @Override
     @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
+        requireInitialStatus(request.getOrderStatus());
         Order order = orderMapper.toEntity(request);
         Order savedOrder = orderRepository.save(order);
+        outboxService.orderCreated(savedOrder.getId(), savedOrder.getCustomerId(), savedOrder.getOrderStatus());
         return orderMapper.toDTO(savedOrder);
     }
 
+    /**
+     * Cria o pedido e todos os itens na mesma transação: os itens são validados juntos
+     * (preços pelo {@link MinimumPriceCache}), o valor é reservado no crédito do cliente
+     * e os itens são gravados com INSERTs em lote. Nada é gravado se algum item for inválido.
+     */
+    @Override
+    @Transactional
+    public OrderAggregateResponseDTO createOrderAggregate(OrderAggregateRequestDTO request) {
+        requireInitialStatus(request.getOrderStatus());
+        if (!customerRepository.existsById(request.getCustomerId())) {
+            throw new EntityNotFoundException(Customer.class, request.getCustomerId());
+        }
+        List<OrderLineRequestDTO> lines = request.getLines();
+        Map<Long, BigDecimal> minimumPrices = minimumPriceCache.getAll(
+                lines.stream().map(OrderLineRequestDTO::getProductId).toList());
+
+        Map<String, List<String>> errors = new LinkedHashMap<>();
+        Set<Long> products = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            OrderLineRequestDTO line = lines.get(i);
+            List<String> lineErrors = new ArrayList<>();
+            BigDecimal minimum = minimumPrices.get(line.getProductId());
+            if (minimum == null) {
+                lineErrors.add("Produto " + line.getProductId() + " não encontrado.");
+            } else if (line.getSalePrice().compareTo(minimum) < 0) {
+                lineErrors.add("O preço de venda deve ser maior ou igual ao preço mínimo do produto (" + minimum + ").");
+            }
+            if (!products.add(line.getProductId())) {
+                lineErrors.add("Produto " + line.getProductId() + " repetido no pedido.");
+            }
+            if (!lineErrors.isEmpty()) errors.put("lines[" + i + "]", lineErrors);
+        }
+        if (!errors.isEmpty()) {
+            throw new InvalidOrderLinesException(errors);
+        }
+        creditLimitService.reserve(request.getCustomerId(), lines.stream()
+                .map(line -> line.getSalePrice().multiply(BigDecimal.valueOf(line.getAmount())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+
+        Order order = orderRepository.saveAndFlush(orderMapper.toEntity(request));
+        List<NewOrderLine> rows = lines.stream()
+                .map(line -> new NewOrderLine(order.getId(), line.getProductId(), line.getAmount(), line.getSalePrice()))
+                .toList();
+        orderRepository.insertLines(rows);
+        orderTotalsService.linesInserted(rows);
+        outboxService.orderCreated(order.getId(), order.getCustomerId(), order.getOrderStatus());
+
+        return toAggregate(order, lines.stream()
+                .map(line -> new OrderLineResponseDTO(line.getProductId(), line.getAmount(), line.getSalePrice(), null))
+                .toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public OrderResponseDTO findOrderById(Long id) {
@@ -37,19 +127,60 @@ public class OrderService implements IOrderService {
         return orderMapper.toDTO(order);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public OrderAggregateResponseDTO findOrderAggregateById(Long id) {
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Order.class, id));
+        return toAggregate(order, orderProductRepository.findLinesByOrderId(id).stream()
+                .map(line -> new OrderLineResponseDTO(line.getProductId(), line.getAmount(), line.getSalePrice(), null))
+                .toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponseDTO> findAllOrders(Pageable pageable) {
+        KeysetCursorCodec.requireSortable(pageable.getSort(), SORTABLE);
         Page<Order> orderPage = orderRepository.findAll(pageable);
         return orderPage.map(orderMapper::toDTO);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public WindowResponseDTO<OrderResponseDTO> scrollOrders(String after, int limit, Sort sort) {
+        KeysetCursorCodec.requireSortable(sort, SORTABLE);
+        Sort stableSort = KeysetCursorCodec.stableSort(sort);
+        KeysetScrollPosition position = cursorCodec.decode(after, Order.class, stableSort);
+
+        Window<Order> window = orderRepository.findBy(Specification.<Order>unrestricted(), query -> query
+                .sortBy(stableSort)
+                .limit(KeysetCursorCodec.clampLimit(limit))
+                .scroll(position));
+        return cursorCodec.toResponse(window.map(orderMapper::toDTO));
+    }
+
+    /**
+     * Atualiza o pedido; a troca de status segue {@link OrderStatus#canMoveTo} e gera um evento no outbox.
+     */
     @Override
     @Transactional
     public OrderResponseDTO updateOrder(Long id, OrderRequestDTO request) {
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Order.class, id));
+        OrderStatus from = existingOrder.getOrderStatus();
+        OrderStatus to = request.getOrderStatus();
+        if (from != to && !from.canMoveTo(to)) {
+            throw new BusinessRuleException("O pedido " + id + " não pode passar de " + from + " para " + to + ".");
+        }
 
+        orderTotalsService.orderChanged(id, existingOrder.getCustomerId(), from, request.getCustomerId(), to);
+        if (from != to) {
+            // o status lido acima pode ter mudado; a troca só vale a partir dele
+            if (orderRepository.compareAndSetStatus(id, from, to) == 0) {
+                throw new BusinessRuleException("O status do pedido " + id + " foi alterado por outra operação.");
+            }
+            outboxService.orderStatusChanged(id, request.getCustomerId(), from, to);
+        }
         orderMapper.updateOrderFromDto(request, existingOrder);
         Order updatedOrder = orderRepository.save(existingOrder);
 
@@ -61,6 +192,32 @@ public class OrderService implements IOrderService {
     public void deleteOrder(Long id) {
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Order.class, id));
+        orderTotalsService.orderDeleted(id, existingOrder.getCustomerId(), existingOrder.getOrderStatus());
+        outboxService.orderDeleted(id, existingOrder.getCustomerId(), existingOrder.getOrderStatus());
         orderRepository.delete(existingOrder);
     }
+
+    // --------- métodos privados ---------
+
+    private static void requireInitialStatus(OrderStatus status) {
+        if (status != null && !status.isInitial()) {
+            throw new BusinessRuleException("Pedidos são criados com status " + OrderStatus.PENDING
+                    + "; " + status + " só é alcançado por atualização.");
+        }
+    }
+
+    private OrderAggregateResponseDTO toAggregate(Order order, List<OrderLineResponseDTO> lines) {
+        long totalUnits = 0;
+        BigDecimal totalPrice = BigDecimal.ZERO;
+        for (OrderLineResponseDTO line : lines) {
+            line.setTotal(line.getSalePrice().multiply(BigDecimal.valueOf(line.getAmount())));
+            totalUnits += line.getAmount();
+            totalPrice = totalPrice.add(line.getTotal());
+        }
+        OrderAggregateResponseDTO response = orderMapper.toAggregateDTO(order);
+        response.setLines(lines);
+        response.setTotalUnits(totalUnits);
+        response.setTotalPrice(totalPrice);
+        return response;
+    }
 }
@@ -0,0 +1,224 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderTotalsCheckResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrderLine;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.BalanceDelta;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.ComputedTotal;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.OrderState;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderTotalsBatchRepository.TotalDelta;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém order_totals (unidades e valor de cada pedido) e customer_balances (saldo em aberto
+ * de cada cliente) de forma incremental, na mesma transação que altera itens ou pedidos.
+ * <p>
+ * Travas sempre na mesma ordem (totais do pedido, pedido, saldo do cliente; ids crescentes),
+ * para que alterações concorrentes de itens e de status não se percam nem entrem em deadlock.
+ * {@link #checkConsistency(boolean)} recalcula tudo do zero, em paralelo por faixa de ids, e corrige as diferenças.
+ */
+@Slf4j
+@Service
+public class OrderTotalsService {
+
+    private static final long IDS_PER_RANGE = 50_000;
+
+    private final OrderTotalRepository orderTotalRepository;
+    private final CreditLimitService creditLimitService;
+    private final TransactionTemplate transactionTemplate;
+    private final int checkThreads;
+
+    public OrderTotalsService(OrderTotalRepository orderTotalRepository, CreditLimitService creditLimitService,
+            PlatformTransactionManager transactionManager, @Value("${app.order-totals.check-threads:4}") int checkThreads) {
+        this.orderTotalRepository = orderTotalRepository;
+        this.creditLimitService = creditLimitService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkThreads = Math.max(1, checkThreads);
+    }
+
+    public static boolean isOpen(OrderStatus status) {
+        return status != OrderStatus.DELIVERED && status != OrderStatus.CANCELED;
+    }
+
+    public void linesInserted(List<NewOrderLine> lines) {
+        linesChanged(lines.stream()
+                .map(line -> new TotalDelta(line.orderId(), line.amount(),
+                        line.salePrice().multiply(BigDecimal.valueOf(line.amount()))))
+                .toList());
+    }
+
+    /**
+     * Aplica a variação de unidades e valor dos itens aos pedidos e aos saldos dos clientes
+     * dos pedidos em aberto. Os deltas podem repetir o pedido; são somados antes de gravar.
+     */
+    @Transactional
+    public void linesChanged(List<TotalDelta> deltas) {
+        TreeMap<Long, TotalDelta> byOrder = new TreeMap<>();
+        for (TotalDelta delta : deltas) {
+            byOrder.merge(delta.orderId(), delta, (a, b) ->
+                    new TotalDelta(a.orderId(), a.units() + b.units(), a.price().add(b.price())));
+        }
+        if (byOrder.isEmpty()) return;
+        orderTotalRepository.addToOrderTotals(new ArrayList<>(byOrder.values()));
+
+        // status lido com trava: uma mudança de status concorrente espera esta transação (ou vice-versa)
+        TreeMap<Long, BigDecimal> byCustomer = new TreeMap<>();
+        for (OrderState order : orderTotalRepository.lockOrderStates(byOrder.keySet())) {
+            if (order.customerId() != null && isOpen(order.status())) {
+                byCustomer.merge(order.customerId(), byOrder.get(order.orderId()).price(), BigDecimal::add);
+            }
+        }
+        addToBalances(byCustomer.entrySet().stream()
+                .filter(entry -> entry.getValue().signum() != 0)
+                .map(entry -> new BalanceDelta(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    /**
+     * Move o total do pedido entre saldos quando o cliente muda ou o pedido abre/fecha.
+     * Deve ser chamado antes de gravar o pedido alterado.
+     */
+    @Transactional
+    public void orderChanged(Long orderId, Long oldCustomerId, OrderStatus oldStatus, Long newCustomerId, OrderStatus newStatus) {
+        Long counted = oldCustomerId != null && isOpen(oldStatus) ? oldCustomerId : null;
+        Long counts = newCustomerId != null && isOpen(newStatus) ? newCustomerId : null;
+        if (Objects.equals(counted, counts)) return;
+
+        BigDecimal total = orderTotalRepository.lockTotalPrice(orderId);
+        if (total.signum() == 0) return;
+        TreeMap<Long, BigDecimal> byCustomer = new TreeMap<>();
+        if (counted != null) byCustomer.merge(counted, total.negate(), BigDecimal::add);
+        if (counts != null) byCustomer.merge(counts, total, BigDecimal::add);
+        addToBalances(byCustomer.entrySet().stream()
+                .map(entry -> new BalanceDelta(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    /**
+     * Tira o pedido do saldo do cliente e apaga os totais; chamado antes de excluir o pedido.
+     */
+    @Transactional
+    public void orderDeleted(Long orderId, Long customerId, OrderStatus status) {
+        orderChanged(orderId, customerId, status, null, status);
+        orderTotalRepository.deleteById(orderId);
+    }
+
+    /**
+     * Recalcula os totais de todos os pedidos a partir de orders_products, em paralelo por faixa de ids
+     * ({@code app.order-totals.check-threads} conexões), e compara com o que está gravado.
+     * Com {@code repair}, as linhas divergentes são recalculadas de novo sob trava e sobrescritas,
+     * então escritas concorrentes durante a checagem não são perdidas.
+     */
+    public OrderTotalsCheckResponseDTO checkConsistency(boolean repair) {
+        long start = System.nanoTime();
+        long[] range = orderTotalRepository.findOrderIdRange();
+        List<RangeCheck> checks = new ArrayList<>();
+        if (range != null) {
+            try (ExecutorService executor = Executors.newFixedThreadPool(checkThreads)) {
+                List<Future<RangeCheck>> futures = new ArrayList<>();
+                for (long from = range[0]; from <= range[1]; from += IDS_PER_RANGE) {
+                    long to = Math.min(range[1], from + IDS_PER_RANGE - 1);
+                    long fromId = from;
+                    futures.add(executor.submit(() -> checkRange(fromId, to)));
+                }
+                for (Future<RangeCheck> future : futures) {
+                    checks.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Checagem de totais interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha na checagem de totais", e.getCause());
+            }
+        }
+
+        long ordersChecked = 0;
+        Set<Long> orderMismatches = new TreeSet<>();
+        Map<Long, BigDecimal> expectedBalances = new HashMap<>();
+        for (RangeCheck check : checks) {
+            ordersChecked += check.orders();
+            orderMismatches.addAll(check.mismatches());
+            check.balances().forEach((customerId, balance) -> expectedBalances.merge(customerId, balance, BigDecimal::add));
+        }
+        Map<Long, BigDecimal> storedBalances = orderTotalRepository.findStoredBalances();
+        Set<Long> customers = new HashSet<>(expectedBalances.keySet());
+        customers.addAll(storedBalances.keySet());
+        Set<Long> customerMismatches = new TreeSet<>();
+        for (Long customerId : customers) {
+            BigDecimal expected = expectedBalances.getOrDefault(customerId, BigDecimal.ZERO);
+            if (expected.compareTo(storedBalances.getOrDefault(customerId, BigDecimal.ZERO)) != 0) {
+                customerMismatches.add(customerId);
+            }
+        }
+
+        boolean repaired = repair && (!orderMismatches.isEmpty() || !customerMismatches.isEmpty());
+        if (repaired) {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderTotalRepository.setOrderTotals(orderTotalRepository.lockAndComputeTotals(orderMismatches));
+                orderTotalRepository.setCustomerBalances(orderTotalRepository.lockAndComputeBalances(customerMismatches));
+                customerMismatches.forEach(creditLimitService::invalidate);
+            });
+        }
+        if (!orderMismatches.isEmpty() || !customerMismatches.isEmpty()) {
+            log.warn("Totais divergentes: {} pedidos, {} clientes (corrigidos: {})",
+                    orderMismatches.size(), customerMismatches.size(), repaired);
+        }
+        return new OrderTotalsCheckResponseDTO(ordersChecked, orderMismatches.size(), customers.size(),
+                customerMismatches.size(), repaired, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // --------- métodos privados ---------
+
+    // a exposição em memória do CreditLimitService é recarregada após o commit
+    private void addToBalances(List<BalanceDelta> deltas) {
+        orderTotalRepository.addToCustomerBalances(deltas);
+        deltas.forEach(delta -> creditLimitService.invalidate(delta.customerId()));
+    }
+
+    /**
+     * Resultado de uma faixa: pedidos lidos, pedidos divergentes e saldo em aberto esperado por cliente.
+     */
+    private record RangeCheck(int orders, List<Long> mismatches, Map<Long, BigDecimal> balances) {
+    }
+
+    private RangeCheck checkRange(long fromId, long toId) {
+        List<ComputedTotal> computed = orderTotalRepository.computeTotals(fromId, toId);
+        Map<Long, TotalDelta> stored = orderTotalRepository.findStoredTotals(fromId, toId);
+        List<Long> mismatches = new ArrayList<>();
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        for (ComputedTotal total : computed) {
+            TotalDelta current = stored.get(total.orderId());
+            long units = current == null ? 0 : current.units();
+            BigDecimal price = current == null ? BigDecimal.ZERO : current.price();
+            if (units != total.units() || price.compareTo(total.price()) != 0) {
+                mismatches.add(total.orderId());
+            }
+            if (total.customerId() != null && isOpen(total.status())) {
+                balances.merge(total.customerId(), total.price(), BigDecimal::add);
+            }
+        }
+        return new RangeCheck(computed.size(), mismatches, balances);
+    }
+}
@@ -0,0 +1,138 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.events.OutboxEventBatch;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica os eventos pendentes do outbox em lotes de {@code app.outbox.batch-size}, em ordem de id,
+ * como {@link OutboxEventBatch} para os listeners da aplicação. O lote é lido com trava e marcado como
+ * publicado na mesma transação em que os listeners rodam: se algum falhar, nada é marcado e o lote
+ * é reenviado um evento por vez, para isolar o que falhou. Esse evento conta uma tentativa e o ciclo para nele
+ * (a ordem se mantém); após {@code app.outbox.max-attempts} tentativas ele é descartado e os seguintes andam.
+ * Ao publicar ou descartar, cada evento recebe o próximo {@code seq}, o cursor do feed de mudanças: a mudança
+ * de linha de um evento descartado continua no feed, sem buraco na sequência.
+ * Eventos publicados ou descartados há mais de {@code app.outbox.retention-hours} são apagados.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retentionHours;
+    private final int maxAttempts;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.outbox.batch-size:500}") int batchSize,
+            @Value("${app.outbox.retention-hours:168}") long retentionHours,
+            @Value("${app.outbox.max-attempts:5}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.retentionHours = retentionHours;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.relay-interval-ms:500}",
+            fixedDelayString = "${app.outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            boolean fullBatch = true;
+            while (fullBatch) {
+                // lote cheio: provavelmente há mais pendentes, segue sem esperar o próximo ciclo
+                fullBatch = publishBatch() == batchSize;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar eventos do outbox; o lote será reenviado no próximo ciclo", e);
+        }
+    }
+
+    /**
+     * Publica o próximo lote de eventos pendentes e devolve quantos foram publicados.
+     * Se o lote falhar, reenvia um evento por vez até o primeiro que falhar.
+     */
+    public int publishBatch() {
+        try {
+            return publish(batchSize, new ArrayList<>());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar lote do outbox; reenviando um evento por vez", e);
+            return publishOneByOne();
+        }
+    }
+
+    private int publishOneByOne() {
+        int published = 0;
+        boolean pending = true;
+        while (pending && published < batchSize) {
+            List<Long> attempted = new ArrayList<>(1);
+            try {
+                int count = publish(1, attempted);
+                published += count;
+                pending = count > 0;
+            } catch (RuntimeException e) {
+                attempted.forEach(id -> recordFailure(id, e));
+                pending = false;
+            }
+        }
+        return published;
+    }
+
+    private void recordFailure(Long id, RuntimeException cause) {
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEventRepository.recordFailure(id, maxAttempts, LocalDateTime.now());
+            outboxEventRepository.assignDeadLetteredSeq(id, outboxEventRepository.findMaxSeq() + 1);
+        });
+        OutboxEvent event = outboxEventRepository.findById(id).orElse(null);
+        if (event != null && event.getDeadLetteredAt() != null) {
+            log.error("Evento {} do outbox descartado após {} tentativas", id, event.getAttempts(), cause);
+        } else {
+            log.warn("Evento {} do outbox falhou; será reenviado no próximo ciclo", id, cause);
+        }
+    }
+
+    // ids recebe os eventos lidos antes de chamar os listeners, para quem chamou saber qual lote falhou
+    private int publish(int limit, List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findByPublishedAtIsNullAndDeadLetteredAtIsNullOrderByIdAsc(
+                    Limit.of(limit));
+            if (events.isEmpty()) return 0;
+            events.forEach(event -> ids.add(event.getId()));
+            // a sequência continua do último lote publicado, então nunca fica atrás de um cursor já entregue
+            long seq = outboxEventRepository.findMaxSeq() + 1;
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < events.size(); i++) {
+                events.get(i).setSeq(seq + i);
+                events.get(i).setPublishedAt(now);
+            }
+            eventPublisher.publishEvent(new OutboxEventBatch(events));
+            outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), seq, now);
+            return events.size();
+        });
+    }
+
+    @Scheduled(initialDelayString = "${app.outbox.cleanup-interval-ms:3600000}",
+            fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void purge() {
+        int deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(
+                LocalDateTime.now().minusHours(retentionHours), outboxEventRepository.findMaxSeq()));
+        if (deleted > 0) log.info("{} eventos publicados removidos do outbox", deleted);
+    }
+}
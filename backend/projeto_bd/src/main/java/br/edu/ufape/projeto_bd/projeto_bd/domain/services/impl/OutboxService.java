@@ -0,0 +1,80 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OutboxEventType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrder;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxBatchRepository.NewOutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Grava os eventos de pedido no outbox dentro da transação de quem chama: o evento existe
+ * se e somente se a alteração for confirmada. A publicação fica com o {@link OutboxRelay}.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String ORDER = "ORDER";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Conteúdo (payload) dos eventos de pedido: {@code from} é nulo na criação e {@code to} na exclusão.
+     */
+    public record OrderEventPayload(Long orderId, Long customerId, OrderStatus from, OrderStatus to) {
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Long orderId, Long customerId, OrderStatus status) {
+        outboxEventRepository.appendAll(List.of(
+                orderEvent(OutboxEventType.ORDER_CREATED, new OrderEventPayload(orderId, customerId, null, status))));
+    }
+
+    /**
+     * Versão em lote de {@link #orderCreated}; {@code orderIds} na mesma ordem de {@code orders}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersCreated(List<Long> orderIds, List<NewOrder> orders) {
+        List<NewOutboxEvent> events = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            NewOrder order = orders.get(i);
+            events.add(orderEvent(OutboxEventType.ORDER_CREATED,
+                    new OrderEventPayload(orderIds.get(i), order.customerId(), null, order.orderStatus())));
+        }
+        outboxEventRepository.appendAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderStatusChanged(Long orderId, Long customerId, OrderStatus from, OrderStatus to) {
+        outboxEventRepository.appendAll(List.of(
+                orderEvent(OutboxEventType.ORDER_STATUS_CHANGED, new OrderEventPayload(orderId, customerId, from, to))));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderDeleted(Long orderId, Long customerId, OrderStatus status) {
+        outboxEventRepository.appendAll(List.of(
+                orderEvent(OutboxEventType.ORDER_DELETED, new OrderEventPayload(orderId, customerId, status, null))));
+    }
+
+    // --------- métodos privados ---------
+
+    private NewOutboxEvent orderEvent(OutboxEventType type, OrderEventPayload payload) {
+        try {
+            return new NewOutboxEvent(ORDER, payload.orderId(), type, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento " + type, e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -9,36 +11,54 @@ import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import br.edu.ufape.projeto_bd.projeto_bd.config.ResponseCacheConfig;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSearchHitDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSuggestionDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Category;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslation;
-import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslationId;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapper;
-import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.LanguageRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationBatchRepository.TranslationValues;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository.RankedProduct;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CategoryRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.IProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService implements IProductService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
-    private final LanguageRepository languageRepository;
     private final ProductTranslationRepository productTranslationRepository;
+    private final LanguageRegistry languageRegistry;
+    private final KeysetCursorCodec cursorCodec;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final MinimumPriceCache minimumPriceCache;
 
     @Override
     @Transactional
@@ -57,6 +77,7 @@ public class ProductService implements IProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(ResponseCacheConfig.PRODUCTS)
     public ProductResponseDTO findProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Product.class, id));
@@ -74,7 +95,68 @@ public class ProductService implements IProductService {
             Specification<Product> spec = buildSearchSpecification(term);
             productPage = productRepository.findAll(spec, pageable);
         }
-        return productPage.map(this::buildResponseWithTranslations);
+        List<ProductResponseDTO> content = buildResponsesWithTranslations(productPage.getContent());
+        return new PageImpl<>(content, productPage.getPageable(), productPage.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WindowResponseDTO<ProductResponseDTO> scrollProducts(String after, int limit, Sort sort, String search) {
+        Sort stableSort = KeysetCursorCodec.stableSort(sort);
+        KeysetScrollPosition position = cursorCodec.decode(after, Product.class, stableSort);
+        Specification<Product> spec = (search == null || search.trim().isEmpty())
+                ? Specification.unrestricted()
+                : buildSearchSpecification(search.trim());
+
+        Window<Product> window = productRepository.findBy(spec, query -> query
+                .sortBy(stableSort)
+                .limit(KeysetCursorCodec.clampLimit(limit))
+                .scroll(position));
+
+        List<ProductResponseDTO> content = buildResponsesWithTranslations(window.getContent());
+        return cursorCodec.toResponse(Window.from(content, window::positionAt, window.hasNext()));
+    }
+
+    /**
+     * Busca textual por nome/descrição nas traduções, ordenada por relevância.
+     * @param isoCode Idioma opcional para restringir a busca.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductSearchHitDTO> searchProducts(String query, String isoCode, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BusinessRuleException("Informe o termo de busca.");
+        }
+        Long languageId = null;
+        if (isoCode != null && !isoCode.isBlank()) {
+            languageId = languageRegistry.findByIsoCode(isoCode)
+                    .orElseThrow(() -> new EntityNotFoundException(Language.class, "ISO", isoCode))
+                    .getId();
+        }
+
+        List<RankedProduct> ranked = productTranslationRepository.searchByText(query.trim(), languageId,
+                Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        if (ranked.isEmpty()) return List.of();
+
+        List<Long> ids = ranked.stream().map(RankedProduct::getProductId).toList();
+        Map<Long, ProductResponseDTO> byId = buildResponsesWithTranslations(productRepository.findAllById(ids))
+                .stream()
+                .collect(Collectors.toMap(ProductResponseDTO::getId, dto -> dto));
+
+        return ranked.stream()
+                .filter(hit -> byId.containsKey(hit.getProductId()))
+                .map(hit -> new ProductSearchHitDTO(hit.getScore(), byId.get(hit.getProductId())))
+                .toList();
+    }
+
+    /**
+     * Autocomplete de nomes a partir do índice em memória, sem consultar o banco.
+     */
+    @Override
+    public List<ProductSuggestionDTO> suggestProducts(String query, String isoCode, int limit) {
+        Language language = languageRegistry.findByIsoCode(isoCode)
+                .orElseThrow(() -> new EntityNotFoundException(Language.class, "ISO", isoCode));
+        return productSuggestIndex.suggest(language.getId(), query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
     }
 
     private Specification<Product> buildSearchSpecification(String term) {
@@ -106,17 +188,18 @@ public class ProductService implements IProductService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ResponseCacheConfig.PRODUCTS, key = "#id")
     public ProductResponseDTO updateProduct(Long id, ProductRequestDTO request) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Product.class, id));
 
         productMapper.updateProductFromDto(request, existingProduct);
+        // categorias e traduções ficam em outras tabelas: sem isso o updated_at (ETag) não mudaria
+        existingProduct.setUpdatedAt(LocalDateTime.now());
         Product updatedProduct = productRepository.save(existingProduct);
+        minimumPriceCache.evict(id);
 
-        // Delete all translations and recreate (ensures clean state and avoids PK conflicts)
-        productTranslationRepository.deleteByProductId(updatedProduct.getId());
-        // Ensure deletes hit the DB before inserts in the same transaction
-        productTranslationRepository.flush();
+        // Merge translations: only changed languages are written
         upsertTranslations(updatedProduct, request.getNames(), request.getDescriptions());
 
         // Replace categories (accepts either categoryIds or categoriesIds from request)
@@ -127,37 +210,77 @@ public class ProductService implements IProductService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ResponseCacheConfig.PRODUCTS, key = "#id")
     public void deleteProduct(Long id) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Product.class, id));
         productTranslationRepository.deleteByProductId(id);
         productRepository.delete(existingProduct);
+        productSuggestIndex.removeProduct(id);
+        minimumPriceCache.evict(id);
     }
 
+    /**
+     * Sincroniza as traduções do produto com os mapas recebidos (ISO -> valor).
+     * Se nenhum dos mapas vier na requisição, as traduções armazenadas ficam intactas;
+     * caso contrário, o conjunto de idiomas recebido substitui o armazenado.
+     */
     private void upsertTranslations(Product product, Map<String, String> names, Map<String, String> descriptions) {
         if (names == null && descriptions == null) return;
         Map<String, String> n = names != null ? names : new HashMap<>();
         Map<String, String> d = descriptions != null ? descriptions : new HashMap<>();
         var keys = new java.util.HashSet<>(n.keySet());
         keys.addAll(d.keySet());
+        Map<Long, TranslationValues> desired = new HashMap<>();
         for (String iso : keys) {
             String name = n.getOrDefault(iso, null);
             String desc = d.getOrDefault(iso, null);
-            Language lang = languageRepository.findByIsoCode(iso)
+            // o merge via JDBC não passa pela validação da entidade (@NotBlank/@Size em ProductTranslation.name)
+            if (name == null || name.isBlank()) {
+                throw new BusinessRuleException("O nome não pode estar em branco (idioma " + iso + ").");
+            }
+            if (name.length() > 100) {
+                throw new BusinessRuleException("O nome não pode ultrapassar 100 caracteres (idioma " + iso + ").");
+            }
+            Language lang = languageRegistry.findByIsoCode(iso)
                 .orElseThrow(() -> new IllegalArgumentException("Idioma não encontrado: " + iso));
-            ProductTranslation pt = new ProductTranslation();
-            pt.setId(new ProductTranslationId(product.getId(), lang.getId()));
-            pt.setProduct(product);
-            pt.setLanguage(lang);
-            pt.setName(name != null ? name : "");
-            pt.setDescription(desc);
-            productTranslationRepository.save(pt);
+            desired.put(lang.getId(), new TranslationValues(name, desc));
         }
+        productTranslationRepository.mergeTranslations(product.getId(), desired);
+
+        Map<Long, String> indexedNames = new HashMap<>();
+        desired.forEach((languageId, values) -> indexedNames.put(languageId, values.name()));
+        productSuggestIndex.replaceProduct(product.getId(), indexedNames);
     }
 
     private ProductResponseDTO buildResponseWithTranslations(Product product) {
+        List<ProductTranslation> trs = productTranslationRepository.findWithLanguageByProductIdIn(List.of(product.getId()));
+        return buildResponse(product, trs);
+    }
+
+    /**
+     * Monta os DTOs de uma página inteira com um número fixo de consultas:
+     * uma para as categorias (products_categories) e outra para as traduções com idioma,
+     * independente da quantidade de produtos na página.
+     */
+    private List<ProductResponseDTO> buildResponsesWithTranslations(List<Product> products) {
+        if (products.isEmpty()) return List.of();
+        List<Long> ids = products.stream().map(Product::getId).toList();
+
+        // Inicializa Product.categories de todos os produtos da página de uma vez
+        productRepository.findWithCategoriesByIdIn(ids);
+
+        Map<Long, List<ProductTranslation>> translationsByProduct = productTranslationRepository
+                .findWithLanguageByProductIdIn(ids).stream()
+                .collect(Collectors.groupingBy(t -> t.getId().getProductId()));
+
+        return products.stream()
+                .map(p -> buildResponse(p, translationsByProduct.getOrDefault(p.getId(), List.of())))
+                .toList();
+    }
+
+    private ProductResponseDTO buildResponse(Product product, List<ProductTranslation> trs) {
         ProductResponseDTO dto = productMapper.toResponseDTO(product);
-        List<ProductTranslation> trs = productTranslationRepository.findByProductId(product.getId());
         Map<String, String> names = new HashMap<>();
         Map<String, String> descriptions = new HashMap<>();
         for (ProductTranslation t : trs) {
@@ -175,14 +298,22 @@ public class ProductService implements IProductService {
         return dto;
     }
 
+    /**
+     * Resolve todas as categorias com uma única consulta (IN) e reporta de uma vez
+     * todos os IDs inexistentes.
+     */
     private Set<Category> findCategoriesByIds(Set<Long> categoryIds) {
         if (categoryIds == null || categoryIds.isEmpty()) {
             return Collections.emptySet();
         }
-        return categoryIds.stream()
-                .map(categoryId -> categoryRepository.findById(categoryId)
-                        .orElseThrow(() -> new EntityNotFoundException(Category.class, categoryId)))
-                .collect(Collectors.toSet());
+        List<Category> found = categoryRepository.findAllById(categoryIds);
+        if (found.size() != categoryIds.size()) {
+            Set<Long> foundIds = found.stream().map(Category::getId).collect(Collectors.toSet());
+            List<Long> missing = categoryIds.stream().filter(id -> !foundIds.contains(id)).sorted().toList();
+            throw new EntityNotFoundException(String.format("%s com ID(s) %s não foi(ram) encontrada(s).",
+                    Category.class.getSimpleName(), missing));
+        }
+        return new HashSet<>(found);
     }
 
     private Set<Long> coalesceCategoryIds(ProductRequestDTO request) {
@@ -194,10 +325,20 @@ public class ProductService implements IProductService {
         return new java.util.HashSet<>(list);
     }
 
+    /**
+     * Aplica as categorias como diferença de conjuntos sobre a coleção gerenciada,
+     * para que o Hibernate grave apenas as linhas de products_categories que mudaram.
+     * O produto já está gerenciado, então não é necessário um novo save.
+     */
     private void applyCategories(Product product, Set<Long> categoryIds) {
         if (categoryIds == null) return;
         Set<Category> categories = findCategoriesByIds(categoryIds);
-        product.setCategories(categories);
-        productRepository.save(product);
+        Set<Category> current = product.getCategories();
+        if (current == null) {
+            product.setCategories(categories);
+            return;
+        }
+        current.retainAll(categories);
+        current.addAll(categories);
     }
 }
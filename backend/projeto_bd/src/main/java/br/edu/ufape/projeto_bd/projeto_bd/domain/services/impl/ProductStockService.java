@@ -26,6 +26,7 @@ public class ProductStockService implements IProductStockService {
     private final ProductRepository productRepository;
     private final WarehouseRepository warehouseRepository;
     private final ProductStockMapper productStockMapper;
+    private final HotStockCounter hotStockCounter;
     
     @Override
     @Transactional
@@ -94,8 +95,69 @@ public class ProductStockService implements IProductStockService {
         productStockRepository.delete(productStock);
     }
 
+    /**
+     * Reserva estoque com um único UPDATE condicional (amount >= quantidade),
+     * sem ler o registro antes: pedidos concorrentes nunca perdem atualizações.
+     * Estoques em modo quente são atendidos pela cota em memória do {@link HotStockCounter}.
+     */
+    @Override
+    @Transactional
+    public void reserveStock(Long productId, Long warehouseId, long quantity) {
+        HotStockCounter.Reservation hot = hotStockCounter.tryReserve(productId, warehouseId, quantity);
+        if (hot == HotStockCounter.Reservation.RESERVED) return;
+
+        if (hot == HotStockCounter.Reservation.INSUFFICIENT
+                || productStockRepository.reserve(productId, warehouseId, quantity) == 0) {
+            throw stockMovementFailure(productId, warehouseId, "Estoque insuficiente para reservar " + quantity + " unidade(s).");
+        }
+        productStockRepository.recordChange(productId, warehouseId);
+    }
+
+    @Override
+    @Transactional
+    public void commitReservation(Long productId, Long warehouseId, long quantity) {
+        hotStockCounter.flush(productId, warehouseId);
+        if (productStockRepository.commitReservation(productId, warehouseId, quantity) == 0) {
+            throw stockMovementFailure(productId, warehouseId, "Não há " + quantity + " unidade(s) reservada(s) para confirmar.");
+        }
+        productStockRepository.recordChange(productId, warehouseId);
+    }
+
+    @Override
+    @Transactional
+    public void releaseReservation(Long productId, Long warehouseId, long quantity) {
+        hotStockCounter.flush(productId, warehouseId);
+        if (productStockRepository.releaseReservation(productId, warehouseId, quantity) == 0) {
+            throw stockMovementFailure(productId, warehouseId, "Não há " + quantity + " unidade(s) reservada(s) para liberar.");
+        }
+        productStockRepository.recordChange(productId, warehouseId);
+    }
+
+    @Override
+    public void enableHotStock(Long productId, Long warehouseId) {
+        if (!productStockRepository.existsByProductIdAndWarehouseId(productId, warehouseId)) {
+            throw new EntityNotFoundException(String.format(
+                    "ProductStock do produto %d no armazém %d não foi encontrado.", productId, warehouseId));
+        }
+        hotStockCounter.enable(productId, warehouseId);
+    }
+
+    @Override
+    public void disableHotStock(Long productId, Long warehouseId) {
+        hotStockCounter.disable(productId, warehouseId);
+    }
+
     // --------- métodos privados ---------
 
+    // só é consultado quando o UPDATE não afetou nenhuma linha
+    private RuntimeException stockMovementFailure(Long productId, Long warehouseId, String message) {
+        if (!productStockRepository.existsByProductIdAndWarehouseId(productId, warehouseId)) {
+            return new EntityNotFoundException(String.format(
+                    "ProductStock do produto %d no armazém %d não foi encontrado.", productId, warehouseId));
+        }
+        return new BusinessRuleException(message);
+    }
+
     private void validateStockUniqueness(Long productId, Long warehouseId) {
 
         if (productStockRepository.existsByProductIdAndWarehouseId(productId, warehouseId)) {
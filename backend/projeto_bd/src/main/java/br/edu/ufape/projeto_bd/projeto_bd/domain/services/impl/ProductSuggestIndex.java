@@ -0,0 +1,319 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSuggestionDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Índice em memória dos nomes de produto por idioma, para autocomplete.
+ * Cada palavra do nome (sem acentos, minúscula) aponta para os ids dos produtos que a contêm;
+ * a busca é por prefixo e, se faltarem resultados, tolera um erro de digitação no último termo.
+ * <p>
+ * É montado ao subir a aplicação e atualizado pelo {@link ProductService} após cada commit; as atualizações
+ * que chegam durante um {@link #rebuild()} são reaplicadas no índice novo antes da troca.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSuggestIndex {
+
+    // limita o trabalho por consulta, independente do tamanho do catálogo
+    private static final int MAX_CANDIDATES = 512;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final ProductTranslationRepository productTranslationRepository;
+
+    private volatile Map<Long, LanguageIndex> languages = new ConcurrentHashMap<>();
+
+    // guarda languages e replay: as atualizações não se intercalam com a troca do índice
+    private final Object updates = new Object();
+    // atualizações feitas enquanto um rebuild lê o banco; null fora do rebuild
+    private List<Consumer<Map<Long, LanguageIndex>>> replay;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Recarrega o índice inteiro a partir de products_translations e o troca de forma atômica.
+     */
+    public synchronized void rebuild() {
+        synchronized (updates) {
+            replay = new ArrayList<>();
+        }
+        try {
+            Map<Long, Map<Long, String>> namesByLanguage = new HashMap<>();
+            productTranslationRepository.forEachActiveName((productId, languageId, name) ->
+                    namesByLanguage.computeIfAbsent(languageId, id -> new HashMap<>()).put(productId, name));
+
+            Map<Long, LanguageIndex> rebuilt = new ConcurrentHashMap<>();
+            namesByLanguage.forEach((languageId, names) -> rebuilt.put(languageId, LanguageIndex.build(names)));
+            synchronized (updates) {
+                // reaplicar é seguro mesmo se a leitura já viu a atualização: put e remove são idempotentes
+                replay.forEach(update -> update.accept(rebuilt));
+                languages = rebuilt;
+            }
+        } finally {
+            synchronized (updates) {
+                replay = null;
+            }
+        }
+    }
+
+    /**
+     * Substitui os nomes indexados de um produto (languageId -> nome) após o commit da transação atual.
+     * Idiomas ausentes do mapa deixam de sugerir o produto.
+     */
+    public void replaceProduct(Long productId, Map<Long, String> namesByLanguage) {
+        Map<Long, String> names = Map.copyOf(namesByLanguage);
+        afterCommit(() -> apply(target -> {
+            target.forEach((languageId, index) -> {
+                if (!names.containsKey(languageId)) index.remove(productId);
+            });
+            names.forEach((languageId, name) ->
+                    target.computeIfAbsent(languageId, id -> new LanguageIndex()).put(productId, name));
+        }));
+    }
+
+    public void removeProduct(Long productId) {
+        afterCommit(() -> apply(target -> target.values().forEach(index -> index.remove(productId))));
+    }
+
+    public List<ProductSuggestionDTO> suggest(Long languageId, String query, int limit) {
+        LanguageIndex index = languages.get(languageId);
+        List<String> terms = tokenize(query);
+        if (index == null || terms.isEmpty() || limit <= 0) return List.of();
+        return index.suggest(terms, limit);
+    }
+
+    private void apply(Consumer<Map<Long, LanguageIndex>> update) {
+        synchronized (updates) {
+            update.accept(languages);
+            if (replay != null) replay.add(update);
+        }
+    }
+
+    // não indexa dados de uma transação que ainda pode sofrer rollback
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) return List.of();
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return List.copyOf(tokens);
+    }
+
+    /**
+     * Variações do termo a uma edição de distância (remoção, troca, inserção e transposição).
+     */
+    static Set<String> singleEdits(String term) {
+        Set<String> edits = new LinkedHashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            edits.add(term.substring(0, i) + term.substring(i + 1));
+            if (i + 1 < term.length()) {
+                edits.add(term.substring(0, i) + term.charAt(i + 1) + term.charAt(i) + term.substring(i + 2));
+            }
+            for (int c = 0; c < ALPHABET.length(); c++) {
+                edits.add(term.substring(0, i) + ALPHABET.charAt(c) + term.substring(i + 1));
+            }
+        }
+        for (int i = 0; i <= term.length(); i++) {
+            for (int c = 0; c < ALPHABET.length(); c++) {
+                edits.add(term.substring(0, i) + ALPHABET.charAt(c) + term.substring(i));
+            }
+        }
+        edits.remove(term);
+        return edits;
+    }
+
+    private record Candidate(long productId, String matchedToken, boolean fuzzy) {
+    }
+
+    /**
+     * Índice de um idioma. Leituras não bloqueiam; escritas são serializadas e trocam
+     * os arrays de ids (ordenados) por cópias, então um leitor nunca vê um array pela metade.
+     */
+    private static final class LanguageIndex {
+
+        private final ConcurrentHashMap<Long, String> names = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, long[]> postings = new ConcurrentSkipListMap<>();
+
+        static LanguageIndex build(Map<Long, String> names) {
+            Map<String, LongBuffer> buffers = new HashMap<>();
+            names.forEach((productId, name) -> {
+                for (String token : tokenize(name)) {
+                    buffers.computeIfAbsent(token, t -> new LongBuffer()).add(productId);
+                }
+            });
+            LanguageIndex index = new LanguageIndex();
+            index.names.putAll(names);
+            buffers.forEach((token, buffer) -> index.postings.put(token, buffer.toSortedArray()));
+            return index;
+        }
+
+        synchronized void put(long productId, String name) {
+            String previous = names.put(productId, name);
+            List<String> oldTokens = tokenize(previous);
+            List<String> newTokens = tokenize(name);
+            for (String token : oldTokens) {
+                if (!newTokens.contains(token)) removePosting(token, productId);
+            }
+            for (String token : newTokens) {
+                if (!oldTokens.contains(token)) addPosting(token, productId);
+            }
+        }
+
+        synchronized void remove(long productId) {
+            String previous = names.remove(productId);
+            for (String token : tokenize(previous)) {
+                removePosting(token, productId);
+            }
+        }
+
+        List<ProductSuggestionDTO> suggest(List<String> terms, int limit) {
+            String last = terms.get(terms.size() - 1);
+            List<String> others = terms.subList(0, terms.size() - 1);
+
+            // os demais termos filtram durante a varredura: o limite de candidatos vale só para quem casa com todos
+            Set<Long> allowed = others.isEmpty() ? null : matchingAll(others);
+            if (allowed != null && allowed.isEmpty()) return List.of();
+
+            Map<Long, Candidate> candidates = new LinkedHashMap<>();
+            collect(last, false, allowed, candidates);
+            if (candidates.size() < limit && last.length() >= MIN_FUZZY_LENGTH) {
+                for (String edit : singleEdits(last)) {
+                    if (candidates.size() >= MAX_CANDIDATES) break;
+                    collect(edit, true, allowed, candidates);
+                }
+            }
+
+            List<ProductSuggestionDTO> result = new ArrayList<>();
+            candidates.values().stream()
+                    .filter(candidate -> names.containsKey(candidate.productId()))
+                    .sorted(Comparator.comparing(Candidate::fuzzy)
+                            .thenComparingInt(candidate -> candidate.matchedToken().length())
+                            .thenComparingInt(candidate -> names.getOrDefault(candidate.productId(), "").length())
+                            .thenComparingLong(Candidate::productId))
+                    .limit(limit)
+                    .forEach(candidate -> {
+                        String name = names.get(candidate.productId());
+                        if (name != null) result.add(new ProductSuggestionDTO(candidate.productId(), name));
+                    });
+            return result;
+        }
+
+        private void collect(String prefix, boolean fuzzy, Set<Long> allowed, Map<Long, Candidate> candidates) {
+            for (Map.Entry<String, long[]> entry : range(prefix).entrySet()) {
+                for (long productId : entry.getValue()) {
+                    if (allowed != null && !allowed.contains(productId)) continue;
+                    candidates.putIfAbsent(productId, new Candidate(productId, entry.getKey(), fuzzy));
+                    if (candidates.size() >= MAX_CANDIDATES) return;
+                }
+            }
+        }
+
+        // interseção, entre os prefixos, dos produtos com alguma palavra começando por cada um
+        private Set<Long> matchingAll(List<String> prefixes) {
+            Set<Long> matching = null;
+            for (String prefix : prefixes) {
+                Set<Long> withPrefix = new HashSet<>();
+                for (long[] ids : range(prefix).values()) {
+                    for (long productId : ids) {
+                        if (matching == null || matching.contains(productId)) withPrefix.add(productId);
+                    }
+                }
+                matching = withPrefix;
+                if (matching.isEmpty()) break;
+            }
+            return matching;
+        }
+
+        private ConcurrentNavigableMap<String, long[]> range(String prefix) {
+            return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        private void addPosting(String token, long productId) {
+            postings.compute(token, (t, ids) -> {
+                if (ids == null) return new long[] { productId };
+                int position = Arrays.binarySearch(ids, productId);
+                if (position >= 0) return ids;
+                int insertAt = -position - 1;
+                long[] copy = new long[ids.length + 1];
+                System.arraycopy(ids, 0, copy, 0, insertAt);
+                copy[insertAt] = productId;
+                System.arraycopy(ids, insertAt, copy, insertAt + 1, ids.length - insertAt);
+                return copy;
+            });
+        }
+
+        private void removePosting(String token, long productId) {
+            postings.computeIfPresent(token, (t, ids) -> {
+                int position = Arrays.binarySearch(ids, productId);
+                if (position < 0) return ids;
+                if (ids.length == 1) return null;
+                long[] copy = new long[ids.length - 1];
+                System.arraycopy(ids, 0, copy, 0, position);
+                System.arraycopy(ids, position + 1, copy, position, ids.length - position - 1);
+                return copy;
+            });
+        }
+    }
+
+    private static final class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Versões dos recursos para GET condicional, lidas de updated_at sem carregar entidades nem montar DTOs.
+ * A versão de uma linha reúne o updated_at dela e o das linhas embutidas no DTO; a de uma listagem
+ * reúne o MAX(updated_at) de cada tabela envolvida, então vale para qualquer página, filtro ou ordenação
+ * da mesma URL. Exclusões lógicas também atualizam updated_at (ver @SQLDelete das entidades); nas tabelas
+ * com exclusão física a contagem de linhas entra no ETag.
+ * <p>
+ * O ETag usa updated_at em microssegundos (V38), para duas alterações no mesmo segundo não terem a mesma
+ * versão; o Last-Modified sai em segundos, como o HTTP exige, e só serve de validador fraco.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionService {
+
+    public enum Resource {
+        CATEGORIES(
+                "SELECT updated_at FROM categories WHERE id = ? AND deleted_at IS NULL",
+                "SELECT MAX(updated_at) FROM categories"),
+        PRODUCTS("""
+                SELECT p.updated_at,
+                       (SELECT MAX(t.updated_at) FROM products_translations t WHERE t.products_id = p.id),
+                       (SELECT MAX(c.updated_at) FROM products_categories pc
+                          JOIN categories c ON c.id = pc.categories_id WHERE pc.products_id = p.id)
+                FROM products p
+                WHERE p.id = ? AND p.deleted_at IS NULL
+                """, """
+                SELECT (SELECT MAX(updated_at) FROM products),
+                       (SELECT MAX(updated_at) FROM products_translations),
+                       (SELECT MAX(updated_at) FROM categories)
+                """),
+        PRODUCT_STOCKS("""
+                SELECT s.updated_at, p.updated_at,
+                       (SELECT MAX(t.updated_at) FROM products_translations t WHERE t.products_id = s.products_id),
+                       (SELECT MAX(c.updated_at) FROM products_categories pc
+                          JOIN categories c ON c.id = pc.categories_id WHERE pc.products_id = s.products_id),
+                       w.updated_at, a.updated_at
+                FROM product_stocks s
+                LEFT JOIN products p ON p.id = s.products_id
+                LEFT JOIN warehouses w ON w.id = s.warehouses_id
+                LEFT JOIN addresses a ON a.id = w.addresses_id
+                WHERE s.id = ? AND s.deleted_at IS NULL
+                """, """
+                SELECT (SELECT MAX(updated_at) FROM product_stocks),
+                       (SELECT MAX(updated_at) FROM products),
+                       (SELECT MAX(updated_at) FROM products_translations),
+                       (SELECT MAX(updated_at) FROM categories),
+                       (SELECT MAX(updated_at) FROM warehouses),
+                       (SELECT MAX(updated_at) FROM addresses)
+                """),
+        WAREHOUSES("""
+                SELECT w.updated_at, a.updated_at
+                FROM warehouses w LEFT JOIN addresses a ON a.id = w.addresses_id
+                WHERE w.id = ? AND w.deleted_at IS NULL
+                """,
+                "SELECT (SELECT MAX(updated_at) FROM warehouses), (SELECT MAX(updated_at) FROM addresses)"),
+        SUPPLIERS("""
+                SELECT s.updated_at, a.updated_at
+                FROM suppliers s LEFT JOIN addresses a ON a.id = s.addresses_id
+                WHERE s.id = ? AND s.deleted_at IS NULL
+                """,
+                "SELECT (SELECT MAX(updated_at) FROM suppliers), (SELECT MAX(updated_at) FROM addresses)"),
+        COMPANIES("""
+                SELECT c.updated_at, a.updated_at
+                FROM companies c LEFT JOIN addresses a ON a.id = c.addresses_id
+                WHERE c.id = ? AND c.deleted_at IS NULL
+                """,
+                "SELECT (SELECT MAX(updated_at) FROM companies), (SELECT MAX(updated_at) FROM addresses)"),
+        CUSTOMERS("""
+                SELECT c.updated_at, a.updated_at, b.updated_at
+                FROM customers c
+                LEFT JOIN addresses a ON a.id = c.addresses_id
+                LEFT JOIN customer_balances b ON b.customers_id = c.id
+                WHERE c.id = ? AND c.deleted_at IS NULL
+                """, """
+                SELECT (SELECT MAX(updated_at) FROM customers),
+                       (SELECT MAX(updated_at) FROM addresses),
+                       (SELECT MAX(updated_at) FROM customer_balances),
+                       (SELECT COUNT(*) FROM customer_balances)
+                """),
+        DELIVERIES(
+                "SELECT updated_at FROM deliveries WHERE id = ? AND deleted_at IS NULL",
+                "SELECT MAX(updated_at) FROM deliveries"),
+        // order_totals é reescrito a cada alteração de item, então também versiona as linhas do agregado
+        ORDERS("""
+                SELECT o.updated_at, t.updated_at
+                FROM orders o LEFT JOIN order_totals t ON t.orders_id = o.id
+                WHERE o.id = ?
+                """,
+                "SELECT COUNT(*), MAX(updated_at), (SELECT MAX(updated_at) FROM order_totals) FROM orders"),
+        // orders_products não tem updated_at: a linha é versionada pelos próprios valores
+        ORDER_PRODUCTS(
+                "SELECT amount, sale_price FROM orders_products WHERE orders_id = ? AND products_id = ?",
+                "SELECT COUNT(*), (SELECT MAX(updated_at) FROM order_totals) FROM orders_products");
+
+        private final String rowSql;
+        private final String tableSql;
+
+        Resource(String rowSql, String tableSql) {
+            this.rowSql = rowSql;
+            this.tableSql = tableSql;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Versão de um recurso pela chave; vazio quando ele não existe.
+     */
+    public Optional<ResourceVersion> ofRow(Resource resource, Object... key) {
+        return jdbcTemplate.query(resource.rowSql,
+                rs -> rs.next() ? Optional.of(read(resource, rs)) : Optional.<ResourceVersion>empty(), key);
+    }
+
+    /**
+     * Versão das listagens de um recurso.
+     */
+    public Optional<ResourceVersion> ofTable(Resource resource) {
+        return jdbcTemplate.query(resource.tableSql, rs -> {
+            rs.next();
+            return Optional.of(read(resource, rs));
+        });
+    }
+
+    private static ResourceVersion read(Resource resource, ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        StringBuilder version = new StringBuilder(resource.name());
+        long lastModified = -1;
+        boolean datesOnly = true;
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            version.append('|');
+            if (isTimestamp(meta.getColumnType(i))) {
+                Timestamp value = rs.getTimestamp(i);
+                if (value != null) {
+                    version.append(value.toInstant());
+                    lastModified = Math.max(lastModified, value.getTime());
+                }
+            } else {
+                version.append(rs.getString(i));
+                datesOnly = false;
+            }
+        }
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new ResourceVersion(etag, datesOnly ? lastModified : -1);
+    }
+
+    private static boolean isTimestamp(int sqlType) {
+        return sqlType == Types.TIMESTAMP || sqlType == Types.TIMESTAMP_WITH_TIMEZONE;
+    }
+}
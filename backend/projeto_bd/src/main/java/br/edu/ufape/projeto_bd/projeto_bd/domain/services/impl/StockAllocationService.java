@@ -0,0 +1,166 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.AllocationLineDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ShipmentAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderProductRepository.AllocationLine;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository.StockLevel;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.BatchQueries;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escolhe de quais armazéns sai cada item dos pedidos, tocando o menor número possível de armazéns
+ * e evitando dividir um item entre entregas. O saldo de todos os produtos envolvidos é lido de uma vez
+ * e descontado em memória, então pedidos do mesmo lote (atendidos em ordem de id) não disputam a mesma unidade.
+ * <p>
+ * Apenas planeja: nada é reservado. Cada {@link ShipmentAllocationDTO} corresponde a uma entrega
+ * (deliveries.warehouses_source_id) e a baixa é feita pelas reservas de {@link ProductStockService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockAllocationService {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
+    private final ProductStockRepository productStockRepository;
+
+    @Transactional(readOnly = true)
+    public OrderAllocationDTO allocateOrder(Long orderId) {
+        if (!orderRepository.existsById(orderId)) {
+            throw new EntityNotFoundException(Order.class, orderId);
+        }
+        return allocateOrders(List.of(orderId)).get(0);
+    }
+
+    /**
+     * Aloca um lote de pedidos com uma consulta de itens e uma de saldo (por bloco de 1000 ids).
+     */
+    @Transactional(readOnly = true)
+    public List<OrderAllocationDTO> allocateOrders(Collection<Long> orderIds) {
+        List<Long> ids = orderIds.stream().distinct().sorted().toList();
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new BusinessRuleException("Um lote de alocação aceita no máximo " + MAX_BATCH_SIZE + " pedidos.");
+        }
+
+        Map<Long, Map<Long, Long>> linesByOrder = new HashMap<>();
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (AllocationLine line : BatchQueries.inChunks(ids, orderProductRepository::findAllocationLinesByOrderIdIn)) {
+            linesByOrder.computeIfAbsent(line.getOrderId(), id -> new LinkedHashMap<>())
+                    .merge(line.getProductId(), line.getAmount(), Long::sum);
+            productIds.add(line.getProductId());
+        }
+
+        Map<Long, Map<Long, long[]>> stock = new HashMap<>();
+        for (StockLevel level : BatchQueries.inChunks(productIds, productStockRepository::findStockLevelsByProductIdIn)) {
+            stock.computeIfAbsent(level.getProductId(), id -> new HashMap<>())
+                    .put(level.getWarehouseId(), new long[] { level.getAmount() });
+        }
+
+        List<OrderAllocationDTO> allocations = new ArrayList<>(ids.size());
+        for (Long orderId : ids) {
+            allocations.add(allocate(orderId, linesByOrder.getOrDefault(orderId, Map.of()), stock));
+        }
+        return allocations;
+    }
+
+    // --------- métodos privados ---------
+
+    /**
+     * Guloso de cobertura: a cada rodada escolhe o armazém que atende mais itens por inteiro
+     * (depois, mais unidades) e retira dele tudo o que puder. Um item só é dividido quando
+     * nenhum armazém tem o saldo inteiro dele.
+     */
+    private static OrderAllocationDTO allocate(Long orderId, Map<Long, Long> lines, Map<Long, Map<Long, long[]>> stock) {
+        Map<Long, Long> remaining = new LinkedHashMap<>(lines);
+        Map<Long, Map<Long, Long>> shipments = new LinkedHashMap<>();
+
+        while (!remaining.isEmpty()) {
+            Long warehouseId = bestWarehouse(remaining, stock);
+            if (warehouseId == null) break;
+
+            Map<Long, Long> shipment = shipments.computeIfAbsent(warehouseId, id -> new LinkedHashMap<>());
+            var iterator = remaining.entrySet().iterator();
+            while (iterator.hasNext()) {
+                var line = iterator.next();
+                long[] available = stock.getOrDefault(line.getKey(), Map.of()).get(warehouseId);
+                if (available == null || available[0] == 0) continue;
+                long needed = line.getValue();
+                if (available[0] < needed && fullyCoverable(line.getKey(), needed, stock)) continue;
+
+                long taken = Math.min(needed, available[0]);
+                available[0] -= taken;
+                shipment.merge(line.getKey(), taken, Long::sum);
+                if (taken == needed) {
+                    iterator.remove();
+                } else {
+                    line.setValue(needed - taken);
+                }
+            }
+        }
+
+        Map<Long, Integer> shipmentsPerProduct = new HashMap<>();
+        List<ShipmentAllocationDTO> shipmentDTOs = new ArrayList<>();
+        shipments.forEach((warehouseId, shipment) -> {
+            shipment.keySet().forEach(productId -> shipmentsPerProduct.merge(productId, 1, Integer::sum));
+            shipmentDTOs.add(new ShipmentAllocationDTO(warehouseId, toLines(shipment)));
+        });
+        int splitLines = (int) shipmentsPerProduct.values().stream().filter(count -> count > 1).count();
+
+        return new OrderAllocationDTO(orderId, remaining.isEmpty(), splitLines, shipmentDTOs, toLines(remaining));
+    }
+
+    private static Long bestWarehouse(Map<Long, Long> remaining, Map<Long, Map<Long, long[]>> stock) {
+        // armazém -> [itens atendidos por inteiro, unidades atendidas]
+        Map<Long, long[]> scores = new HashMap<>();
+        remaining.forEach((productId, needed) ->
+                stock.getOrDefault(productId, Map.of()).forEach((warehouseId, available) -> {
+                    if (available[0] == 0) return;
+                    long[] score = scores.computeIfAbsent(warehouseId, id -> new long[2]);
+                    if (available[0] >= needed) score[0]++;
+                    score[1] += Math.min(needed, available[0]);
+                }));
+
+        Long best = null;
+        long[] bestScore = null;
+        for (Map.Entry<Long, long[]> entry : scores.entrySet()) {
+            long[] score = entry.getValue();
+            if (best == null || score[0] > bestScore[0]
+                    || (score[0] == bestScore[0] && (score[1] > bestScore[1]
+                            || (score[1] == bestScore[1] && entry.getKey() < best)))) {
+                best = entry.getKey();
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static boolean fullyCoverable(Long productId, long needed, Map<Long, Map<Long, long[]>> stock) {
+        return stock.getOrDefault(productId, Map.of()).values().stream().anyMatch(available -> available[0] >= needed);
+    }
+
+    private static List<AllocationLineDTO> toLines(Map<Long, Long> amounts) {
+        List<AllocationLineDTO> lines = new ArrayList<>(amounts.size());
+        amounts.forEach((productId, amount) -> lines.add(new AllocationLineDTO(productId, amount)));
+        return lines;
+    }
+}
@@ -1,13 +1,17 @@
 package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
 
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.SupplierRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierPatchDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.LegalEntity;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.NaturalPerson;
@@ -21,8 +25,12 @@ import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.LegalEntityReposit
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.NaturalPersonRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.SupplierRepository;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.ISupplierService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import br.edu.ufape.projeto_bd.projeto_bd.config.ResponseCacheConfig;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +41,7 @@ public class SupplierService implements ISupplierService {
     private final LegalEntityRepository legalEntityRepository;
     private final AddressMapper addressMapper;
     private final SupplierMapper supplierMapper;
+    private final KeysetCursorCodec cursorCodec;
 
     @Override
     @Transactional
@@ -90,6 +99,27 @@ public class SupplierService implements ISupplierService {
 
     @Override
     @Transactional(readOnly = true)
+    public WindowResponseDTO<SupplierResponseDTO> scrollSuppliers(String after, int limit, String sortBy,
+            String direction, String name) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort stableSort = KeysetCursorCodec.stableSort(Sort.by(sortDirection, sortBy));
+        KeysetScrollPosition position = cursorCodec.decode(after, Supplier.class, stableSort);
+
+        Specification<Supplier> spec = Specification.unrestricted();
+        if (name != null && !name.isEmpty()) {
+            spec = (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
+        }
+
+        Window<Supplier> window = supplierRepository.findBy(spec, query -> query
+                .sortBy(stableSort)
+                .limit(KeysetCursorCodec.clampLimit(limit))
+                .scroll(position));
+        return cursorCodec.toResponse(window.map(supplierMapper::toDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(ResponseCacheConfig.SUPPLIERS)
     public SupplierResponseDTO findSupplierById(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Supplier.class, id));
@@ -98,6 +128,7 @@ public class SupplierService implements ISupplierService {
     }
 
     @Override
+    @CacheEvict(cacheNames = ResponseCacheConfig.SUPPLIERS, key = "#id")
     public SupplierResponseDTO updateSupplier(Long id, SupplierPatchDTO supplierPatch) {
         Supplier supplierToUpdate = supplierRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Supplier.class, id));
@@ -118,6 +149,7 @@ public class SupplierService implements ISupplierService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ResponseCacheConfig.SUPPLIERS, key = "#id")
     public void deleteSupplier(Long id) {
         if (!supplierRepository.existsById(id)) {
             throw new EntityNotFoundException(Supplier.class, id);
@@ -0,0 +1,208 @@
+package br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Locale;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
+
+/**
+ * Exportação das tabelas grandes em NDJSON ou CSV. As linhas vêm de um cursor JDBC somente-avanço e são
+ * escritas na resposta uma a uma, então a memória usada não depende do tamanho da tabela.
+ * No MySQL o fetch size {@code Integer.MIN_VALUE} faz o Connector/J trazer as linhas do servidor em streaming;
+ * sem ele o driver carregaria o resultado inteiro antes da primeira linha.
+ * As colunas exportadas são as da tabela (snake_case), com os totais materializados onde existem.
+ */
+@Service
+public class TableExportService {
+
+    static final String PRODUCTS_SQL =
+            "SELECT id, status, minimum_sale_price, warranty_date, created_at, updated_at "
+            + "FROM products WHERE deleted_at IS NULL ORDER BY id";
+    static final String ORDERS_SQL =
+            "SELECT o.id, o.status, o.order_method, o.customers_id, o.ordered_at, o.expected_to_deliver_at, "
+            + "COALESCE(t.total_units, 0) AS total_units, COALESCE(t.total_price, 0) AS total_price, "
+            + "o.created_at, o.updated_at "
+            + "FROM orders o LEFT JOIN order_totals t ON t.orders_id = o.id ORDER BY o.id";
+    static final String ORDER_PRODUCTS_SQL =
+            "SELECT orders_id, products_id, amount, sale_price FROM orders_products ORDER BY orders_id, products_id";
+    static final String PRODUCT_STOCKS_SQL =
+            "SELECT id, code, products_id, warehouses_id, amount, reserved, leased, created_at, updated_at "
+            + "FROM product_stocks WHERE deleted_at IS NULL ORDER BY id";
+    static final String SUPPLIERS_SQL =
+            "SELECT id, name, type, addresses_id, created_at, updated_at "
+            + "FROM suppliers WHERE deleted_at IS NULL ORDER BY id";
+    static final String CUSTOMERS_SQL =
+            "SELECT c.id, c.name, c.addresses_id, c.credit_limit, COALESCE(b.open_balance, 0) AS open_balance, "
+            + "c.created_at, c.updated_at "
+            + "FROM customers c LEFT JOIN customer_balances b ON b.customers_id = c.id "
+            + "WHERE c.deleted_at IS NULL ORDER BY c.id";
+    // nos outros bancos o fetch size é só uma dica de quantas linhas buscar por ida ao servidor
+    private static final int FETCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public TableExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportProducts(ExportFormat format, OutputStream out) {
+        export(PRODUCTS_SQL, format, out);
+    }
+
+    public void exportOrders(ExportFormat format, OutputStream out) {
+        export(ORDERS_SQL, format, out);
+    }
+
+    public void exportOrderProducts(ExportFormat format, OutputStream out) {
+        export(ORDER_PRODUCTS_SQL, format, out);
+    }
+
+    public void exportProductStocks(ExportFormat format, OutputStream out) {
+        export(PRODUCT_STOCKS_SQL, format, out);
+    }
+
+    public void exportSuppliers(ExportFormat format, OutputStream out) {
+        export(SUPPLIERS_SQL, format, out);
+    }
+
+    public void exportCustomers(ExportFormat format, OutputStream out) {
+        export(CUSTOMERS_SQL, format, out);
+    }
+
+    // --------- métodos privados ---------
+
+    private void export(String sql, ExportFormat format, OutputStream out) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize(connection));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(rs, out);
+                    } else {
+                        writeNdjson(rs, out);
+                    }
+                } catch (IOException e) {
+                    // cliente desconectou: cancela a consulta para o driver não ler o resto das linhas ao fechar
+                    ps.cancel();
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static int fetchSize(Connection connection) throws SQLException {
+        return "MySQL".equals(connection.getMetaData().getDatabaseProductName()) ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+
+    private void writeNdjson(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        String[] columns = columns(rs.getMetaData());
+        int[] types = types(rs.getMetaData());
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.setRootValueSeparator(null);
+            // a resposta é fechada pelo Spring
+            json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            while (rs.next()) {
+                json.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    json.writeFieldName(columns[i]);
+                    Object value = value(rs, i + 1, types[i]);
+                    if (value == null) {
+                        json.writeNull();
+                    } else if (value instanceof Long number) {
+                        json.writeNumber(number);
+                    } else if (value instanceof BigDecimal number) {
+                        json.writeNumber(number);
+                    } else {
+                        json.writeString(value.toString());
+                    }
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        }
+    }
+
+    private static void writeCsv(ResultSet rs, OutputStream out) throws SQLException, IOException {
+        String[] columns = columns(rs.getMetaData());
+        int[] types = types(rs.getMetaData());
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write(String.join(",", columns));
+        csv.write("\r\n");
+        while (rs.next()) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) csv.write(',');
+                Object value = value(rs, i + 1, types[i]);
+                if (value instanceof BigDecimal number) {
+                    csv.write(number.toPlainString());
+                } else if (value != null) {
+                    csv.write(escapeCsv(value.toString()));
+                }
+            }
+            csv.write("\r\n");
+        }
+        csv.flush();
+    }
+
+    private static String[] columns(ResultSetMetaData meta) throws SQLException {
+        String[] columns = new String[meta.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = meta.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+        }
+        return columns;
+    }
+
+    private static int[] types(ResultSetMetaData meta) throws SQLException {
+        int[] types = new int[meta.getColumnCount()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = meta.getColumnType(i + 1);
+        }
+        return types;
+    }
+
+    private static Object value(ResultSet rs, int column, int type) throws SQLException {
+        Object value = switch (type) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> rs.getLong(column);
+            case Types.DECIMAL, Types.NUMERIC -> rs.getBigDecimal(column);
+            case Types.TIMESTAMP, Types.DATE -> {
+                Timestamp timestamp = rs.getTimestamp(column);
+                yield timestamp == null ? null : timestamp.toLocalDateTime();
+            }
+            default -> rs.getString(column);
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    // RFC 4180: aspas em volta quando há separador, aspas ou quebra de linha, com as aspas internas dobradas
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
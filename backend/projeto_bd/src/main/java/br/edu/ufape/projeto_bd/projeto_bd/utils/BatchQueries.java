@@ -0,0 +1,27 @@
+package br.edu.ufape.projeto_bd.projeto_bd.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Consultas com listas grandes no IN: divide os ids em blocos para não gerar
+ * um único statement gigante (e um plano ruim) quando o lote tem dezenas de milhares de ids.
+ */
+public final class BatchQueries {
+
+    public static final int IN_CHUNK_SIZE = 1_000;
+
+    private BatchQueries() {
+    }
+
+    public static <K, T> List<T> inChunks(Collection<K> ids, Function<List<K>, List<T>> query) {
+        List<K> all = List.copyOf(ids);
+        List<T> result = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            result.addAll(query.apply(all.subList(from, Math.min(all.size(), from + IN_CHUNK_SIZE))));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package br.edu.ufape.projeto_bd.projeto_bd.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+
+/**
+ * Formatos aceitos pelos endpoints de exportação ({@code ?format=ndjson|csv}).
+ */
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    private final MediaType mediaType;
+
+    ExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static ExportFormat of(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessRuleException("Formato de exportação inválido: '" + format + "'. Use ndjson ou csv.");
+        }
+    }
+
+    /**
+     * Resposta em anexo ({@code <nome>.ndjson} ou {@code <nome>.csv}) escrita direto no corpo, sem montar a lista em memória.
+     */
+    public ResponseEntity<StreamingResponseBody> attachment(String name, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(name + "." + name().toLowerCase(Locale.ROOT)).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,123 @@
+package br.edu.ufape.projeto_bd.projeto_bd.utils;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+
+/**
+ * Converte posições de keyset ({@link KeysetScrollPosition}) em cursores opacos
+ * (JSON em base64url) e vice-versa, para os endpoints de listagem com {@code ?after=&limit=}.
+ */
+@Component
+public class KeysetCursorCodec {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    /**
+     * Ordenação estável: a chave pedida pelo cliente seguida do id como desempate.
+     */
+    public static Sort stableSort(Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return Sort.by("id");
+        }
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        Sort.Direction lastDirection = sort.stream().reduce((first, second) -> second).get().getDirection();
+        return sort.and(Sort.by(lastDirection, "id"));
+    }
+
+    /**
+     * Recusa (400) ordenações fora da lista permitida, antes que cheguem ao Spring Data.
+     */
+    public static void requireSortable(Sort sort, Set<String> allowed) {
+        for (Sort.Order order : sort) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new BusinessRuleException("Não é possível ordenar por '" + order.getProperty()
+                        + "'. Use um destes campos: " + allowed.stream().sorted().toList() + ".");
+            }
+        }
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Decodifica o cursor convertendo cada chave para o tipo da propriedade na entidade.
+     * Cursor vazio significa a primeira janela.
+     */
+    public KeysetScrollPosition decode(String cursor, Class<?> domainType, Sort sort) {
+        return decode(cursor, sort, property -> PropertyPath.from(property, domainType).getLeafType());
+    }
+
+    public KeysetScrollPosition decode(String cursor, Sort sort, Function<String, Class<?>> keyType) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            Map<String, Object> raw = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<LinkedHashMap<String, Object>>() {});
+
+            Set<String> expected = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+            if (!raw.keySet().equals(expected)) {
+                throw new BusinessRuleException("O cursor informado não corresponde à ordenação solicitada.");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : raw.entrySet()) {
+                if (entry.getValue() == null) {
+                    throw new BusinessRuleException("Cursor de paginação inválido.");
+                }
+                keys.put(entry.getKey(), MAPPER.convertValue(entry.getValue(), keyType.apply(entry.getKey())));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IOException | PropertyReferenceException e) {
+            throw new BusinessRuleException("Cursor de paginação inválido.");
+        }
+    }
+
+    public String encode(KeysetScrollPosition position) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(position.getKeys()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível gerar o cursor de paginação.", e);
+        }
+    }
+
+    /**
+     * Monta a resposta com o cursor da última linha da janela, quando houver próxima.
+     */
+    public <T> WindowResponseDTO<T> toResponse(Window<T> window) {
+        String next = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            next = encode((KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new WindowResponseDTO<>(window, next);
+    }
+}
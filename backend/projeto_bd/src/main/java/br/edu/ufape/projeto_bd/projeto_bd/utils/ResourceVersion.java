@@ -0,0 +1,43 @@
+package br.edu.ufape.projeto_bd.projeto_bd.utils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Versão de um recurso exposto por GET (ETag fraco e, quando a versão é feita só de datas, Last-Modified em epoch ms;
+ * -1 quando não há). Calculada pelo ResourceVersionService sem montar o DTO.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    /**
+     * GET condicional: com If-None-Match/If-Modified-Since ainda válidos responde 304 sem chamar {@code body}.
+     * A versão deve ser lida antes do corpo; se o recurso mudar entre as duas leituras o cliente só faz uma
+     * revalidação a mais, nunca guarda um corpo antigo com um ETag novo. Sem versão (recurso inexistente)
+     * o corpo é chamado normalmente e produz o 404.
+     */
+    public static <T> ResponseEntity<T> conditionalGet(WebRequest request, Optional<ResourceVersion> version,
+            Supplier<T> body) {
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(body.get());
+        }
+        ResourceVersion current = version.get();
+        if (request.checkNotModified(current.etag(), current.lastModified())) {
+            return current.headers(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+        }
+        return current.headers(ResponseEntity.ok()).body(body.get());
+    }
+
+    private ResponseEntity.BodyBuilder headers(ResponseEntity.BodyBuilder builder) {
+        // no-cache: o navegador sempre revalida em vez de reaproveitar a resposta por heurística do Last-Modified
+        builder.eTag(etag).cacheControl(CacheControl.noCache());
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.AttributeAlreadyInUseException;
 
 import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.InvalidOrderLinesException;
 
 @RestControllerAdvice
 public class ValidationExceptionHandler {
@@ -41,6 +42,18 @@ public class ValidationExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidOrderLinesException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidOrderLines(InvalidOrderLinesException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                ex.getErrors());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(AttributeAlreadyInUseException.class)
     public ResponseEntity<ErrorResponse> handleAttributeAlreadyInUse(AttributeAlreadyInUseException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
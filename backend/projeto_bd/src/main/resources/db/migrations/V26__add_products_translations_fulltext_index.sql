@@ -0,0 +1,3 @@
+-- Full-text index for product name/description search (MATCH ... AGAINST)
+ALTER TABLE products_translations
+  ADD FULLTEXT INDEX ft__products_translations__name__description (name, description);
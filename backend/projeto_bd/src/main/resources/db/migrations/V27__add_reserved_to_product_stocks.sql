@@ -0,0 +1,3 @@
+-- Quantity taken out of amount by open reservations, waiting for commit or release
+ALTER TABLE product_stocks
+  ADD COLUMN reserved BIGINT UNSIGNED NOT NULL DEFAULT 0 AFTER amount;
@@ -0,0 +1,3 @@
+-- Quantity taken out of amount and held in memory by the hot-SKU counter (returned on startup)
+ALTER TABLE product_stocks
+  ADD COLUMN leased BIGINT UNSIGNED NOT NULL DEFAULT 0 AFTER reserved;
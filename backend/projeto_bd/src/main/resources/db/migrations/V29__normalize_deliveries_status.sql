@@ -0,0 +1,2 @@
+-- deliveries.status passa a ser lido como enum (DeliveryStatus); normaliza os valores já gravados pelo seed
+UPDATE deliveries SET status = UPPER(status);
@@ -0,0 +1,4 @@
+-- Transportadoras: empresas com capacidade informada participam da atribuição de entregas
+ALTER TABLE companies
+  ADD COLUMN delivery_capacity INT UNSIGNED NULL,
+  ADD COLUMN delivery_price DECIMAL(10,2) UNSIGNED NULL;
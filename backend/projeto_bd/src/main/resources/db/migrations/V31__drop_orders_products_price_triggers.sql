@@ -0,0 +1,5 @@
+-- O preço mínimo dos itens passa a ser validado pela aplicação, em lote (OrderProductService/MinimumPriceCache).
+-- Os triggers faziam um SELECT em products por linha e só devolviam um SQLSTATE 45000 genérico.
+-- Para manter a checagem no banco como rede de segurança, inclua classpath:db/optional em spring.flyway.locations.
+DROP TRIGGER IF EXISTS trg_orders_products_price_gte_min_ins;
+DROP TRIGGER IF EXISTS trg_orders_products_price_gte_min_upd;
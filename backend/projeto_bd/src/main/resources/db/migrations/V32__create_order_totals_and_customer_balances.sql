@@ -0,0 +1,35 @@
+-- Totais materializados: mantidos pela aplicação (OrderTotalsService) a cada alteração de itens ou pedidos.
+-- Saldo em aberto = soma dos totais dos pedidos do cliente que não estão entregues nem cancelados.
+CREATE TABLE order_totals (
+  orders_id BIGINT UNSIGNED NOT NULL PRIMARY KEY,
+  total_units BIGINT NOT NULL DEFAULT 0,
+  total_price DECIMAL(14,2) NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+  CONSTRAINT fk__order_totals__orders_id__orders__id
+    FOREIGN KEY (orders_id) REFERENCES orders(id)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE customer_balances (
+  customers_id BIGINT UNSIGNED NOT NULL PRIMARY KEY,
+  open_balance DECIMAL(14,2) NOT NULL DEFAULT 0,
+  updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+  CONSTRAINT fk__customer_balances__customers_id__customers__id
+    FOREIGN KEY (customers_id) REFERENCES customers(id)
+    ON DELETE CASCADE
+    ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO order_totals (orders_id, total_units, total_price)
+SELECT orders_id, SUM(amount), SUM(amount * sale_price)
+FROM orders_products
+GROUP BY orders_id;
+
+INSERT INTO customer_balances (customers_id, open_balance)
+SELECT o.customers_id, SUM(t.total_price)
+FROM orders o JOIN order_totals t ON t.orders_id = o.id
+WHERE o.status NOT IN ('delivered', 'canceled')
+GROUP BY o.customers_id;
@@ -0,0 +1,13 @@
+-- Outbox transacional: eventos gravados na mesma transação da alteração e publicados depois pelo OutboxRelay.
+-- published_at nulo = ainda não publicado; o índice atende a busca dos pendentes em ordem de id.
+CREATE TABLE outbox_events (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  aggregate_type VARCHAR(50) NOT NULL,
+  aggregate_id BIGINT UNSIGNED NOT NULL,
+  event_type VARCHAR(50) NOT NULL,
+  payload JSON NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+  published_at TIMESTAMP NULL,
+
+  INDEX idx__outbox_events__published_at__id (published_at, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,9 @@
+-- Número de sequência do feed de mudanças (GET /api/changes): atribuído pelo OutboxRelay ao publicar.
+-- O id não serve de cursor: é alocado no INSERT, e transações confirmadas fora de ordem deixariam buracos
+-- que um consumidor já teria passado.
+ALTER TABLE outbox_events
+  ADD COLUMN seq BIGINT UNSIGNED NULL,
+  ADD UNIQUE INDEX ux__outbox_events__seq (seq);
+
+SET @seq := 0;
+UPDATE outbox_events SET seq = (@seq := @seq + 1) WHERE published_at IS NOT NULL ORDER BY id;
@@ -0,0 +1,9 @@
+-- MAX(updated_at) usado como versão (ETag/Last-Modified) das listagens mais consultadas
+ALTER TABLE products
+  ADD INDEX idx__products__updated_at (updated_at);
+
+ALTER TABLE products_translations
+  ADD INDEX idx__products_translations__updated_at (updated_at);
+
+ALTER TABLE product_stocks
+  ADD INDEX idx__product_stocks__updated_at (updated_at);
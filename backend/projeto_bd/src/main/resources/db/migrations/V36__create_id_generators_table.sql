@@ -0,0 +1,24 @@
+-- Ids de orders, product_stocks e addresses passam a vir desta tabela (@TableGenerator, otimizador pooled-lo)
+-- em vez do auto_increment, para o Hibernate poder agrupar os INSERTs. next_val é o último id reservado;
+-- as colunas continuam SERIAL, então INSERTs antigos sem id ainda funcionam, mas podem colidir com as
+-- faixas já reservadas: todo INSERT nessas tabelas deve pegar o id daqui (ver IdAllocator).
+CREATE TABLE id_generators (
+  sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+-- parte do maior id e do contador do auto_increment, para não reaproveitar ids de linhas apagadas
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'orders', GREATEST(COALESCE((SELECT MAX(id) FROM orders), 0),
+  COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders'), 1) - 1);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'product_stocks', GREATEST(COALESCE((SELECT MAX(id) FROM product_stocks), 0),
+  COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'product_stocks'), 1) - 1);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'addresses', GREATEST(COALESCE((SELECT MAX(id) FROM addresses), 0),
+  COALESCE((SELECT AUTO_INCREMENT FROM information_schema.TABLES
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'addresses'), 1) - 1);
@@ -0,0 +1,11 @@
+-- Reservas confirmadas pelo HotStockCounter, gravadas na transação de quem reservou.
+-- O flush (e a reconciliação ao subir) move a soma de leased para reserved e apaga as linhas.
+CREATE TABLE hot_stock_consumptions (
+  id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  products_id BIGINT UNSIGNED NOT NULL,
+  warehouses_id BIGINT UNSIGNED NOT NULL,
+  quantity BIGINT UNSIGNED NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+  INDEX idx__hot_stock_consumptions__stock (products_id, warehouses_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,5 @@
+-- Falhas de publicação por evento: depois de app.outbox.max-attempts tentativas o evento recebe dead_lettered_at
+-- e sai da fila do OutboxRelay (fica na tabela para análise), em vez de travar os eventos seguintes.
+ALTER TABLE outbox_events
+  ADD COLUMN attempts INT UNSIGNED NOT NULL DEFAULT 0,
+  ADD COLUMN dead_lettered_at TIMESTAMP NULL;
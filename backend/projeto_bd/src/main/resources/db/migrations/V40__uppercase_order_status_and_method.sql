@@ -0,0 +1,12 @@
+-- orders.status e orders.order_method são lidos como enum (OrderStatus, OrderMethod, EnumType.STRING):
+-- os valores do ENUM passam a ser os nomes das constantes e as linhas já gravadas são convertidas,
+-- como V29 fez para deliveries.status.
+ALTER TABLE orders
+  MODIFY COLUMN order_method VARCHAR(20) NOT NULL,
+  MODIFY COLUMN status VARCHAR(20) NOT NULL;
+
+UPDATE orders SET order_method = UPPER(order_method), status = UPPER(status);
+
+ALTER TABLE orders
+  MODIFY COLUMN order_method ENUM('ONLINE', 'IN_PERSON') NOT NULL,
+  MODIFY COLUMN status ENUM('PENDING', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELED') NOT NULL;
@@ -0,0 +1,2 @@
+-- languages fica com a mesma precisão de updated_at das demais tabelas versionadas (V38)
+ALTER TABLE languages MODIFY COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
@@ -0,0 +1,40 @@
+-- Rede de segurança opcional: recria os triggers de preço mínimo removidos na V31.
+-- Só é aplicado quando classpath:db/optional está em spring.flyway.locations.
+DROP TRIGGER IF EXISTS trg_orders_products_price_gte_min_ins;
+DROP TRIGGER IF EXISTS trg_orders_products_price_gte_min_upd;
+
+DELIMITER $$
+
+CREATE TRIGGER trg_orders_products_price_gte_min_ins
+BEFORE INSERT ON orders_products
+FOR EACH ROW
+BEGIN
+  DECLARE minimum_sale_price DECIMAL(10,2);
+
+  SELECT minimum_sale_price INTO minimum_sale_price
+  FROM products
+  WHERE id = NEW.products_id;
+
+  IF NEW.sale_price < minimum_sale_price THEN
+    SIGNAL SQLSTATE '45000'
+      SET MESSAGE_TEXT = 'sale_price must be >= products.minimum_sale_price';
+  END IF;
+END$$
+
+CREATE TRIGGER trg_orders_products_price_gte_min_upd
+BEFORE UPDATE ON orders_products
+FOR EACH ROW
+BEGIN
+  DECLARE minimum_sale_price DECIMAL(10,2);
+
+  SELECT minimum_sale_price INTO minimum_sale_price
+  FROM products
+  WHERE id = NEW.products_id;
+
+  IF NEW.sale_price < minimum_sale_price THEN
+    SIGNAL SQLSTATE '45000'
+      SET MESSAGE_TEXT = 'sale_price must be >= products.minimum_sale_price';
+  END IF;
+END$$
+
+DELIMITER ;
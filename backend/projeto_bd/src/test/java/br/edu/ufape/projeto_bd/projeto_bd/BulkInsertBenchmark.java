@@ -0,0 +1,88 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Locale;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Carga de endereços pelo Hibernate com um INSERT por linha (o que IDENTITY obrigava) x lotes de
+ * hibernate.jdbc.batch_size com ids de id_generators. Não roda no build normal:
+ * mvn test -Dtest=BulkInsertBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkInsertBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM addresses");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void insert_BatchedVersusPerRow() {
+        insert(1, 5_000);
+        insert(50, 5_000);
+
+        double perRowRate = ROWS / (insert(1, ROWS) / 1e9);
+        double batchedRate = ROWS / (insert(50, ROWS) / 1e9);
+
+        System.out.printf(Locale.ROOT, "endereços/s: por-linha=%.0f lote=%.0f (%.1fx)%n",
+                perRowRate, batchedRate, batchedRate / perRowRate);
+        assertEquals(2 * (ROWS + 5_000), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM addresses", Integer.class));
+    }
+
+    private long insert(int batchSize, int rows) {
+        long start = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < rows; i++) {
+                Address address = new Address();
+                address.setCountry("BR");
+                address.setState("PE");
+                address.setCity("Recife");
+                address.setStreet("Rua " + i);
+                address.setNumber(String.valueOf(i % 999 + 1));
+                entityManager.persist(address);
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,118 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import br.edu.ufape.projeto_bd.projeto_bd.config.SeedDataRunner;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CarrierAssignmentResultDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CompanyRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.PendingDelivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner.Carrier;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner.Plan;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentService;
+
+/**
+ * Atribuição de 50 mil entregas geradas por SeedDataRunner.seedDeliveryBacklog entre 40 transportadoras;
+ * mede o planejamento sozinho (fork/join x um único thread) e a chamada completa do serviço.
+ * Não roda no build normal: mvn test -Dtest=CarrierAssignmentBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(CarrierAssignmentService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CarrierAssignmentBenchmark {
+
+    private static final int DELIVERIES = 50_000;
+    private static final int CARRIERS = 40;
+    private static final String[][] HEADQUARTERS = {
+        { "PE", "Recife" }, { "PE", "Caruaru" }, { "PB", "João Pessoa" }, { "AL", "Maceió" },
+        { "BA", "Salvador" }, { "CE", "Fortaleza" }, { "SP", "São Paulo" }, { "RJ", "Rio de Janeiro" }
+    };
+
+    @Autowired
+    private CarrierAssignmentService carrierAssignmentService;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("deliveries", "orders", "warehouses", "companies", "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void assign_FiftyThousandDeliveries() {
+        IdAllocator ids = new IdAllocator(jdbcTemplate, transactionManager);
+        long addressId = ids.reserve(IdAllocator.ADDRESSES, CARRIERS);
+        for (int i = 0; i < CARRIERS; i++, addressId++) {
+            String[] city = HEADQUARTERS[i % HEADQUARTERS.length];
+            jdbcTemplate.update("INSERT INTO addresses (id, state, city, created_at, updated_at) VALUES (?, ?, ?, NOW(), NOW())",
+                    addressId, city[0], city[1]);
+            jdbcTemplate.update("INSERT INTO companies (legal_name, trade_name, cnpj, addresses_id, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, NOW(), NOW())",
+                    "Transportadora " + i, "Transp " + i, String.format("%014d", i + 1), addressId);
+        }
+        for (int i = 0; i < 4; i++) {
+            jdbcTemplate.update("INSERT INTO warehouses (name, created_at, updated_at) VALUES (?, NOW(), NOW())", "Armazém " + i);
+        }
+        jdbcTemplate.update("INSERT INTO orders (id, status, order_method, ordered_at, expected_to_deliver_at, created_at, updated_at) "
+                + "VALUES (?, 'PENDING', 'ONLINE', NOW(), NOW(), NOW(), NOW())", ids.reserve(IdAllocator.ORDERS, 1));
+        SeedDataRunner.seedDeliveryBacklog(jdbcTemplate, ids, new Random(42), DELIVERIES);
+
+        List<PendingDelivery> pending = deliveryRepository.findPendingDeliveries(null, CarrierAssignmentService.MAX_BATCH_SIZE);
+        List<Carrier> carriers = companyRepository.findCarriers().stream()
+                .map(view -> new Carrier(view.getCompanyId(), view.getCapacity(), 0, view.getPrice(), view.getState(), view.getCity()))
+                .toList();
+        ForkJoinPool single = new ForkJoinPool(1);
+        for (int warmup = 0; warmup < 3; warmup++) {
+            CarrierAssignmentPlanner.plan(pending, carriers, ForkJoinPool.commonPool());
+            CarrierAssignmentPlanner.plan(pending, carriers, single);
+        }
+        long start = System.nanoTime();
+        Plan parallel = CarrierAssignmentPlanner.plan(pending, carriers, ForkJoinPool.commonPool());
+        long parallelMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        CarrierAssignmentPlanner.plan(pending, carriers, single);
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+        single.shutdown();
+
+        start = System.nanoTime();
+        CarrierAssignmentResultDTO result = carrierAssignmentService.assignPendingDeliveries(null);
+        long serviceMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf(Locale.ROOT, "entregas=%d grupos=%d transportadoras=%d plano(fork/join)=%dms plano(1 thread)=%dms serviço=%dms atribuídas=%d%n",
+                pending.size(), parallel.groups(), carriers.size(), parallelMillis, singleMillis, serviceMillis, result.getAssigned());
+        assertEquals(DELIVERIES, result.getDeliveries());
+        assertEquals(DELIVERIES, result.getAssigned() + result.getUnassigned());
+    }
+}
@@ -0,0 +1,229 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CarrierAssignmentResultDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Company;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.CarrierAssignment;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryBatchRepository.PendingDelivery;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner.Carrier;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentPlanner.Plan;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CarrierAssignmentService;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(CarrierAssignmentService.class)
+class CarrierAssignmentServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private CarrierAssignmentService carrierAssignmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void plan_ShouldKeepRoutesTogetherAndPreferTheLocalCarrier() {
+        Carrier recife = new Carrier(1, 10, 0, new BigDecimal("20.00"), "PE", "Recife");
+        Carrier saoPaulo = new Carrier(2, 10, 0, new BigDecimal("18.00"), "SP", "São Paulo");
+        List<PendingDelivery> deliveries = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            deliveries.add(new PendingDelivery(id, 1, "PE", "Recife", "50010-000"));
+        }
+        for (long id = 5; id <= 7; id++) {
+            deliveries.add(new PendingDelivery(id, 1, "SP", "Sao Paulo", "01001-000"));
+        }
+
+        Plan plan = CarrierAssignmentPlanner.plan(deliveries, List.of(recife, saoPaulo), ForkJoinPool.commonPool());
+
+        assertEquals(2, plan.groups());
+        assertTrue(plan.unassigned().isEmpty());
+        Map<Long, Long> carrierByDelivery = plan.assignments().stream()
+                .collect(Collectors.toMap(CarrierAssignment::deliveryId, CarrierAssignment::companyId));
+        assertTrue(deliveries.subList(0, 4).stream().allMatch(d -> carrierByDelivery.get(d.id()) == 1L));
+        assertTrue(deliveries.subList(4, 7).stream().allMatch(d -> carrierByDelivery.get(d.id()) == 2L));
+    }
+
+    @Test
+    void plan_WhenNoCarrierFitsTheRoute_ShouldSplitAndLeaveTheOverflowUnassigned() {
+        Carrier small = new Carrier(1, 3, 0, new BigDecimal("10.00"), "PE", "Recife");
+        Carrier other = new Carrier(2, 2, 0, new BigDecimal("30.00"), "PE", "Caruaru");
+        List<PendingDelivery> deliveries = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            deliveries.add(new PendingDelivery(id, 1, "PE", "Recife", "50010-000"));
+        }
+
+        Plan plan = CarrierAssignmentPlanner.plan(deliveries, List.of(small, other), ForkJoinPool.commonPool());
+
+        assertEquals(5, plan.assignments().size());
+        assertEquals(List.of(6L), plan.unassigned());
+        assertEquals(3, plan.load().get(1L));
+        assertEquals(2, plan.load().get(2L));
+    }
+
+    @Test
+    void assignPendingDeliveries_ShouldPersistCarrierAndRegionalPrice() {
+        Company local = carrier("Agreste Log", "11111111000111", 5, "20.00", "PE", "Garanhuns");
+        carrier("Sudeste Log", "22222222000122", 5, "18.00", "SP", "São Paulo");
+        Company notCarrier = new Company();
+        notCarrier.setLegalName("Sem Frota LTDA");
+        notCarrier.setTradeName("Sem Frota");
+        notCarrier.setCnpj("33333333000133");
+        em.persist(notCarrier);
+
+        Warehouse warehouse = warehouse("Recife");
+        Order order = order();
+        Address destination = address("PE", "Garanhuns", "55290-000");
+        em.flush();
+
+        for (int i = 0; i < 3; i++) {
+            delivery(notCarrier, order, destination, warehouse, "PROCESSING");
+        }
+        delivery(notCarrier, order, destination, warehouse, "IN_TRANSIT");
+
+        CarrierAssignmentResultDTO result = carrierAssignmentService.assignPendingDeliveries(null);
+
+        assertEquals(3, result.getDeliveries());
+        assertEquals(3, result.getAssigned());
+        assertEquals(0, result.getUnassigned());
+        assertEquals(0, new BigDecimal("60.00").compareTo(result.getTotalPrice()));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deliveries WHERE companies_id = ? AND price = 20.00",
+                Integer.class, local.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deliveries WHERE companies_id = ?",
+                Integer.class, notCarrier.getId()));
+    }
+
+    @Test
+    void assignPendingDeliveries_ShouldReportTheDeliveriesLeftWithTheirPreviousCompany() {
+        carrier("Agreste Log", "11111111000111", 2, "20.00", "PE", "Garanhuns");
+        Company previous = new Company();
+        previous.setLegalName("Sem Frota LTDA");
+        previous.setTradeName("Sem Frota");
+        previous.setCnpj("33333333000133");
+        em.persist(previous);
+        Warehouse warehouse = warehouse("Recife");
+        Order order = order();
+        Address destination = address("PE", "Garanhuns", "55290-000");
+        em.flush();
+
+        for (int i = 0; i < 3; i++) {
+            delivery(previous, order, destination, warehouse, "PROCESSING");
+        }
+
+        CarrierAssignmentResultDTO result = carrierAssignmentService.assignPendingDeliveries(null);
+
+        assertEquals(1, result.getUnassigned());
+        assertEquals(jdbcTemplate.queryForList("SELECT id FROM deliveries WHERE companies_id = ?", Long.class, previous.getId()),
+                result.getUnassignedDeliveryIds());
+    }
+
+    @Test
+    void assignPendingDeliveries_ShouldCountDeliveriesTheCarrierAlreadyHasOutsideTheBatch() {
+        Company local = carrier("Agreste Log", "11111111000111", 5, "20.00", "PE", "Garanhuns");
+        Company other = carrier("Sertão Log", "22222222000122", 5, "25.00", "PE", "Petrolina");
+        Warehouse recife = warehouse("Recife");
+        Warehouse caruaru = warehouse("Caruaru");
+        Order order = order();
+        Address destination = address("PE", "Garanhuns", "55290-000");
+        em.flush();
+
+        // já atribuídas à local por uma execução anterior, de outro armazém
+        for (int i = 0; i < 3; i++) {
+            delivery(local, order, destination, caruaru, "PROCESSING");
+        }
+        for (int i = 0; i < 3; i++) {
+            delivery(other, order, destination, recife, "PROCESSING");
+        }
+
+        CarrierAssignmentResultDTO result = carrierAssignmentService.assignPendingDeliveries(recife.getId());
+
+        // a local é mais barata, mas só tem 2 vagas: a rota inteira vai para a outra
+        assertEquals(3, result.getAssigned());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deliveries WHERE companies_id = ?",
+                Integer.class, local.getId()));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deliveries WHERE companies_id = ?",
+                Integer.class, other.getId()));
+        assertTrue(result.getCarriers().stream().allMatch(load -> load.getAssigned() <= load.getCapacity()));
+    }
+
+    @Test
+    void assignPendingDeliveries_WithoutCarriers_ShouldReject() {
+        Company company = new Company();
+        company.setLegalName("Sem Frota LTDA");
+        company.setTradeName("Sem Frota");
+        company.setCnpj("33333333000133");
+        em.persist(company);
+        Warehouse warehouse = warehouse("Recife");
+        Order order = order();
+        Address destination = address("PE", "Recife", "50010-000");
+        em.flush();
+        delivery(company, order, destination, warehouse, "PROCESSING");
+
+        assertThrows(BusinessRuleException.class, () -> carrierAssignmentService.assignPendingDeliveries(null));
+    }
+
+    private Company carrier(String name, String cnpj, int capacity, String price, String state, String city) {
+        Company company = new Company();
+        company.setLegalName(name + " LTDA");
+        company.setTradeName(name);
+        company.setCnpj(cnpj);
+        company.setDeliveryCapacity(capacity);
+        company.setDeliveryPrice(new BigDecimal(price));
+        company.setAddress(address(state, city, null));
+        return em.persist(company);
+    }
+
+    private Warehouse warehouse(String name) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(name);
+        return em.persist(warehouse);
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderMethod(OrderMethod.ONLINE);
+        order.setOrderedAt(LocalDateTime.now());
+        order.setExoectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        return em.persist(order);
+    }
+
+    private void delivery(Company company, Order order, Address destination, Warehouse warehouse, String status) {
+        jdbcTemplate.update("INSERT INTO deliveries (companies_id, orders_id, price, status, addresses_destination_id, warehouses_source_id, created_at, updated_at) "
+                + "VALUES (?, ?, 0, ?, ?, ?, NOW(), NOW())", company.getId(), order.getId(), status, destination.getId(), warehouse.getId());
+    }
+
+    private Address address(String state, String city, String zipCode) {
+        Address address = new Address();
+        address.setState(state);
+        address.setCity(city);
+        address.setZipCode(zipCode);
+        return em.persist(address);
+    }
+}
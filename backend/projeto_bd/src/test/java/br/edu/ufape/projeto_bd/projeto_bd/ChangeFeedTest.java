@@ -0,0 +1,180 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.events.OutboxEventBatch;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.CursorExpiredException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderBatchRepository.NewOrder;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.OrderRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ChangeFeedService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxRelay;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // o teste chama o relay diretamente
+        "app.outbox.relay-interval-ms=3600000",
+        "app.outbox.max-attempts=1"
+})
+@Import({ ChangeFeedService.class, OutboxRelay.class, JacksonAutoConfiguration.class, ChangeFeedTest.Listener.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeFeedTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Listener listener;
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("outbox_events", "orders", "customers", "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        listener.poisonCustomerId.set(0);
+    }
+
+    @Test
+    void changes_ShouldListInsertsUpdatesAndSoftDeletesInSeqOrder() throws Exception {
+        Customer customer = customerRepository.save(customer());
+        customer.setName("Maria José");
+        customerRepository.save(customer);
+        customerRepository.delete(customer);
+        List<Long> orderIds = new TransactionTemplate(transactionManager).execute(status -> orderRepository.insertAll(List.of(
+                order(customer.getId()), order(customer.getId()))));
+        outboxRelay.publishBatch();
+
+        long until = changeFeedService.latestSeq(0);
+        List<JsonNode> changes = read(0, until);
+        assertEquals(List.of("customers CREATED", "customers UPDATED", "customers DELETED", "orders CREATED", "orders CREATED"),
+                changes.stream().map(change -> change.get("table").asText() + " " + change.get("op").asText()).toList());
+        assertEquals(customer.getId(), changes.get(2).get("key").get("id").asLong());
+        assertEquals(orderIds.get(1), changes.get(4).get("key").get("id").asLong());
+        assertEquals(until, changes.get(4).get("seq").asLong());
+        for (int i = 1; i < changes.size(); i++) {
+            assertTrue(changes.get(i).get("seq").asLong() > changes.get(i - 1).get("seq").asLong());
+        }
+
+        // a partir do cursor só vem o que mudou depois
+        long cursor = changes.get(2).get("seq").asLong();
+        assertEquals(orderIds, read(cursor, until).stream().map(change -> change.get("key").get("id").asLong()).toList());
+        assertTrue(read(until, changeFeedService.latestSeq(until)).isEmpty());
+    }
+
+    @Test
+    void latestSeq_WhenTheCursorWasPurged_ShouldReportItExpired() {
+        Customer customer = customerRepository.save(customer());
+        customer.setName("Maria José");
+        customerRepository.save(customer);
+        outboxRelay.publishBatch();
+        long first = jdbcTemplate.queryForObject("SELECT MIN(seq) FROM outbox_events", Long.class);
+
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE seq = ?", first);
+
+        assertThrows(CursorExpiredException.class, () -> changeFeedService.latestSeq(first - 1));
+        assertEquals(first + 1, changeFeedService.latestSeq(first));
+    }
+
+    @Test
+    void changes_WhenAnEventIsDeadLettered_ShouldStillListItInSeqOrder() throws Exception {
+        Customer poisoned = customerRepository.save(customer());
+        Customer other = customerRepository.save(customer());
+        listener.poisonCustomerId.set(poisoned.getId());
+
+        // 1º ciclo: o evento envenenado esgota a tentativa e é descartado; 2º: o outro é publicado
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        List<JsonNode> changes = read(0, changeFeedService.latestSeq(0));
+        assertEquals(List.of(poisoned.getId(), other.getId()),
+                changes.stream().map(change -> change.get("key").get("id").asLong()).toList());
+        assertEquals(List.of(1L, 2L), changes.stream().map(change -> change.get("seq").asLong()).toList());
+        assertTrue(changes.get(0).get("deadLettered").asBoolean());
+        assertFalse(changes.get(1).has("deadLettered"));
+    }
+
+    private List<JsonNode> read(long since, long until) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        changeFeedService.stream(since, until, out);
+        return out.toString().lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(line, e);
+            }
+        }).toList();
+    }
+
+    private static Customer customer() {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        Customer customer = new Customer();
+        customer.setName("Maria");
+        customer.setAddresses(address);
+        customer.setCreditLimit(BigDecimal.valueOf(1000));
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+        return customer;
+    }
+
+    private static NewOrder order(Long customerId) {
+        return new NewOrder(OrderMethod.ONLINE, OrderStatus.PENDING, customerId, LocalDateTime.now(),
+                LocalDateTime.now().plusDays(5));
+    }
+
+    static class Listener {
+
+        // lotes com a criação deste cliente sempre falham
+        final AtomicLong poisonCustomerId = new AtomicLong();
+
+        @EventListener
+        public void on(OutboxEventBatch batch) {
+            if (batch.events().stream().anyMatch(event -> "customers".equals(event.getAggregateType())
+                    && event.getAggregateId() == poisonCustomerId.get())) {
+                throw new IllegalStateException("falha simulada");
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderAggregateRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderLineRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository.CreditView;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ OrderService.class, OrderMapperImpl.class, KeysetCursorCodec.class, MinimumPriceCache.class,
+        OrderTotalsService.class, CreditLimitService.class, OutboxService.class, JacksonAutoConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CreditLimitServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CreditLimitService creditLimitService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        // os pedidos são confirmados de verdade para o saldo materializado entrar na exposição
+        for (String table : List.of("outbox_events", "orders_products", "order_totals", "customer_balances", "orders",
+                "products", "customers", "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void createOrderAggregate_OverTheCreditLimit_ShouldRejectAndInsertNothing() {
+        Customer customer = customer("1000");
+        Product chair = product();
+        orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 60L, new BigDecimal("10.00"))));
+
+        BusinessRuleException ex = assertThrows(BusinessRuleException.class,
+                () -> orderService.createOrderAggregate(request(customer.getId(),
+                        new OrderLineRequestDTO(chair.getId(), 41L, new BigDecimal("10.00")))));
+        assertTrue(ex.getMessage().contains("Limite de crédito"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+
+        orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 40L, new BigDecimal("10.00"))));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    void createOrderAggregate_AfterTheLimitIsRaised_ShouldUseTheNewLimit() {
+        Customer customer = customer("100");
+        Product chair = product();
+        assertThrows(BusinessRuleException.class, () -> orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 20L, new BigDecimal("10.00")))));
+
+        jdbcTemplate.update("UPDATE customers SET credit_limit = 500 WHERE id = ?", customer.getId());
+        creditLimitService.invalidate(customer.getId());
+
+        assertNotNull(orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 20L, new BigDecimal("10.00")))).getId());
+    }
+
+    @Test
+    void tryReserve_FromConcurrentTransactions_ShouldNeverExceedTheLimit() throws Exception {
+        Long customerId = customer("1000").getId();
+        int threads = 20;
+        CountDownLatch attempted = new CountDownLatch(threads);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> tx.execute(status -> {
+                    boolean reserved = creditLimitService.tryReserve(customerId, new BigDecimal("100.00"));
+                    attempted.countDown();
+                    try {
+                        // segura a reserva em andamento até todas as outras tentarem
+                        attempted.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    status.setRollbackOnly();
+                    return reserved;
+                })));
+            }
+            int reserved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) reserved++;
+            }
+            assertEquals(10, reserved);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // no rollback as reservas são devolvidas
+        assertTrue(creditLimitService.tryReserve(customerId, new BigDecimal("1000.00")));
+    }
+
+    @Test
+    void tryReserve_WhileAnotherCustomerOfTheStripeLoads_ShouldNotWaitForTheDatabase() throws Exception {
+        CustomerRepository repository = mock(CustomerRepository.class);
+        // uma faixa só: os dois clientes dividem a mesma trava
+        CreditLimitService service = new CreditLimitService(repository, 1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findCredit(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(credit("100", "0"));
+        });
+        when(repository.findCredit(2L)).thenReturn(Optional.of(credit("100", "0")));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> slow = executor.submit(() -> service.tryReserve(1L, BigDecimal.TEN));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            assertTrue(service.tryReserve(2L, BigDecimal.TEN));
+            release.countDown();
+            assertTrue(slow.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tryReserve_WhenInvalidatedDuringTheLoad_ShouldDiscardTheOldReadAndReload() {
+        CustomerRepository repository = mock(CustomerRepository.class);
+        CreditLimitService service = new CreditLimitService(repository, 1);
+        // a primeira leitura é anterior ao commit que aumentou o saldo para 90
+        when(repository.findCredit(anyLong())).thenAnswer(invocation -> {
+            service.invalidate(1L);
+            return Optional.of(credit("100", "0"));
+        }).thenReturn(Optional.of(credit("100", "90")));
+
+        assertFalse(service.tryReserve(1L, new BigDecimal("20")));
+        verify(repository, times(2)).findCredit(1L);
+    }
+
+    private static CreditView credit(String creditLimit, String openBalance) {
+        return new CreditView() {
+            @Override
+            public BigDecimal getCreditLimit() {
+                return new BigDecimal(creditLimit);
+            }
+
+            @Override
+            public BigDecimal getOpenBalance() {
+                return new BigDecimal(openBalance);
+            }
+        };
+    }
+
+    private Customer customer(String creditLimit) {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        Customer customer = new Customer();
+        customer.setName("Maria");
+        customer.setAddresses(address);
+        customer.setCreditLimit(new BigDecimal(creditLimit));
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+        return customerRepository.save(customer);
+    }
+
+    private Product product() {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(new BigDecimal("10.00"));
+        return productRepository.save(product);
+    }
+
+    private static OrderAggregateRequestDTO request(Long customerId, OrderLineRequestDTO... lines) {
+        OrderAggregateRequestDTO request = new OrderAggregateRequestDTO();
+        request.setOrderMethod(OrderMethod.ONLINE);
+        request.setOrderStatus(OrderStatus.PENDING);
+        request.setCustomerId(customerId);
+        request.setOrderedAt(LocalDateTime.now());
+        request.setExpectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        request.setLines(List.of(lines));
+        return request;
+    }
+}
@@ -0,0 +1,102 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchItemDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.AddressMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CategoryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.DeliveryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductStockMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.WarehouseMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.DeliveryRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.DeliveryService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.HotStockCounter;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductStockService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.StockAllocationService;
+
+/**
+ * Despacho em lote x uma chamada de createDelivery por entrega (o que os despachantes fazem via REST hoje).
+ * Não roda no build normal: mvn test -Dtest=DeliveryDispatchBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ DeliveryService.class, DeliveryMapperImpl.class, StockAllocationService.class, ProductStockService.class,
+        ProductStockMapperImpl.class, ProductMapperImpl.class, CategoryMapperImpl.class, WarehouseMapperImpl.class,
+        AddressMapperImpl.class, HotStockCounter.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DeliveryDispatchBenchmark {
+
+    private static final int ORDERS = 10_000;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void dispatch_BatchVersusPerRow() {
+        jdbcTemplate.update("INSERT INTO companies (legal_name, trade_name, cnpj, created_at, updated_at) VALUES ('Carrier', 'Carrier', '00000000000100', NOW(), NOW())");
+        IdAllocator ids = new IdAllocator(jdbcTemplate, transactionManager);
+        jdbcTemplate.update("INSERT INTO addresses (id, city, created_at, updated_at) VALUES (?, 'Recife', NOW(), NOW())",
+                ids.reserve(IdAllocator.ADDRESSES, 1));
+        jdbcTemplate.update("INSERT INTO warehouses (name, created_at, updated_at) VALUES ('Central', NOW(), NOW())");
+        Long companyId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM companies", Long.class);
+        Integer addressId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM addresses", Integer.class);
+        Long warehouseId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM warehouses", Long.class);
+
+        List<Object[]> orders = new ArrayList<>();
+        long firstOrderId = ids.reserve(IdAllocator.ORDERS, 2 * ORDERS);
+        for (int i = 0; i < 2 * ORDERS; i++) {
+            orders.add(new Object[] { firstOrderId + i, "PROCESSING", "ONLINE" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, status, order_method, ordered_at, expected_to_deliver_at, created_at, updated_at) "
+                + "VALUES (?, ?, ?, NOW(), NOW(), NOW(), NOW())", orders);
+        List<Long> orderIds = jdbcTemplate.queryForList("SELECT id FROM orders ORDER BY id", Long.class);
+
+        long start = System.nanoTime();
+        for (Long orderId : orderIds.subList(0, ORDERS)) {
+            deliveryService.createDelivery(new DeliveryRequestDTO(companyId, orderId, BigDecimal.TEN,
+                    DeliveryStatus.PROCESSING, addressId, warehouseId));
+        }
+        long perRowMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<DeliveryDispatchItemDTO> items = orderIds.subList(ORDERS, 2 * ORDERS).stream()
+                .map(orderId -> new DeliveryDispatchItemDTO(orderId, BigDecimal.TEN, warehouseId, addressId))
+                .toList();
+        start = System.nanoTime();
+        deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(companyId, items));
+        long batchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf(Locale.ROOT, "entregas=%d por-linha=%dms lote=%dms (%.1fx)%n",
+                ORDERS, perRowMillis, batchMillis, (double) perRowMillis / Math.max(1, batchMillis));
+        assertEquals(2L * ORDERS, deliveryRepository.count());
+    }
+}
@@ -0,0 +1,246 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchItemDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryDispatchRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.DeliveryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryDispatchResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.DeliveryResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Company;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.DeliveryStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.AddressMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CategoryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.DeliveryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductStockMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.WarehouseMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.DeliveryService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.HotStockCounter;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductStockService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.StockAllocationService;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ DeliveryService.class, DeliveryMapperImpl.class, StockAllocationService.class, ProductStockService.class,
+        ProductStockMapperImpl.class, ProductMapperImpl.class, CategoryMapperImpl.class, WarehouseMapperImpl.class,
+        AddressMapperImpl.class, HotStockCounter.class })
+class DeliveryServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    private Company carrier;
+    private Address destination;
+    private Warehouse recife;
+    private Warehouse garanhuns;
+    private Product chair;
+
+    @BeforeEach
+    void setUp() {
+        carrier = new Company();
+        carrier.setLegalName("Transportes Agreste LTDA");
+        carrier.setTradeName("Agreste Log");
+        carrier.setCnpj("12345678000199");
+        em.persist(carrier);
+
+        destination = new Address();
+        destination.setCity("Garanhuns");
+        em.persist(destination);
+
+        recife = warehouse("Recife");
+        garanhuns = warehouse("Garanhuns");
+
+        chair = new Product();
+        chair.setWarranty_date(LocalDateTime.now().plusDays(30));
+        chair.setStatus(ProductStatus.TESTED);
+        chair.setMinimumSalePrice(BigDecimal.TEN);
+        em.persist(chair);
+    }
+
+    @Test
+    void createDelivery_ShouldExposeReferencedIds() {
+        Order order = order(0);
+
+        DeliveryResponseDTO created = deliveryService.createDelivery(new DeliveryRequestDTO(carrier.getId(),
+                order.getId(), BigDecimal.valueOf(25), DeliveryStatus.PROCESSING, destination.getId(), recife.getId()));
+
+        DeliveryResponseDTO found = deliveryService.findDeliveryById(created.getId());
+        assertEquals(carrier.getId(), found.getCompanyId());
+        assertEquals(order.getId(), found.getOrderId());
+        assertEquals(destination.getId(), found.getDestinationAddressId());
+        assertEquals(recife.getId(), found.getWarehouseId());
+    }
+
+    @Test
+    void dispatchDeliveries_ShouldCreateOneDeliveryPerAllocatedWarehouse() {
+        stock(recife, 6);
+        stock(garanhuns, 6);
+        Order explicit = order(0);
+        Order allocated = order(10);
+        em.flush();
+
+        DeliveryDispatchResponseDTO result = deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(explicit.getId(), BigDecimal.valueOf(15), recife.getId(), destination.getId()),
+                new DeliveryDispatchItemDTO(allocated.getId(), BigDecimal.valueOf(30), null, destination.getId()))));
+
+        assertEquals(2, result.getOrders());
+        assertEquals(3, result.getDeliveries());
+        List<DeliveryResponseDTO> split = deliveryService.findAllDeliveries(allocated.getId(), Pageable.unpaged()).getContent();
+        assertEquals(2, split.size());
+        assertTrue(split.stream().allMatch(d -> d.getStatus() == DeliveryStatus.PROCESSING));
+        assertEquals(1, deliveryService.findAllDeliveries(explicit.getId(), Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void dispatchDeliveries_WhenAllocationSplitsAnOrder_ShouldApportionThePrice() {
+        stock(recife, 6);
+        stock(garanhuns, 6);
+        Order allocated = order(10);
+        em.flush();
+
+        deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(allocated.getId(), new BigDecimal("30.01"), null, destination.getId()))));
+
+        List<BigDecimal> prices = deliveryService.findAllDeliveries(allocated.getId(), Pageable.unpaged()).getContent().stream()
+                .map(DeliveryResponseDTO::getPrice)
+                .sorted()
+                .toList();
+        assertEquals(2, prices.size());
+        assertEquals(0, new BigDecimal("15.00").compareTo(prices.get(0)));
+        assertEquals(0, new BigDecimal("15.01").compareTo(prices.get(1)));
+    }
+
+    @Test
+    void dispatchDeliveries_ShouldReserveTheStockOfEachDelivery() {
+        ProductStock recifeStock = stock(recife, 6);
+        ProductStock garanhunsStock = stock(garanhuns, 6);
+        Order explicit = order(2);
+        Order allocated = order(10);
+        em.flush();
+
+        deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(explicit.getId(), BigDecimal.ONE, garanhuns.getId(), destination.getId()),
+                new DeliveryDispatchItemDTO(allocated.getId(), BigDecimal.ONE, null, destination.getId()))));
+        em.clear();
+
+        // o pedido explícito reserva 2 em Garanhuns; a alocação do outro já vê só 4 lá e leva 6 de Recife
+        ProductStock recifeAfter = em.find(ProductStock.class, recifeStock.getId());
+        ProductStock garanhunsAfter = em.find(ProductStock.class, garanhunsStock.getId());
+        assertEquals(6L, recifeAfter.getReserved());
+        assertEquals(6L, garanhunsAfter.getReserved());
+        assertEquals(0L, recifeAfter.getAmount() + garanhunsAfter.getAmount());
+    }
+
+    @Test
+    void dispatchDeliveries_WhenAnOrderIsNotProcessingOrAlreadyDispatched_ShouldReject() {
+        stock(recife, 6);
+        Order pending = order(1);
+        pending.setOrderStatus(OrderStatus.PENDING);
+        Order processing = order(1);
+        em.flush();
+
+        assertThrows(BusinessRuleException.class, () -> deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(pending.getId(), BigDecimal.ONE, recife.getId(), destination.getId())))));
+
+        deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(processing.getId(), BigDecimal.ONE, recife.getId(), destination.getId()))));
+        assertThrows(BusinessRuleException.class, () -> deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(processing.getId(), BigDecimal.ONE, recife.getId(), destination.getId())))));
+        assertEquals(1, deliveryService.findAllDeliveries(processing.getId(), Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void dispatchDeliveries_WhenTheChosenWarehouseLacksStock_ShouldReject() {
+        stock(recife, 1);
+        Order order = order(2);
+        em.flush();
+
+        assertThrows(BusinessRuleException.class, () -> deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(order.getId(), BigDecimal.ONE, recife.getId(), destination.getId())))));
+    }
+
+    @Test
+    void dispatchDeliveries_WhenAnyReferenceIsMissing_ShouldRejectTheWholeBatch() {
+        Order order = order(0);
+        em.flush();
+
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(order.getId(), BigDecimal.ONE, recife.getId(), destination.getId()),
+                new DeliveryDispatchItemDTO(order.getId() + 100, BigDecimal.ONE, recife.getId(), destination.getId())))));
+        assertThrows(EntityNotFoundException.class, () -> deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(order.getId(), BigDecimal.ONE, 999L, destination.getId())))));
+        assertEquals(0, deliveryService.findAllDeliveries(null, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void dispatchDeliveries_WhenStockCannotCoverTheOrder_ShouldReject() {
+        stock(recife, 3);
+        Order order = order(10);
+        em.flush();
+
+        assertThrows(BusinessRuleException.class, () -> deliveryService.dispatchDeliveries(new DeliveryDispatchRequestDTO(carrier.getId(), List.of(
+                new DeliveryDispatchItemDTO(order.getId(), BigDecimal.ONE, null, destination.getId())))));
+    }
+
+    private Warehouse warehouse(String name) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(name);
+        return em.persist(warehouse);
+    }
+
+    private ProductStock stock(Warehouse warehouse, long amount) {
+        ProductStock stock = new ProductStock();
+        stock.setCode("EST-" + warehouse.getId());
+        stock.setAmount(amount);
+        stock.setProduct(chair);
+        stock.setWarehouse(warehouse);
+        return em.persist(stock);
+    }
+
+    private Order order(long chairs) {
+        Order order = new Order();
+        order.setOrderStatus(OrderStatus.PROCESSING);
+        order.setOrderMethod(OrderMethod.ONLINE);
+        order.setOrderedAt(LocalDateTime.now());
+        order.setExoectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        em.persist(order);
+        if (chairs > 0) {
+            OrderProduct line = new OrderProduct();
+            line.setOrder(order);
+            line.setProduct(chair);
+            line.setAmount(chairs);
+            line.setSalePrice(BigDecimal.TEN);
+            em.persist(line);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,128 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.HotStockConsumptionRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.WarehouseRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.HotStockCounter;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.HotStockCounter.Reservation;
+
+/**
+ * Vazão de reservas concorrentes num único SKU: UPDATE condicional direto x cota em memória.
+ * Não roda no build normal: mvn test -Dtest=HotStockCounterBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockCounterBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int RESERVES_PER_THREAD = 5_000;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private HotStockConsumptionRepository consumptionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void reserve_DirectUpdateVersusHotCounter() throws Exception {
+        long total = (long) THREADS * RESERVES_PER_THREAD;
+
+        ProductStock direct = createStock("DIRECT", total);
+        Long productId = direct.getProduct().getId();
+        Long warehouseId = direct.getWarehouse().getId();
+        double directRate = run(() -> transactionTemplate.execute(status ->
+                productStockRepository.reserve(productId, warehouseId, 1)) == 1);
+
+        ProductStock hot = createStock("HOT", total);
+        Long hotProductId = hot.getProduct().getId();
+        Long hotWarehouseId = hot.getWarehouse().getId();
+        HotStockCounter counter = new HotStockCounter(productStockRepository, consumptionRepository, transactionManager, 500);
+        counter.enable(hotProductId, hotWarehouseId);
+        double hotRate = run(() -> transactionTemplate.execute(status ->
+                counter.tryReserve(hotProductId, hotWarehouseId, 1)) == Reservation.RESERVED);
+        counter.flush();
+
+        System.out.printf(Locale.ROOT, "threads=%d reservas=%d direto=%.0f/s quente=%.0f/s (%.1fx)%n",
+                THREADS, total, directRate, hotRate, hotRate / directRate);
+        assertEquals(total, productStockRepository.findById(hot.getId()).orElseThrow().getReserved());
+    }
+
+    private double run(Supplier<Boolean> reserve) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < RESERVES_PER_THREAD; i++) {
+                    assertTrue(reserve.get());
+                }
+                return null;
+            });
+        }
+        long start = System.nanoTime();
+        for (var result : executor.invokeAll(tasks)) {
+            result.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return THREADS * RESERVES_PER_THREAD / (elapsed / 1e9);
+    }
+
+    private ProductStock createStock(String code, long amount) {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(BigDecimal.TEN);
+        productRepository.save(product);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(code);
+        warehouseRepository.save(warehouse);
+
+        ProductStock stock = new ProductStock();
+        stock.setCode(code);
+        stock.setAmount(amount);
+        stock.setProduct(product);
+        stock.setWarehouse(warehouse);
+        return productStockRepository.save(stock);
+    }
+}
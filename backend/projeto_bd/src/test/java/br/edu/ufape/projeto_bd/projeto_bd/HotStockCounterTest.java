@@ -0,0 +1,183 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.HotStockConsumptionRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.WarehouseRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.HotStockCounter;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.HotStockCounter.Reservation;
+
+/**
+ * Reservas em memória de um estoque quente: nunca vendem mais que o saldo,
+ * rollbacks devolvem a cota e o flush/desativação deixam o banco consistente.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotStockCounterTest {
+
+    private static final long INITIAL_AMOUNT = 1_000;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private HotStockConsumptionRepository consumptionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private HotStockCounter counter;
+    private Long productId;
+    private Long warehouseId;
+
+    @BeforeEach
+    void setUp() {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(BigDecimal.TEN);
+        productId = productRepository.save(product).getId();
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Central");
+        warehouseId = warehouseRepository.save(warehouse).getId();
+
+        ProductStock stock = new ProductStock();
+        stock.setCode("EST-" + productId);
+        stock.setAmount(INITIAL_AMOUNT);
+        stock.setProduct(product);
+        stock.setWarehouse(warehouse);
+        productStockRepository.save(stock);
+
+        counter = new HotStockCounter(productStockRepository, consumptionRepository, transactionManager, 64);
+        counter.enable(productId, warehouseId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumptionRepository.deleteAllInBatch();
+        productStockRepository.deleteAllInBatch();
+        warehouseRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void tryReserve_UnderConcurrency_ShouldNeverOversell() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                int reserved = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (reserve(1) == Reservation.RESERVED) reserved++;
+                    if (i % 50 == 0) counter.flush();
+                }
+                return reserved;
+            });
+        }
+
+        int totalReserved = 0;
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+            totalReserved += result.get();
+        }
+        executor.shutdown();
+        counter.flush();
+
+        ProductStock stock = productStockRepository.findAll().get(0);
+        assertEquals(INITIAL_AMOUNT, totalReserved);
+        assertEquals(0L, stock.getAmount());
+        assertEquals(0L, stock.getLeased());
+        assertEquals(INITIAL_AMOUNT, stock.getReserved());
+    }
+
+    @Test
+    void flush_ShouldOnlyPersistCommittedReservations() {
+        assertEquals(Reservation.RESERVED, reserve(10));
+        transactionTemplate.executeWithoutResult(status -> {
+            counter.tryReserve(productId, warehouseId, 20);
+            status.setRollbackOnly();
+        });
+        counter.flush();
+
+        ProductStock stock = productStockRepository.findAll().get(0);
+        assertEquals(INITIAL_AMOUNT - 64, stock.getAmount());
+        assertEquals(54L, stock.getLeased());
+        assertEquals(10L, stock.getReserved());
+
+        counter.disable(productId, warehouseId);
+
+        stock = productStockRepository.findAll().get(0);
+        assertEquals(INITIAL_AMOUNT - 10, stock.getAmount());
+        assertEquals(0L, stock.getLeased());
+        assertFalse(counter.isHot(productId, warehouseId));
+        assertEquals(Reservation.NOT_HOT, reserve(1));
+    }
+
+    @Test
+    void tryReserve_WhenStockIsShort_ShouldLeaseOnlyWhatRemains() {
+        assertEquals(Reservation.RESERVED, reserve(INITIAL_AMOUNT - 5));
+        assertEquals(Reservation.INSUFFICIENT, reserve(6));
+        assertEquals(Reservation.RESERVED, reserve(5));
+        assertEquals(Reservation.INSUFFICIENT, reserve(1));
+    }
+
+    @Test
+    void reconcile_AfterACrash_ShouldKeepCommittedReservationsAndReturnTheRest() {
+        assertEquals(Reservation.RESERVED, reserve(3));
+        transactionTemplate.executeWithoutResult(status -> {
+            counter.tryReserve(productId, warehouseId, 5);
+            status.setRollbackOnly();
+        });
+
+        // sem flush: uma nova instância, como após reiniciar a aplicação
+        int returned = new HotStockCounter(productStockRepository, consumptionRepository, transactionManager, 64).reconcile();
+
+        ProductStock stock = productStockRepository.findAll().get(0);
+        assertEquals(1, returned);
+        assertEquals(INITIAL_AMOUNT - 3, stock.getAmount());
+        assertEquals(0L, stock.getLeased());
+        assertEquals(3L, stock.getReserved());
+        assertEquals(0L, consumptionRepository.count());
+    }
+
+    private Reservation reserve(long quantity) {
+        return transactionTemplate.execute(status -> counter.tryReserve(productId, warehouseId, quantity));
+    }
+}
@@ -0,0 +1,97 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.AddressRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ids de id_generators: o Hibernate grava em lotes e as faixas reservadas pelo IdAllocator para os INSERTs
+ * via JDBC não se cruzam com as que ele guarda em memória.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdAllocatorTest {
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM addresses");
+        // o cache de segundo nível é compartilhado entre os contextos de teste e as linhas foram apagadas por fora
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void reservedBlocks_ShouldNotOverlapTheIdsHibernateHoldsInMemory() {
+        Integer first = addressRepository.save(address("Recife")).getId();
+
+        IdAllocator idAllocator = new IdAllocator(jdbcTemplate, transactionManager);
+        long block = idAllocator.reserve(IdAllocator.ADDRESSES, 10);
+        assertTrue(block > first);
+        for (long id = block; id < block + 10; id++) {
+            jdbcTemplate.update("INSERT INTO addresses (id, city, created_at, updated_at) VALUES (?, 'Caruaru', NOW(), NOW())", id);
+        }
+        assertEquals(block + 10, idAllocator.reserve(IdAllocator.ADDRESSES, 1));
+
+        List<Address> more = new ArrayList<>();
+        for (int i = 0; i < 2 * IdAllocator.ALLOCATION_SIZE; i++) {
+            more.add(address("Garanhuns"));
+        }
+        addressRepository.saveAll(more);
+
+        assertEquals(1 + 10 + 2 * IdAllocator.ALLOCATION_SIZE,
+                jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT id) FROM addresses", Integer.class));
+        assertTrue(more.stream().allMatch(a -> a.getId() < block || a.getId() > block + 10));
+    }
+
+    @Test
+    void saveAll_ShouldGroupTheInsertsInJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < 2 * IdAllocator.ALLOCATION_SIZE; i++) {
+            addresses.add(address("Petrolina"));
+        }
+
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> addressRepository.saveAll(addresses));
+
+        // com IDENTITY seria um INSERT (e um statement) por endereço; aqui são poucos lotes e as leituras das faixas
+        assertTrue(statistics.getPrepareStatementCount() < 10, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(addresses.size(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM addresses", Integer.class));
+    }
+
+    private static Address address(String city) {
+        Address address = new Address();
+        address.setCity(city);
+        return address;
+    }
+}
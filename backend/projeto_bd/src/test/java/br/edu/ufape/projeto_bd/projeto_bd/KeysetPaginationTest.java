@@ -0,0 +1,165 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.WindowResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CategoryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductSuggestIndex;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Percorre as listagens por cursor janela a janela, garantindo que nenhum item
+ * se repete ou se perde mesmo com chaves de ordenação repetidas, e que nenhuma
+ * janela executa COUNT.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ ProductService.class, OrderProductService.class, LanguageRegistry.class, ProductMapperImpl.class,
+        CategoryMapperImpl.class, OrderProductMapperImpl.class, KeysetCursorCodec.class,
+        ProductSuggestIndex.class, MinimumPriceCache.class, OrderTotalsService.class,
+        CreditLimitService.class })
+class KeysetPaginationTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderProductService orderProductService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Product p = new Product();
+            p.setWarranty_date(LocalDateTime.now().plusDays(30));
+            p.setStatus(ProductStatus.TESTED);
+            // apenas 4 preços distintos: o desempate por id é obrigatório
+            p.setMinimumSalePrice(BigDecimal.valueOf(10 + i % 4));
+            products.add(em.persist(p));
+        }
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setOrderMethod(OrderMethod.ONLINE);
+            order.setOrderedAt(LocalDateTime.now());
+            order.setExoectedToDeliverAt(LocalDateTime.now().plusDays(5));
+            order.setCreatedAt(LocalDateTime.now());
+            order.setUpdatedAt(LocalDateTime.now());
+            em.persist(order);
+            for (int j = 0; j < 4; j++) {
+                OrderProduct line = new OrderProduct();
+                line.setOrder(order);
+                line.setProduct(products.get(j));
+                line.setAmount(1L);
+                line.setSalePrice(BigDecimal.TEN);
+                em.persist(line);
+            }
+        }
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void scrollProducts_ShouldVisitEveryProductOnceWithoutCount() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "minimumSalePrice");
+        Set<Long> seen = new HashSet<>();
+        List<BigDecimal> prices = new ArrayList<>();
+        String after = null;
+        int windows = 0;
+
+        do {
+            em.clear();
+            statistics.clear();
+            WindowResponseDTO<ProductResponseDTO> window = productService.scrollProducts(after, 5, sort, null);
+            // janela + categorias + traduções, sem COUNT
+            assertTrue(statistics.getPrepareStatementCount() <= 3,
+                    "janela executou " + statistics.getPrepareStatementCount() + " consultas");
+
+            for (ProductResponseDTO dto : window.getContent()) {
+                assertTrue(seen.add(dto.getId()), "produto repetido: " + dto.getId());
+                prices.add(dto.getMinimumSalePrice());
+            }
+            after = window.getNext();
+            windows++;
+        } while (after != null);
+
+        assertEquals(23, seen.size());
+        assertEquals(5, windows);
+        for (int i = 1; i < prices.size(); i++) {
+            assertTrue(prices.get(i - 1).compareTo(prices.get(i)) >= 0);
+        }
+    }
+
+    @Test
+    void scrollProducts_WhenCursorDoesNotMatchSort_ShouldReject() {
+        String after = productService.scrollProducts(null, 5, Sort.by("minimumSalePrice"), null).getNext();
+
+        assertThrows(BusinessRuleException.class,
+                () -> productService.scrollProducts(after, 5, Sort.by("status"), null));
+        assertThrows(BusinessRuleException.class,
+                () -> productService.scrollProducts("não-é-um-cursor", 5, Sort.unsorted(), null));
+    }
+
+    @Test
+    void scrollOrderProducts_ShouldFollowCompositeKey() {
+        List<String> keys = new ArrayList<>();
+        String after = null;
+
+        do {
+            WindowResponseDTO<OrderProductResponseDTO> window = orderProductService.scrollOrderProducts(after, 5);
+            for (OrderProductResponseDTO dto : window.getContent()) {
+                keys.add(dto.getOrderId() + "-" + dto.getProductId());
+            }
+            after = window.getNext();
+        } while (after != null);
+
+        assertEquals(12, keys.size());
+        assertEquals(12, new HashSet<>(keys).size());
+    }
+}
@@ -0,0 +1,66 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.controllers.LanguageController;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class LanguageControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private LanguageRegistry languageRegistry;
+
+    private LanguageRegistry.Snapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        LanguageController languageController = new LanguageController(languageRegistry,
+                JsonMapper.builder().findAndAddModules().build());
+        mockMvc = MockMvcBuilders.standaloneSetup(languageController).build();
+
+        Language pt = new Language();
+        pt.setId(1L);
+        pt.setLanguageName("Português");
+        pt.setIsoCode("pt");
+        snapshot = new LanguageRegistry.Snapshot(List.of(pt), Map.of("pt", pt), Map.of(1L, pt));
+    }
+
+    @Test
+    void listLanguages_ShouldReturnLanguagesWithEtag() throws Exception {
+        when(languageRegistry.getSnapshot()).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/languages"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].isoCode").value("pt"));
+    }
+
+    @Test
+    void listLanguages_WhenEtagMatches_ShouldReturnNotModified() throws Exception {
+        when(languageRegistry.getSnapshot()).thenReturn(snapshot);
+
+        MvcResult first = mockMvc.perform(get("/api/languages")).andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/languages").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
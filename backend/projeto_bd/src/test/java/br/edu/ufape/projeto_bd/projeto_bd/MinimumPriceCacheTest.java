@@ -0,0 +1,82 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository.PriceView;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+
+class MinimumPriceCacheTest {
+
+    private static final Long PRODUCT_ID = 7L;
+
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+    }
+
+    @Test
+    void getAll_ShouldServeCachedPricesUntilEvicted() {
+        MinimumPriceCache cache = new MinimumPriceCache(productRepository, Duration.ofMinutes(5));
+        when(productRepository.findPricesByIdIn(any()))
+                .thenReturn(List.of(price("10.00")))
+                .thenReturn(List.of(price("12.00")));
+
+        assertEquals(new BigDecimal("10.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+        assertEquals(new BigDecimal("10.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+        cache.evict(PRODUCT_ID);
+        assertEquals(new BigDecimal("12.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+        verify(productRepository, times(2)).findPricesByIdIn(any());
+    }
+
+    @Test
+    void getAll_WhenEvictedWhileLoading_ShouldNotCacheThePriceReadBeforeTheCommit() {
+        MinimumPriceCache cache = new MinimumPriceCache(productRepository, Duration.ofMinutes(5));
+        // a alteração do produto confirma (e descarta a entrada) entre a consulta e a gravação no cache
+        when(productRepository.findPricesByIdIn(any()))
+                .thenAnswer(invocation -> {
+                    cache.evict(PRODUCT_ID);
+                    return List.of(price("10.00"));
+                })
+                .thenReturn(List.of(price("15.00")));
+
+        assertEquals(new BigDecimal("10.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+        assertEquals(new BigDecimal("15.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+        assertEquals(new BigDecimal("15.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+        verify(productRepository, times(2)).findPricesByIdIn(any());
+    }
+
+    @Test
+    void getAll_AfterTheTtl_ShouldReloadThePrice() {
+        MinimumPriceCache cache = new MinimumPriceCache(productRepository, Duration.ZERO);
+        when(productRepository.findPricesByIdIn(any()))
+                .thenReturn(List.of(price("10.00")))
+                .thenReturn(List.of(price("11.00")));
+
+        cache.getAll(List.of(PRODUCT_ID));
+
+        assertEquals(new BigDecimal("11.00"), cache.getAll(List.of(PRODUCT_ID)).get(PRODUCT_ID));
+    }
+
+    private static PriceView price(String value) {
+        return new PriceView() {
+            @Override
+            public Long getId() {
+                return PRODUCT_ID;
+            }
+
+            @Override
+            public BigDecimal getMinimumSalePrice() {
+                return new BigDecimal(value);
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderIngestResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.IdAllocator;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderIngestionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+
+/**
+ * Ingestão em lote x o caminho atual (um createOrder e um createOrderProduct por item).
+ * Não roda no build normal: mvn test -Dtest=OrderIngestionBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ OrderIngestionService.class, MinimumPriceCache.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class, OrderService.class, OrderMapperImpl.class, OrderProductService.class,
+        OrderProductMapperImpl.class, KeysetCursorCodec.class, OrderTotalsService.class,
+        CreditLimitService.class, OutboxService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderIngestionBenchmark {
+
+    private static final int PER_ROW_ORDERS = 2_000;
+    private static final int BULK_ORDERS = 50_000;
+    private static final int LINES = 3;
+    private static final int PRODUCTS = 500;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderProductService orderProductService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("outbox_events", "orders_products", "order_totals", "customer_balances", "orders",
+                "products", "customers", "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void ingest_BulkVersusPerRow() {
+        jdbcTemplate.update("INSERT INTO addresses (id, city, created_at, updated_at) VALUES (?, 'Recife', NOW(), NOW())",
+                new IdAllocator(jdbcTemplate, transactionManager).reserve(IdAllocator.ADDRESSES, 1));
+        jdbcTemplate.update("INSERT INTO customers (name, addresses_id, credit_limit, created_at, updated_at) "
+                + "VALUES ('Marketplace', (SELECT MAX(id) FROM addresses), 1000000000, NOW(), NOW())");
+        Long customerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM customers", Long.class);
+        for (int i = 0; i < PRODUCTS; i++) {
+            jdbcTemplate.update("INSERT INTO products (warranty_date, status, minimum_sale_price, created_at, updated_at) "
+                    + "VALUES (NOW(), 'TESTED', 10, NOW(), NOW())");
+        }
+        List<Long> productIds = jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < PER_ROW_ORDERS; i++) {
+            OrderRequestDTO order = new OrderRequestDTO();
+            order.setOrderMethod(OrderMethod.ONLINE);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setCustomerId(customerId);
+            order.setOrderedAt(LocalDateTime.now());
+            order.setExpectedToDeliverAt(LocalDateTime.now().plusDays(5));
+            Long orderId = orderService.createOrder(order).getId();
+            for (int line = 0; line < LINES; line++) {
+                OrderProductRequestDTO item = new OrderProductRequestDTO();
+                item.setOrderId(orderId);
+                item.setProductId(productIds.get((i + line) % PRODUCTS));
+                item.setAmount(1 + line);
+                item.setSalePrice(12.5);
+                orderProductService.createOrderProduct(item);
+            }
+        }
+        double perRowRate = PER_ROW_ORDERS / ((System.nanoTime() - start) / 1e9);
+
+        StringBuilder body = new StringBuilder(BULK_ORDERS * 300).append('[');
+        for (int i = 0; i < BULK_ORDERS; i++) {
+            if (i > 0) body.append(',');
+            body.append("{\"orderMethod\":\"ONLINE\",\"orderStatus\":\"PENDING\",\"customerId\":").append(customerId)
+                    .append(",\"orderedAt\":\"2025-03-01T10:00:00\",\"expectedToDeliverAt\":\"2025-03-05T10:00:00\",\"lines\":[");
+            for (int line = 0; line < LINES; line++) {
+                if (line > 0) body.append(',');
+                body.append("{\"productId\":").append(productIds.get((i + line) % PRODUCTS))
+                        .append(",\"amount\":").append(1 + line).append(",\"salePrice\":12.50}");
+            }
+            body.append("]}");
+        }
+        byte[] json = body.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        start = System.nanoTime();
+        OrderIngestResponseDTO response = orderIngestionService.ingest(new ByteArrayInputStream(json));
+        double bulkRate = BULK_ORDERS / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf(Locale.ROOT, "pedidos/s (3 itens): por-linha=%.0f lote=%.0f (%.1fx) json=%dKB%n",
+                perRowRate, bulkRate, bulkRate / perRowRate, json.length / 1024);
+        assertEquals(BULK_ORDERS, response.getCreated());
+        assertEquals((long) (PER_ROW_ORDERS + BULK_ORDERS) * LINES,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_products", Long.class));
+    }
+}
@@ -0,0 +1,150 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderIngestResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderIngestResultDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderIngestionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxService;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ OrderIngestionService.class, MinimumPriceCache.class, JacksonAutoConfiguration.class,
+        ValidationAutoConfiguration.class, OrderTotalsService.class, CreditLimitService.class, OutboxService.class })
+class OrderIngestionServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Product chair;
+    private Product table;
+
+    @BeforeEach
+    void setUp() {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        customer = new Customer();
+        customer.setName("Maria");
+        customer.setAddresses(address);
+        customer.setCreditLimit(BigDecimal.valueOf(100_000_000));
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+        em.persist(customer);
+        chair = product("10.00");
+        table = product("50.00");
+        em.flush();
+    }
+
+    @Test
+    void ingest_ShouldInsertValidOrdersAndReportTheRejectedOnes() {
+        String body = "[" + String.join(",",
+                order(customer.getId(), line(chair.getId(), 2, "12.00"), line(table.getId(), 1, "50.00")),
+                order(customer.getId(), line(999L, 1, "10.00")),
+                order(customer.getId(), line(table.getId(), 1, "49.99")),
+                order(customer.getId() + 100, line(chair.getId(), 1, "10.00")),
+                order(customer.getId(), line(chair.getId(), 1, "10.00"), line(chair.getId(), 3, "10.00")),
+                order(customer.getId()).replace("\"ONLINE\"", "\"FAX\""),
+                order(customer.getId(), line(chair.getId(), 1, "10.00")).replace("\"PENDING\"", "\"DELIVERED\""),
+                order(customer.getId())) + "]";
+
+        OrderIngestResponseDTO response = ingest(body);
+
+        assertEquals(8, response.getReceived());
+        assertEquals(1, response.getCreated());
+        assertEquals(7, response.getRejected());
+        List<OrderIngestResultDTO> results = response.getResults();
+        assertNotNull(results.get(0).getOrderId());
+        assertTrue(results.get(0).getErrors().isEmpty());
+        for (int i = 1; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertNull(results.get(i).getOrderId());
+            assertFalse(results.get(i).getErrors().isEmpty(), "pedido " + i);
+        }
+        assertTrue(results.get(2).getErrors().get(0).contains("abaixo do mínimo"));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+        assertEquals(customer.getId(), jdbcTemplate.queryForObject("SELECT customers_id FROM orders", Long.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_products WHERE orders_id = ?",
+                Integer.class, results.get(0).getOrderId()));
+    }
+
+    @Test
+    void ingest_AcrossSeveralChunks_ShouldKeepIndexesAndIds() {
+        int orders = OrderIngestionService.CHUNK_SIZE * 2 + 10;
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < orders; i++) {
+            if (i > 0) body.append(',');
+            body.append(order(customer.getId(), line(chair.getId(), i + 1, "10.00")));
+        }
+        body.append(']');
+
+        OrderIngestResponseDTO response = ingest(body.toString());
+
+        assertEquals(orders, response.getCreated());
+        OrderIngestResultDTO last = response.getResults().get(orders - 1);
+        assertEquals(orders - 1, last.getIndex());
+        assertEquals((long) orders, jdbcTemplate.queryForObject("SELECT amount FROM orders_products WHERE orders_id = ?",
+                Long.class, last.getOrderId()));
+    }
+
+    @Test
+    void ingest_WhenBodyIsNotAnArray_ShouldReject() {
+        assertThrows(BusinessRuleException.class, () -> ingest("{}"));
+        assertThrows(BusinessRuleException.class, () -> ingest("[" + order(customer.getId(), line(chair.getId(), 1, "10.00")) + ",{"));
+    }
+
+    private OrderIngestResponseDTO ingest(String body) {
+        return orderIngestionService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Product product(String minimumSalePrice) {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(new BigDecimal(minimumSalePrice));
+        return em.persist(product);
+    }
+
+    private static String order(Long customerId, String... lines) {
+        return """
+                {"orderMethod":"ONLINE","orderStatus":"PENDING","customerId":%d,\
+                "orderedAt":"2025-03-01T10:00:00","expectedToDeliverAt":"2025-03-05T10:00:00","lines":[%s]}"""
+                .formatted(customerId, String.join(",", lines));
+    }
+
+    private static String line(Long productId, long amount, String salePrice) {
+        return """
+                {"productId":%d,"amount":%d,"salePrice":%s}""".formatted(productId, amount, salePrice);
+    }
+}
@@ -0,0 +1,146 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductBatchRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.InvalidOrderLinesException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ OrderProductService.class, OrderProductMapperImpl.class, KeysetCursorCodec.class, MinimumPriceCache.class,
+        OrderTotalsService.class, CreditLimitService.class })
+class OrderProductServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private OrderProductService orderProductService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Order order;
+    private Product chair;
+    private Product table;
+
+    @BeforeEach
+    void setUp() {
+        order = new Order();
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderMethod(OrderMethod.ONLINE);
+        order.setOrderedAt(LocalDateTime.now());
+        order.setExoectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        em.persist(order);
+        chair = product("10.00");
+        table = product("50.00");
+        em.flush();
+    }
+
+    @Test
+    void createOrderProducts_ShouldInsertAllLines() {
+        List<OrderProductResponseDTO> created = orderProductService.createOrderProducts(new OrderProductBatchRequestDTO(List.of(
+                line(order.getId(), chair.getId(), 10.0),
+                line(order.getId(), table.getId(), 55.0))));
+
+        assertEquals(2, created.size());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_products WHERE orders_id = ?",
+                Integer.class, order.getId()));
+    }
+
+    @Test
+    void createOrderProducts_WithInvalidLines_ShouldReportEachOneAndInsertNothing() {
+        InvalidOrderLinesException ex = assertThrows(InvalidOrderLinesException.class,
+                () -> orderProductService.createOrderProducts(new OrderProductBatchRequestDTO(List.of(
+                        line(order.getId(), chair.getId(), 10.0),
+                        line(order.getId(), table.getId(), 49.99),
+                        line(order.getId() + 100, chair.getId(), 10.0),
+                        line(order.getId(), 999L, 10.0),
+                        line(order.getId(), chair.getId(), 12.0)))));
+
+        assertEquals(List.of("lines[1]", "lines[2]", "lines[3]", "lines[4]"), List.copyOf(ex.getErrors().keySet()));
+        assertTrue(ex.getErrors().get("lines[1]").get(0).contains("50.00"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_products", Integer.class));
+    }
+
+    @Test
+    void createOrderProduct_BelowMinimumPrice_ShouldReturnFieldError() {
+        InvalidOrderLinesException ex = assertThrows(InvalidOrderLinesException.class,
+                () -> orderProductService.createOrderProduct(line(order.getId(), table.getId(), 20.0)));
+
+        assertTrue(ex.getErrors().containsKey("salePrice"));
+    }
+
+    @Test
+    void updateOrderProduct_BelowMinimumPrice_ShouldBeRejected() {
+        orderProductService.createOrderProduct(line(order.getId(), table.getId(), 60.0));
+
+        assertThrows(InvalidOrderLinesException.class, () -> orderProductService.updateOrderProduct(
+                order.getId(), table.getId(), line(order.getId(), table.getId(), 49.0)));
+    }
+
+    @Test
+    void orderLines_OnADeliveredOrder_ShouldBeRejected() {
+        orderProductService.createOrderProduct(line(order.getId(), table.getId(), 60.0));
+        em.flush();
+        jdbcTemplate.update("UPDATE orders SET status = 'DELIVERED' WHERE id = ?", order.getId());
+
+        assertThrows(BusinessRuleException.class,
+                () -> orderProductService.createOrderProduct(line(order.getId(), chair.getId(), 10.0)));
+        assertThrows(BusinessRuleException.class, () -> orderProductService.updateOrderProduct(
+                order.getId(), table.getId(), line(order.getId(), table.getId(), 80.0)));
+        assertThrows(BusinessRuleException.class, () -> orderProductService.deleteOrderProduct(order.getId(), table.getId()));
+        InvalidOrderLinesException ex = assertThrows(InvalidOrderLinesException.class,
+                () -> orderProductService.createOrderProducts(new OrderProductBatchRequestDTO(List.of(
+                        line(order.getId(), chair.getId(), 10.0)))));
+
+        assertTrue(ex.getErrors().get("lines[0]").get(0).contains("DELIVERED"));
+        assertEquals(60.0, jdbcTemplate.queryForObject("SELECT SUM(sale_price * amount) FROM orders_products WHERE orders_id = ?",
+                Double.class, order.getId()));
+    }
+
+    private Product product(String minimumSalePrice) {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(new BigDecimal(minimumSalePrice));
+        return em.persist(product);
+    }
+
+    private static OrderProductRequestDTO line(Long orderId, Long productId, double salePrice) {
+        OrderProductRequestDTO line = new OrderProductRequestDTO();
+        line.setOrderId(orderId);
+        line.setProductId(productId);
+        line.setAmount(1);
+        line.setSalePrice(salePrice);
+        return line;
+    }
+}
@@ -0,0 +1,176 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderAggregateRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderLineRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAggregateResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.InvalidOrderLinesException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ OrderService.class, OrderMapperImpl.class, KeysetCursorCodec.class, MinimumPriceCache.class,
+        OrderTotalsService.class, CreditLimitService.class, OutboxService.class, JacksonAutoConfiguration.class })
+class OrderServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Product chair;
+    private Product table;
+
+    @BeforeEach
+    void setUp() {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        customer = new Customer();
+        customer.setName("Maria");
+        customer.setAddresses(address);
+        customer.setCreditLimit(BigDecimal.valueOf(1000));
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+        em.persist(customer);
+        chair = product("10.00");
+        table = product("50.00");
+        em.flush();
+    }
+
+    @Test
+    void createOrderAggregate_ShouldPersistOrderAndLinesWithTotals() {
+        OrderAggregateResponseDTO created = orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 4L, new BigDecimal("12.50")),
+                new OrderLineRequestDTO(table.getId(), 1L, new BigDecimal("50.00"))));
+
+        assertNotNull(created.getId());
+        assertEquals(2, created.getLines().size());
+        assertEquals(0, new BigDecimal("50.00").compareTo(created.getLines().get(0).getTotal()));
+        assertEquals(5, created.getTotalUnits());
+        assertEquals(0, new BigDecimal("100.00").compareTo(created.getTotalPrice()));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_products WHERE orders_id = ?",
+                Integer.class, created.getId()));
+
+        OrderAggregateResponseDTO found = orderService.findOrderAggregateById(created.getId());
+        assertEquals(created.getTotalUnits(), found.getTotalUnits());
+        assertEquals(0, created.getTotalPrice().compareTo(found.getTotalPrice()));
+        assertEquals(customer.getId(), found.getCustomerId());
+    }
+
+    @Test
+    void createOrderAggregate_WithInvalidLines_ShouldReportEachOneAndInsertNothing() {
+        InvalidOrderLinesException ex = assertThrows(InvalidOrderLinesException.class,
+                () -> orderService.createOrderAggregate(request(customer.getId(),
+                        new OrderLineRequestDTO(chair.getId(), 1L, new BigDecimal("10.00")),
+                        new OrderLineRequestDTO(table.getId(), 1L, new BigDecimal("49.99")),
+                        new OrderLineRequestDTO(999L, 1L, new BigDecimal("10.00")),
+                        new OrderLineRequestDTO(chair.getId(), 2L, new BigDecimal("10.00")))));
+
+        assertEquals(List.of("lines[1]", "lines[2]", "lines[3]"), List.copyOf(ex.getErrors().keySet()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    void updateOrder_ShouldFollowTheStatusMachineAndWriteOutboxEvents() {
+        OrderAggregateRequestDTO request = request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 1L, new BigDecimal("10.00")));
+        Long id = orderService.createOrderAggregate(request).getId();
+
+        request.setOrderStatus(OrderStatus.SHIPPED);
+        assertThrows(BusinessRuleException.class, () -> orderService.updateOrder(id, request));
+
+        request.setOrderStatus(OrderStatus.PROCESSING);
+        assertEquals(OrderStatus.PROCESSING, orderService.updateOrder(id, request).getOrderStatus());
+        request.setOrderStatus(OrderStatus.CANCELED);
+        orderService.updateOrder(id, request);
+        request.setOrderStatus(OrderStatus.PENDING);
+        assertThrows(BusinessRuleException.class, () -> orderService.updateOrder(id, request));
+
+        List<String> events = jdbcTemplate.queryForList(
+                "SELECT event_type FROM outbox_events WHERE aggregate_type = 'ORDER' AND aggregate_id = ? ORDER BY id", String.class, id);
+        assertEquals(List.of("ORDER_CREATED", "ORDER_STATUS_CHANGED", "ORDER_STATUS_CHANGED"), events);
+        String payload = jdbcTemplate.queryForObject(
+                "SELECT payload FROM outbox_events WHERE aggregate_type = 'ORDER' AND aggregate_id = ? ORDER BY id DESC LIMIT 1", String.class, id);
+        assertTrue(payload.contains("\"from\":\"PROCESSING\"") && payload.contains("\"to\":\"CANCELED\""), payload);
+    }
+
+    @Test
+    void createOrderAggregate_InAStatusOtherThanPending_ShouldReject() {
+        OrderAggregateRequestDTO request = request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 1L, new BigDecimal("10.00")));
+        request.setOrderStatus(OrderStatus.DELIVERED);
+
+        assertThrows(BusinessRuleException.class, () -> orderService.createOrderAggregate(request));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class));
+    }
+
+    @Test
+    void listOrders_WithAnUnknownSortProperty_ShouldRejectOnBothPaths() {
+        Sort unknown = Sort.by("nope");
+
+        assertThrows(BusinessRuleException.class, () -> orderService.findAllOrders(PageRequest.of(0, 10, unknown)));
+        assertThrows(BusinessRuleException.class, () -> orderService.scrollOrders(null, 10, unknown));
+        assertEquals(0, orderService.findAllOrders(PageRequest.of(0, 10, Sort.by("totalPrice"))).getTotalElements());
+        assertTrue(orderService.scrollOrders(null, 10, Sort.by("orderedAt")).getContent().isEmpty());
+    }
+
+    @Test
+    void createOrderAggregate_WithUnknownCustomer_ShouldThrowNotFound() {
+        assertThrows(EntityNotFoundException.class, () -> orderService.createOrderAggregate(request(customer.getId() + 100,
+                new OrderLineRequestDTO(chair.getId(), 1L, new BigDecimal("10.00")))));
+    }
+
+    private Product product(String minimumSalePrice) {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(new BigDecimal(minimumSalePrice));
+        return em.persist(product);
+    }
+
+    private static OrderAggregateRequestDTO request(Long customerId, OrderLineRequestDTO... lines) {
+        OrderAggregateRequestDTO request = new OrderAggregateRequestDTO();
+        request.setOrderMethod(OrderMethod.ONLINE);
+        request.setOrderStatus(OrderStatus.PENDING);
+        request.setCustomerId(customerId);
+        request.setOrderedAt(LocalDateTime.now());
+        request.setExpectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        request.setLines(List.of(lines));
+        return request;
+    }
+}
@@ -0,0 +1,201 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderAggregateRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderLineRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.OrderProductRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAggregateResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderTotalsCheckResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.OrderProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CustomerRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CreditLimitService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OrderTotalsService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ OrderService.class, OrderMapperImpl.class, OrderProductService.class, OrderProductMapperImpl.class,
+        KeysetCursorCodec.class, MinimumPriceCache.class, OrderTotalsService.class,
+        CreditLimitService.class, OutboxService.class, JacksonAutoConfiguration.class })
+class OrderTotalsServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderProductService orderProductService;
+
+    @Autowired
+    private OrderTotalsService orderTotalsService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        // o teste de consistência grava fora da transação do teste
+        for (String table : List.of("outbox_events", "orders_products", "order_totals", "customer_balances", "orders",
+                "products", "customers", "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void lineChanges_ShouldKeepOrderTotalAndCustomerBalance() {
+        Customer customer = customer();
+        Product chair = product("10.00");
+        Product table = product("50.00");
+        OrderAggregateResponseDTO order = orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 4L, new BigDecimal("12.50")),
+                new OrderLineRequestDTO(table.getId(), 1L, new BigDecimal("50.00"))));
+        assertTotals(order.getId(), 5, "100.00");
+        assertBalance(customer.getId(), "100.00");
+
+        orderProductService.updateOrderProduct(order.getId(), chair.getId(), line(order.getId(), chair.getId(), 2, 11.0));
+        assertTotals(order.getId(), 3, "72.00");
+
+        orderProductService.deleteOrderProduct(order.getId(), table.getId());
+        assertTotals(order.getId(), 2, "22.00");
+        assertBalance(customer.getId(), "22.00");
+    }
+
+    @Test
+    void orderChanges_ShouldMoveTheTotalBetweenBalances() {
+        Customer maria = customer();
+        Customer joao = customer();
+        Product chair = product("10.00");
+        OrderAggregateResponseDTO order = orderService.createOrderAggregate(request(maria.getId(),
+                new OrderLineRequestDTO(chair.getId(), 3L, new BigDecimal("10.00"))));
+
+        OrderAggregateRequestDTO update = request(joao.getId());
+        orderService.updateOrder(order.getId(), update);
+        assertBalance(maria.getId(), "0");
+        assertBalance(joao.getId(), "30.00");
+
+        update.setOrderStatus(OrderStatus.PROCESSING);
+        orderService.updateOrder(order.getId(), update);
+        update.setOrderStatus(OrderStatus.SHIPPED);
+        orderService.updateOrder(order.getId(), update);
+        assertBalance(joao.getId(), "30.00");
+
+        update.setOrderStatus(OrderStatus.DELIVERED);
+        orderService.updateOrder(order.getId(), update);
+        assertBalance(joao.getId(), "0");
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void checkConsistency_ShouldRecomputeEverythingAndRepairDrift() {
+        Customer customer = customer();
+        Product chair = product("10.00");
+        Long first = orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 2L, new BigDecimal("10.00")))).getId();
+        orderService.createOrderAggregate(request(customer.getId(),
+                new OrderLineRequestDTO(chair.getId(), 1L, new BigDecimal("15.00"))));
+        assertEquals(0, orderTotalsService.checkConsistency(false).getOrderMismatches());
+
+        jdbcTemplate.update("UPDATE order_totals SET total_price = 999 WHERE orders_id = ?", first);
+        jdbcTemplate.update("DELETE FROM customer_balances");
+
+        OrderTotalsCheckResponseDTO check = orderTotalsService.checkConsistency(false);
+        assertEquals(2, check.getOrdersChecked());
+        assertEquals(1, check.getOrderMismatches());
+        assertEquals(1, check.getCustomerMismatches());
+        assertFalse(check.isRepaired());
+
+        assertTrue(orderTotalsService.checkConsistency(true).isRepaired());
+        assertTotals(first, 2, "20.00");
+        assertBalance(customer.getId(), "35.00");
+        assertEquals(0, new BigDecimal("20.00").compareTo(orderService.findOrderById(first).getTotalPrice()));
+        assertEquals(0, new BigDecimal("35.00").compareTo(customerRepository.findById(customer.getId()).orElseThrow().getOpenBalance()));
+        OrderTotalsCheckResponseDTO after = orderTotalsService.checkConsistency(false);
+        assertEquals(0, after.getOrderMismatches());
+        assertEquals(0, after.getCustomerMismatches());
+    }
+
+    private void assertTotals(Long orderId, long units, String price) {
+        assertEquals(units, jdbcTemplate.queryForObject("SELECT total_units FROM order_totals WHERE orders_id = ?",
+                Long.class, orderId));
+        assertEquals(0, new BigDecimal(price).compareTo(jdbcTemplate.queryForObject(
+                "SELECT total_price FROM order_totals WHERE orders_id = ?", BigDecimal.class, orderId)));
+    }
+
+    private void assertBalance(Long customerId, String balance) {
+        BigDecimal stored = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(open_balance), 0) FROM customer_balances WHERE customers_id = ?", BigDecimal.class, customerId);
+        assertEquals(0, new BigDecimal(balance).compareTo(stored));
+    }
+
+    private Customer customer() {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        Customer customer = new Customer();
+        customer.setName("Maria");
+        customer.setAddresses(address);
+        customer.setCreditLimit(BigDecimal.valueOf(1000));
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+        return customerRepository.save(customer);
+    }
+
+    private Product product(String minimumSalePrice) {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(new BigDecimal(minimumSalePrice));
+        return productRepository.save(product);
+    }
+
+    private static OrderProductRequestDTO line(Long orderId, Long productId, int amount, double salePrice) {
+        OrderProductRequestDTO line = new OrderProductRequestDTO();
+        line.setOrderId(orderId);
+        line.setProductId(productId);
+        line.setAmount(amount);
+        line.setSalePrice(salePrice);
+        return line;
+    }
+
+    private static OrderAggregateRequestDTO request(Long customerId, OrderLineRequestDTO... lines) {
+        OrderAggregateRequestDTO request = new OrderAggregateRequestDTO();
+        request.setOrderMethod(OrderMethod.ONLINE);
+        request.setOrderStatus(OrderStatus.PENDING);
+        request.setCustomerId(customerId);
+        request.setOrderedAt(LocalDateTime.now());
+        request.setExpectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        request.setLines(List.of(lines));
+        return request;
+    }
+}
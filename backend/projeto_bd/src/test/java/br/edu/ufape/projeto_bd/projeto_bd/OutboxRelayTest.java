@@ -0,0 +1,140 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OutboxEvent;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.events.OutboxEventBatch;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxRelay;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.OutboxService;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.outbox.batch-size=2",
+        "app.outbox.max-attempts=2",
+        // o teste chama o relay diretamente
+        "app.outbox.relay-interval-ms=3600000"
+})
+@Import({ OutboxService.class, OutboxRelay.class, JacksonAutoConfiguration.class, OutboxRelayTest.Listener.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private Listener listener;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        listener.batches.clear();
+        listener.poisonAggregateId.set(0);
+    }
+
+    @Test
+    void relay_ShouldPublishPendingEventsInIdOrderAndMarkThem() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.orderCreated(1L, 10L, OrderStatus.PENDING);
+            outboxService.orderStatusChanged(1L, 10L, OrderStatus.PENDING, OrderStatus.PROCESSING);
+            outboxService.orderDeleted(2L, 10L, OrderStatus.PENDING);
+        });
+
+        outboxRelay.relay();
+
+        assertEquals(List.of(2, 1), listener.batches.stream().map(batch -> batch.events().size()).toList());
+        List<Long> ids = listener.batches.stream().flatMap(batch -> batch.events().stream()).map(OutboxEvent::getId).toList();
+        assertEquals(ids.stream().sorted().toList(), ids);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL", Integer.class));
+        assertEquals(0, outboxRelay.publishBatch());
+    }
+
+    @Test
+    void relay_WhenAListenerFails_ShouldDeliverTheBatchAgain() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxService.orderCreated(1L, 10L, OrderStatus.PENDING));
+        listener.failNext.set(true);
+
+        // a falha é transitória: o reenvio evento a evento já publica no mesmo ciclo
+        outboxRelay.relay();
+        assertEquals(2, listener.batches.size());
+        assertEquals(listener.batches.get(0).events().get(0).getId(), listener.batches.get(1).events().get(0).getId());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE published_at IS NULL", Integer.class));
+    }
+
+    @Test
+    void relay_WhenAnEventKeepsFailing_ShouldDeadLetterItAndPublishTheOthers() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.orderCreated(1L, 10L, OrderStatus.PENDING);
+            outboxService.orderCreated(2L, 10L, OrderStatus.PENDING);
+            outboxService.orderCreated(3L, 10L, OrderStatus.PENDING);
+        });
+        listener.poisonAggregateId.set(2);
+
+        // 1º ciclo: o pedido 1 sai e o 2 falha; 2º: o 2 esgota as tentativas; 3º: o 3 sai
+        outboxRelay.relay();
+        assertEquals(List.of(1L), published());
+        outboxRelay.relay();
+        assertEquals(List.of(1L), published());
+        outboxRelay.relay();
+        assertEquals(List.of(1L, 3L), published());
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE aggregate_id = 2 AND dead_lettered_at IS NOT NULL", Integer.class));
+        assertEquals(0, outboxRelay.publishBatch());
+    }
+
+    @Test
+    void orderCreated_WithoutATransaction_ShouldBeRejected() {
+        assertThrows(IllegalTransactionStateException.class, () -> outboxService.orderCreated(1L, 10L, OrderStatus.PENDING));
+    }
+
+    private List<Long> published() {
+        return jdbcTemplate.queryForList(
+                "SELECT aggregate_id FROM outbox_events WHERE published_at IS NOT NULL ORDER BY seq", Long.class);
+    }
+
+    static class Listener {
+
+        final List<OutboxEventBatch> batches = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failNext = new AtomicBoolean();
+        // lotes com um evento deste pedido sempre falham
+        final AtomicLong poisonAggregateId = new AtomicLong();
+
+        @EventListener
+        public void on(OutboxEventBatch batch) {
+            batches.add(batch);
+            if (failNext.getAndSet(false)
+                    || batch.events().stream().anyMatch(event -> event.getAggregateId() == poisonAggregateId.get())) {
+                throw new IllegalStateException("falha simulada");
+            }
+        }
+    }
+}
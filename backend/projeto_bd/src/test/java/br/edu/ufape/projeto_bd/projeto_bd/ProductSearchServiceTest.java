@@ -0,0 +1,94 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSearchHitDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository.RankedProduct;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductService;
+
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductTranslationRepository productTranslationRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private LanguageRegistry languageRegistry;
+
+    @InjectMocks
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productMapper.toResponseDTO(any(Product.class))).thenAnswer(invocation -> {
+            ProductResponseDTO dto = new ProductResponseDTO();
+            dto.setId(invocation.<Product>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    @Test
+    void searchProducts_ShouldKeepRelevanceOrder() {
+        Language pt = new Language();
+        pt.setId(1L);
+        when(languageRegistry.findByIsoCode("pt")).thenReturn(Optional.of(pt));
+        when(productTranslationRepository.searchByText("cadeira", 1L, 20))
+                .thenReturn(List.of(ranked(7L, 3.5), ranked(2L, 1.25)));
+        // o banco devolve os produtos fora da ordem de relevância
+        when(productRepository.findAllById(List.of(7L, 2L))).thenReturn(List.of(product(2L), product(7L)));
+
+        List<ProductSearchHitDTO> hits = productService.searchProducts(" cadeira ", "pt", 20);
+
+        assertEquals(List.of(7L, 2L), hits.stream().map(hit -> hit.getProduct().getId()).toList());
+        assertEquals(3.5, hits.get(0).getScore());
+    }
+
+    @Test
+    void searchProducts_WhenLanguageIsUnknown_ShouldThrow() {
+        when(languageRegistry.findByIsoCode("xx")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> productService.searchProducts("cadeira", "xx", 20));
+        verify(productTranslationRepository, never()).searchByText(any(), any(), anyInt());
+    }
+
+    @Test
+    void searchProducts_WhenQueryIsBlank_ShouldThrow() {
+        assertThrows(BusinessRuleException.class, () -> productService.searchProducts("  ", null, 20));
+    }
+
+    private RankedProduct ranked(Long productId, Double score) {
+        return new RankedProduct() {
+            public Long getProductId() { return productId; }
+            public Double getScore() { return score; }
+        };
+    }
+
+    private Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,217 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Category;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslation;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslationId;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CategoryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductSuggestIndex;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Garante que a listagem paginada de produtos executa um número fixo de consultas,
+ * independente do tamanho da página (regressão do N+1 em findAllProducts), e que
+ * as categorias são resolvidas e gravadas sem fan-out por ID.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ ProductService.class, LanguageRegistry.class, ProductMapperImpl.class, CategoryMapperImpl.class,
+        KeysetCursorCodec.class, ProductSuggestIndex.class, MinimumPriceCache.class })
+class ProductServiceQueryCountTest {
+
+    // página + count + categorias + traduções
+    private static final long MAX_QUERIES_PER_PAGE = 4;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Language pt = newLanguage("Português", "pt");
+        Language en = newLanguage("English", "en");
+        Category c1 = newCategory("Eletrônicos");
+        Category c2 = newCategory("Casa");
+
+        for (int i = 0; i < 30; i++) {
+            Product p = newProduct(i % 2 == 0 ? Set.of(c1, c2) : Set.of(c1));
+            p.setMinimumSalePrice(BigDecimal.valueOf(10 + i));
+            em.persist(p);
+            em.persist(newTranslation(p, pt, "Produto " + i));
+            em.persist(newTranslation(p, en, "Product " + i));
+        }
+        em.flush();
+        em.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllProducts_ShouldUseFixedNumberOfQueries() {
+        long smallPage = countQueries(5);
+        long largePage = countQueries(25);
+
+        assertTrue(largePage <= MAX_QUERIES_PER_PAGE,
+                "findAllProducts executou " + largePage + " consultas para 25 produtos");
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    void findAllProducts_ShouldStitchTranslationsAndCategories() {
+        Page<ProductResponseDTO> page = productService.findAllProducts(PageRequest.of(0, 10), null);
+
+        assertEquals(10, page.getContent().size());
+        assertEquals(30, page.getTotalElements());
+        for (ProductResponseDTO dto : page.getContent()) {
+            assertEquals(Set.of("pt", "en"), dto.getNames().keySet());
+            assertFalse(dto.getCategoriesIds().isEmpty());
+        }
+    }
+
+    @Test
+    void updateProduct_ShouldReplaceCategoriesAsSetDiff() {
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            categoryIds.add(newCategory("Categoria " + i).getId());
+        }
+        Product product = em.persist(newProduct(Set.of()));
+        em.flush();
+        ProductRequestDTO request = newRequest(new HashSet<>(categoryIds));
+        productService.updateProduct(product.getId(), request);
+        em.flush();
+        em.clear();
+
+        // troca apenas uma das 20 categorias
+        Set<Long> changed = new HashSet<>(categoryIds.subList(1, 20));
+        changed.add(newCategory("Nova").getId());
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        ProductResponseDTO response = productService.updateProduct(product.getId(), newRequest(changed));
+        em.flush();
+
+        assertEquals(changed, new HashSet<>(response.getCategoriesIds()));
+        assertEquals(0, statistics.getCollectionRecreateCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "updateProduct executou " + statistics.getPrepareStatementCount() + " comandos");
+    }
+
+    @Test
+    void updateProduct_ShouldReportEveryMissingCategory() {
+        Product product = em.persist(newProduct(Set.of()));
+        em.flush();
+
+        EntityNotFoundException ex = assertThrows(EntityNotFoundException.class,
+                () -> productService.updateProduct(product.getId(), newRequest(Set.of(998L, 999L))));
+
+        assertTrue(ex.getMessage().contains("998"));
+        assertTrue(ex.getMessage().contains("999"));
+    }
+
+    @Test
+    void updateProduct_WithBlankOrLongTranslationName_ShouldRejectBeforeWriting() {
+        Product product = em.persist(newProduct(Set.of()));
+        em.flush();
+
+        ProductRequestDTO descriptionOnly = newRequest(Set.of());
+        descriptionOnly.setDescriptions(Map.of("pt", "Só a descrição"));
+        assertThrows(BusinessRuleException.class, () -> productService.updateProduct(product.getId(), descriptionOnly));
+
+        ProductRequestDTO longName = newRequest(Set.of());
+        longName.setNames(Map.of("pt", "x".repeat(101)));
+        assertThrows(BusinessRuleException.class, () -> productService.updateProduct(product.getId(), longName));
+
+        em.clear();
+        assertEquals(0L, em.getEntityManager()
+                .createQuery("SELECT COUNT(t) FROM ProductTranslation t WHERE t.product.id = :id", Long.class)
+                .setParameter("id", product.getId()).getSingleResult());
+    }
+
+    private Product newProduct(Set<Category> categories) {
+        Product p = new Product();
+        p.setWarranty_date(LocalDateTime.now().plusDays(30));
+        p.setStatus(ProductStatus.TESTED);
+        p.setMinimumSalePrice(BigDecimal.TEN);
+        p.setCategories(new HashSet<>(categories));
+        return p;
+    }
+
+    private ProductRequestDTO newRequest(Set<Long> categoryIds) {
+        ProductRequestDTO request = new ProductRequestDTO();
+        request.setWarranty_date(LocalDateTime.now().plusDays(30));
+        request.setStatus(ProductStatus.TESTED);
+        request.setMinimumSalePrice(BigDecimal.TEN);
+        request.setCategoryIds(categoryIds);
+        return request;
+    }
+
+    private long countQueries(int pageSize) {
+        em.clear();
+        statistics.clear();
+        productService.findAllProducts(PageRequest.of(0, pageSize), null);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Language newLanguage(String name, String isoCode) {
+        Language language = new Language();
+        language.setLanguageName(name);
+        language.setIsoCode(isoCode);
+        return em.persist(language);
+    }
+
+    private Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return em.persist(category);
+    }
+
+    private ProductTranslation newTranslation(Product product, Language language, String name) {
+        ProductTranslation t = new ProductTranslation();
+        t.setId(new ProductTranslationId(product.getId(), language.getId()));
+        t.setProduct(product);
+        t.setLanguage(language);
+        t.setName(name);
+        return t;
+    }
+}
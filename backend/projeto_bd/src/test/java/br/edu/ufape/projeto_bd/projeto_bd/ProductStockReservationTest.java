@@ -0,0 +1,137 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.WarehouseRepository;
+
+/**
+ * Reservas concorrentes, cada uma em sua própria transação: nenhuma atualização
+ * pode se perder e o saldo nunca fica negativo.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockReservationTest {
+
+    private static final long INITIAL_AMOUNT = 1_000;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long productId;
+    private Long warehouseId;
+
+    @BeforeEach
+    void setUp() {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(BigDecimal.TEN);
+        productId = productRepository.save(product).getId();
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName("Central");
+        warehouseId = warehouseRepository.save(warehouse).getId();
+
+        ProductStock stock = new ProductStock();
+        stock.setCode("EST-" + productId);
+        stock.setAmount(INITIAL_AMOUNT);
+        stock.setProduct(product);
+        stock.setWarehouse(warehouse);
+        productStockRepository.save(stock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productStockRepository.deleteAllInBatch();
+        warehouseRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void reserve_UnderConcurrency_ShouldNeverOversell() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(() -> {
+                int reserved = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    reserved += transactionTemplate.execute(status -> productStockRepository.reserve(productId, warehouseId, 1));
+                }
+                return reserved;
+            });
+        }
+
+        int totalReserved = 0;
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+            totalReserved += result.get();
+        }
+        executor.shutdown();
+
+        ProductStock stock = productStockRepository.findAll().get(0);
+        assertEquals(INITIAL_AMOUNT, totalReserved);
+        assertEquals(0L, stock.getAmount());
+        assertEquals(INITIAL_AMOUNT, stock.getReserved());
+    }
+
+    @Test
+    void commitAndRelease_ShouldOnlyMoveReservedQuantity() {
+        assertEquals(1, reserve(30));
+        assertEquals(1, commit(10));
+        assertEquals(1, release(15));
+        // restam apenas 5 reservadas
+        assertEquals(0, release(6));
+        assertEquals(0, reserve(INITIAL_AMOUNT));
+
+        ProductStock stock = productStockRepository.findAll().get(0);
+        assertEquals(INITIAL_AMOUNT - 30 + 15, stock.getAmount());
+        assertEquals(5L, stock.getReserved());
+    }
+
+    private int reserve(long quantity) {
+        return transactionTemplate.execute(status -> productStockRepository.reserve(productId, warehouseId, quantity));
+    }
+
+    private int commit(long quantity) {
+        return transactionTemplate.execute(status -> productStockRepository.commitReservation(productId, warehouseId, quantity));
+    }
+
+    private int release(long quantity) {
+        return transactionTemplate.execute(status -> productStockRepository.releaseReservation(productId, warehouseId, quantity));
+    }
+}
@@ -0,0 +1,88 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationBatchRepository.NameRowHandler;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductSuggestIndex;
+
+/**
+ * Latência (p50/p99) e memória do índice de sugestões com 1M de traduções sintéticas.
+ * Não roda no build normal: mvn test -Dtest=ProductSuggestIndexBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductSuggestIndexBenchmark {
+
+    private static final int PRODUCTS = 500_000;
+    private static final long[] LANGUAGES = { 1L, 2L };
+    private static final int QUERIES = 20_000;
+
+    private static final String[] NOUNS = { "cadeira", "mesa", "sofa", "armario", "estante", "cama", "luminaria",
+            "tapete", "cortina", "espelho", "poltrona", "banqueta", "escrivaninha", "rack", "painel", "colchao" };
+    private static final String[] ADJECTIVES = { "gamer", "madeira", "aco", "vidro", "retro", "moderna",
+            "dobravel", "infantil", "premium", "compacta", "reclinavel", "rustica", "industrial", "classica" };
+
+    @Test
+    void suggest_LatencyAndHeapAt1MTranslations() {
+        // os nomes são gerados durante a carga, então o heap medido inclui as strings retidas pelo índice
+        ProductTranslationRepository repository = mock(ProductTranslationRepository.class);
+        doAnswer(invocation -> {
+            NameRowHandler handler = invocation.getArgument(0);
+            Random names = new Random(7);
+            for (int i = 0; i < PRODUCTS; i++) {
+                for (long languageId : LANGUAGES) {
+                    handler.accept(i + 1, languageId, NOUNS[names.nextInt(NOUNS.length)] + " "
+                            + ADJECTIVES[names.nextInt(ADJECTIVES.length)] + " "
+                            + Integer.toString(names.nextInt(200_000), 36) + " " + (i % 1000));
+                }
+            }
+            return null;
+        }).when(repository).forEachActiveName(any());
+
+        long heapBefore = usedHeap();
+        ProductSuggestIndex index = new ProductSuggestIndex(repository);
+        long buildStart = System.nanoTime();
+        index.rebuild();
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        long heapAfter = usedHeap();
+
+        Random random = new Random(42);
+        String[] queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String prefix = noun.substring(0, Math.min(noun.length(), 2 + random.nextInt(5)));
+            // um terço das consultas com erro de digitação
+            queries[i] = i % 3 == 0 && prefix.length() >= 4 ? prefix.substring(1) + prefix.charAt(0) : prefix;
+        }
+        for (int i = 0; i < 5_000; i++) {
+            index.suggest(LANGUAGES[i % 2], queries[i], 10);
+        }
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.suggest(LANGUAGES[i % 2], queries[i], 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf(Locale.ROOT,
+                "traduções=%d build=%dms heap=%.1fMB p50=%.3fms p99=%.3fms max=%.3fms%n",
+                PRODUCTS * LANGUAGES.length, buildMillis, (heapAfter - heapBefore) / 1024.0 / 1024.0,
+                latencies[QUERIES / 2] / 1e6, latencies[QUERIES * 99 / 100] / 1e6, latencies[QUERIES - 1] / 1e6);
+        assertFalse(index.suggest(1L, "cadeira", 10).isEmpty());
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,105 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductSuggestionDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationBatchRepository.NameRowHandler;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductSuggestIndex;
+
+class ProductSuggestIndexTest {
+
+    private static final Long PT = 1L;
+    private static final Long EN = 2L;
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex(mock(ProductTranslationRepository.class));
+        index.replaceProduct(10L, Map.of(PT, "Cadeira Gamer", EN, "Gaming Chair"));
+        index.replaceProduct(11L, Map.of(PT, "Cadeado de Aço", EN, "Steel Padlock"));
+        index.replaceProduct(12L, Map.of(PT, "Mesa de Escritório"));
+    }
+
+    @Test
+    void suggest_ShouldMatchPrefixIgnoringAccentsAndCase() {
+        assertEquals(List.of(10L, 11L), ids(index.suggest(PT, "CAD", 10)));
+        assertEquals(List.of(12L), ids(index.suggest(PT, "escrito", 10)));
+        assertEquals(List.of(11L), ids(index.suggest(PT, "aco", 10)));
+    }
+
+    @Test
+    void suggest_ShouldRespectLanguage() {
+        assertEquals(List.of(10L), ids(index.suggest(EN, "chai", 10)));
+        assertTrue(index.suggest(EN, "mesa", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldTolerateOneTypo() {
+        assertEquals(List.of(10L), ids(index.suggest(PT, "cadiera", 10)));
+        assertEquals(List.of(12L), ids(index.suggest(PT, "escirt", 10)));
+    }
+
+    @Test
+    void suggest_ShouldRequireEveryTerm() {
+        assertEquals(List.of(10L), ids(index.suggest(PT, "cadeira ga", 10)));
+        assertTrue(index.suggest(PT, "mesa cad", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_WhenTheLastTermMatchesManyProducts_ShouldStillFindThoseMatchingEveryTerm() {
+        for (long id = 100; id < 1_100; id++) {
+            index.replaceProduct(id, Map.of(PT, "Cadeira " + id));
+        }
+        index.replaceProduct(5_000L, Map.of(PT, "Cadeira Azul"));
+
+        assertEquals(List.of(5_000L), ids(index.suggest(PT, "azul cad", 10)));
+    }
+
+    @Test
+    void rebuild_ShouldKeepUpdatesCommittedWhileItReads() {
+        ProductTranslationRepository repository = mock(ProductTranslationRepository.class);
+        ProductSuggestIndex rebuilt = new ProductSuggestIndex(repository);
+        doAnswer(invocation -> {
+            NameRowHandler handler = invocation.getArgument(0);
+            handler.accept(10L, PT, "Cadeira Gamer");
+            // commit no meio da leitura: a linha já lida fica velha
+            rebuilt.replaceProduct(10L, Map.of(PT, "Poltrona"));
+            rebuilt.replaceProduct(13L, Map.of(PT, "Sofá"));
+            return null;
+        }).when(repository).forEachActiveName(any());
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of(10L), ids(rebuilt.suggest(PT, "poltr", 10)));
+        assertEquals(List.of(13L), ids(rebuilt.suggest(PT, "sofa", 10)));
+        assertTrue(rebuilt.suggest(PT, "cadeira", 10).isEmpty());
+    }
+
+    @Test
+    void replaceProduct_ShouldDropOldNamesAndLanguages() {
+        index.replaceProduct(10L, Map.of(PT, "Poltrona"));
+
+        assertEquals(List.of(11L), ids(index.suggest(PT, "cade", 10)));
+        assertEquals(List.of(10L), ids(index.suggest(PT, "poltr", 10)));
+        assertTrue(index.suggest(EN, "gaming", 10).isEmpty());
+    }
+
+    @Test
+    void removeProduct_ShouldStopSuggestingIt() {
+        index.removeProduct(11L);
+
+        assertEquals(List.of(10L), ids(index.suggest(PT, "cad", 10)));
+        assertTrue(index.suggest(EN, "padlock", 10).isEmpty());
+    }
+
+    private List<Long> ids(List<ProductSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ProductSuggestionDTO::getProductId).toList();
+    }
+}
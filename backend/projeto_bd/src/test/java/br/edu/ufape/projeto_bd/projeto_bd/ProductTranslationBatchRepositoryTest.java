@@ -0,0 +1,109 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Language;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductTranslation;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationBatchRepository.MergeResult;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationBatchRepository.TranslationValues;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductTranslationRepository;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProductTranslationBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProductTranslationRepository productTranslationRepository;
+
+    private Long productId;
+    private Long ptId;
+    private Long enId;
+
+    @BeforeEach
+    void setUp() {
+        Product p = new Product();
+        p.setWarranty_date(LocalDateTime.now().plusDays(30));
+        p.setStatus(ProductStatus.TESTED);
+        p.setMinimumSalePrice(BigDecimal.TEN);
+        productId = em.persist(p).getId();
+        ptId = em.persist(newLanguage("Português", "pt")).getId();
+        enId = em.persist(newLanguage("English", "en")).getId();
+        em.flush();
+    }
+
+    @Test
+    void mergeTranslations_WhenNothingChanged_ShouldNotWrite() {
+        Map<Long, TranslationValues> desired = Map.of(
+                ptId, new TranslationValues("Cadeira", "Cadeira de madeira"),
+                enId, new TranslationValues("Chair", null));
+
+        assertEquals(new MergeResult(2, 0, 0), productTranslationRepository.mergeTranslations(productId, desired));
+        assertEquals(0, productTranslationRepository.mergeTranslations(productId, desired).total());
+    }
+
+    @Test
+    void mergeTranslations_ShouldWriteOnlyTheDifference() {
+        productTranslationRepository.mergeTranslations(productId, Map.of(
+                ptId, new TranslationValues("Cadeira", null),
+                enId, new TranslationValues("Chair", null)));
+
+        MergeResult result = productTranslationRepository.mergeTranslations(productId, Map.of(
+                ptId, new TranslationValues("Cadeira gamer", null)));
+
+        assertEquals(new MergeResult(0, 1, 1), result);
+        em.clear();
+        assertEquals(1, productTranslationRepository.findByProductId(productId).size());
+        assertEquals("Cadeira gamer", productTranslationRepository.findByProductId(productId).get(0).getName());
+    }
+
+    @Test
+    void mergeTranslations_ShouldReviveSoftDeletedTranslation() {
+        productTranslationRepository.mergeTranslations(productId, Map.of(enId, new TranslationValues("Chair", null)));
+        productTranslationRepository.mergeTranslations(productId, Map.of());
+
+        MergeResult result = productTranslationRepository.mergeTranslations(productId,
+                Map.of(enId, new TranslationValues("Chair", null)));
+
+        assertEquals(new MergeResult(0, 1, 0), result);
+        em.clear();
+        ProductTranslation revived = productTranslationRepository.findByProductId(productId).get(0);
+        assertEquals("Chair", revived.getName());
+    }
+
+    @Test
+    void forEachActiveName_ShouldSkipSoftDeletedTranslations() {
+        productTranslationRepository.mergeTranslations(productId, Map.of(
+                ptId, new TranslationValues("Cadeira", null),
+                enId, new TranslationValues("Chair", null)));
+        productTranslationRepository.mergeTranslations(productId, Map.of(ptId, new TranslationValues("Cadeira", null)));
+
+        List<String> names = new ArrayList<>();
+        productTranslationRepository.forEachActiveName((product, language, name) -> names.add(name));
+
+        assertEquals(List.of("Cadeira"), names);
+    }
+
+    private Language newLanguage(String name, String isoCode) {
+        Language language = new Language();
+        language.setLanguageName(name);
+        language.setIsoCode(isoCode);
+        return language;
+    }
+}
@@ -0,0 +1,125 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.CategoryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CategoryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CategoryService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductSuggestIndex;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService.Resource;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ ResourceVersionService.class, ProductService.class, CategoryService.class, LanguageRegistry.class,
+        ProductMapperImpl.class, CategoryMapperImpl.class, KeysetCursorCodec.class, ProductSuggestIndex.class,
+        MinimumPriceCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResourceVersionServiceTest {
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("outbox_events", "products_categories", "products_translations", "products",
+                "categories")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        // o cache de segundo nível é compartilhado entre os contextos de teste e as linhas foram apagadas por fora
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void productVersion_ShouldFollowEmbeddedCategoriesAndSoftDeletes() {
+        Long categoryId = categoryService.createCategory(new CategoryRequestDTO("Casa", null)).getId();
+        Long id = productService.createProduct(request(categoryId)).getId();
+
+        ResourceVersion row = resourceVersionService.ofRow(Resource.PRODUCTS, id).orElseThrow();
+        ResourceVersion table = resourceVersionService.ofTable(Resource.PRODUCTS).orElseThrow();
+        assertTrue(row.etag().startsWith("W/\""));
+        assertEquals(jdbcTemplate.queryForObject("SELECT updated_at FROM products WHERE id = ?", Timestamp.class, id).getTime(),
+                row.lastModified());
+        assertEquals(row, resourceVersionService.ofRow(Resource.PRODUCTS, id).orElseThrow());
+
+        categoryService.updateCategory(categoryId, new CategoryRequestDTO("Cozinha", null));
+        ResourceVersion renamed = resourceVersionService.ofRow(Resource.PRODUCTS, id).orElseThrow();
+        assertNotEquals(row.etag(), renamed.etag());
+        assertNotEquals(table.etag(), resourceVersionService.ofTable(Resource.PRODUCTS).orElseThrow().etag());
+
+        ResourceVersion beforeDelete = resourceVersionService.ofTable(Resource.PRODUCTS).orElseThrow();
+        productService.deleteProduct(id);
+        assertTrue(resourceVersionService.ofRow(Resource.PRODUCTS, id).isEmpty());
+        assertNotEquals(beforeDelete.etag(), resourceVersionService.ofTable(Resource.PRODUCTS).orElseThrow().etag());
+    }
+
+    @Test
+    void version_ShouldChangeForWritesInTheSameSecond() {
+        Long id = categoryService.createCategory(new CategoryRequestDTO("Casa", null)).getId();
+        jdbcTemplate.update("UPDATE categories SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf("2026-03-01 10:00:00.100000"), id);
+        ResourceVersion first = resourceVersionService.ofRow(Resource.CATEGORIES, id).orElseThrow();
+        ResourceVersion firstTable = resourceVersionService.ofTable(Resource.CATEGORIES).orElseThrow();
+
+        jdbcTemplate.update("UPDATE categories SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf("2026-03-01 10:00:00.100250"), id);
+        ResourceVersion second = resourceVersionService.ofRow(Resource.CATEGORIES, id).orElseThrow();
+
+        assertNotEquals(first.etag(), second.etag());
+        assertNotEquals(firstTable.etag(), resourceVersionService.ofTable(Resource.CATEGORIES).orElseThrow().etag());
+        assertEquals(first.lastModified() / 1000, second.lastModified() / 1000);
+    }
+
+    @Test
+    void ofTable_WithHardDeletedRows_ShouldCountRowsAndOmitLastModified() {
+        ResourceVersion orders = resourceVersionService.ofTable(Resource.ORDERS).orElseThrow();
+
+        assertEquals(-1, orders.lastModified());
+        assertNotEquals(orders.etag(), resourceVersionService.ofTable(Resource.ORDER_PRODUCTS).orElseThrow().etag());
+    }
+
+    private static ProductRequestDTO request(Long categoryId) {
+        ProductRequestDTO request = new ProductRequestDTO();
+        request.setWarranty_date(LocalDateTime.now().plusDays(30));
+        request.setStatus(ProductStatus.TESTED);
+        request.setMinimumSalePrice(new BigDecimal("10.00"));
+        request.setCategoryIds(Set.of(categoryId));
+        return request;
+    }
+}
@@ -0,0 +1,168 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.config.ResponseCacheConfig;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.CategoryRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.ProductRequestDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.CategoryResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ProductResponseDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.CategoryMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.mappers.ProductMapperImpl;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.CategoryService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.LanguageRegistry;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.MinimumPriceCache;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductService;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ProductSuggestIndex;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.KeysetCursorCodec;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ ResponseCacheConfig.class, ProductService.class, CategoryService.class, LanguageRegistry.class,
+        ProductMapperImpl.class, CategoryMapperImpl.class, KeysetCursorCodec.class, ProductSuggestIndex.class,
+        MinimumPriceCache.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ResponseCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CacheManager responseCacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("outbox_events", "products_categories", "products_translations", "products",
+                "categories")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        // o cache de segundo nível é compartilhado entre os contextos de teste e as linhas foram apagadas por fora
+        entityManagerFactory.getCache().evictAll();
+        for (String name : responseCacheManager.getCacheNames()) {
+            responseCacheManager.getCache(name).clear();
+        }
+    }
+
+    @Test
+    void findCategoryById_ShouldBeServedFromTheCacheUntilTheUpdateCommits() {
+        Long id = categoryService.createCategory(new CategoryRequestDTO("Casa", null)).getId();
+
+        CategoryResponseDTO first = categoryService.findCategoryById(id);
+        jdbcTemplate.update("UPDATE categories SET name = 'Alterada por fora' WHERE id = ?", id);
+        assertSame(first, categoryService.findCategoryById(id));
+        assertEquals(1, stats(ResponseCacheConfig.CATEGORIES).hitCount());
+
+        // a remoção acompanha a transação: quem lê antes do commit ainda recebe a resposta anterior
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            categoryService.updateCategory(id, new CategoryRequestDTO("Cozinha", null));
+            assertNotNull(cache(ResponseCacheConfig.CATEGORIES).get(id));
+        });
+        assertNull(cache(ResponseCacheConfig.CATEGORIES).get(id));
+        assertEquals("Cozinha", categoryService.findCategoryById(id).getName());
+
+        categoryService.deleteCategory(id);
+        assertNull(cache(ResponseCacheConfig.CATEGORIES).get(id));
+    }
+
+    @Test
+    void productWrites_ShouldEvictOnlyTheirOwnEntry() {
+        Long categoryId = categoryService.createCategory(new CategoryRequestDTO("Casa", null)).getId();
+        Long chair = productService.createProduct(request("10.00", categoryId)).getId();
+        Long table = productService.createProduct(request("50.00", categoryId)).getId();
+        productService.findProductById(chair);
+        productService.findProductById(table);
+
+        productService.updateProduct(chair, request("12.00", categoryId));
+        assertNull(cache(ResponseCacheConfig.PRODUCTS).get(chair));
+        assertNotNull(cache(ResponseCacheConfig.PRODUCTS).get(table));
+        assertEquals(0, new BigDecimal("12.00").compareTo(productService.findProductById(chair).getMinimumSalePrice()));
+
+        productService.deleteProduct(table);
+        assertNull(cache(ResponseCacheConfig.PRODUCTS).get(table));
+        assertNotNull(cache(ResponseCacheConfig.PRODUCTS).get(chair));
+    }
+
+    @Test
+    void updateCategory_ShouldEvictTheProductsThatEmbedIt() {
+        Long categoryId = categoryService.createCategory(new CategoryRequestDTO("Casa", null)).getId();
+        Long chair = productService.createProduct(request("10.00", categoryId)).getId();
+        productService.findProductById(chair);
+
+        categoryService.updateCategory(categoryId, new CategoryRequestDTO("Cozinha", null));
+
+        ProductResponseDTO found = productService.findProductById(chair);
+        assertEquals("Cozinha", found.getCategories().iterator().next().getName());
+    }
+
+    @Test
+    void deleteCategory_ShouldEvictTheProductsThatEmbedIt() {
+        Long categoryId = categoryService.createCategory(new CategoryRequestDTO("Casa", null)).getId();
+        Long chair = productService.createProduct(request("10.00", categoryId)).getId();
+        productService.findProductById(chair);
+        assertNotNull(cache(ResponseCacheConfig.PRODUCTS).get(chair));
+
+        // o vínculo sai por fora (a exclusão só é permitida sem produtos), mas a resposta guardada ainda cita a categoria
+        jdbcTemplate.update("DELETE FROM products_categories WHERE categories_id = ?", categoryId);
+        entityManagerFactory.getCache().evictAll();
+        categoryService.deleteCategory(categoryId);
+
+        assertNull(cache(ResponseCacheConfig.PRODUCTS).get(chair));
+        assertTrue(productService.findProductById(chair).getCategories().isEmpty());
+    }
+
+    private Cache cache(String name) {
+        return responseCacheManager.getCache(name);
+    }
+
+    private CacheStats stats(String name) {
+        Cache cache = cache(name);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return ((CaffeineCache) cache).getNativeCache().stats();
+    }
+
+    private static ProductRequestDTO request(String minimumSalePrice, Long categoryId) {
+        ProductRequestDTO request = new ProductRequestDTO();
+        request.setWarranty_date(LocalDateTime.now().plusDays(30));
+        request.setStatus(ProductStatus.TESTED);
+        request.setMinimumSalePrice(new BigDecimal(minimumSalePrice));
+        request.setCategoryIds(Set.of(categoryId));
+        return request;
+    }
+}
@@ -0,0 +1,156 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Category;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.CategoryRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.ProductStockRepository;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.repositories.WarehouseRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Cache de segundo nível e de consultas das entidades de referência: as leituras repetidas não vão ao banco
+ * e as escritas pelo Hibernate (inclusive a exclusão lógica do @SQLDelete) invalidam o que foi guardado.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductStockRepository productStockRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : List.of("outbox_events", "warehouses", "categories", "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_ForACachedWarehouse_ShouldNotQueryTheDatabase() {
+        Long id = warehouse("Central").getId();
+        // inserts com IDENTITY não populam o cache: a primeira leitura é que guarda
+        warehouseRepository.findById(id).orElseThrow();
+        awaitNextCacheTimestamp();
+        statistics.clear();
+
+        Warehouse found = warehouseRepository.findById(id).orElseThrow();
+
+        assertEquals("Garanhuns", found.getAddress().getCity());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void delete_WithSqlDelete_ShouldEvictTheWarehouse() {
+        Warehouse warehouse = warehouse("Central");
+        warehouseRepository.findById(warehouse.getId()).orElseThrow();
+
+        warehouseRepository.delete(warehouse);
+
+        assertTrue(warehouseRepository.findById(warehouse.getId()).isEmpty());
+        assertNotNull(jdbcTemplate.queryForObject("SELECT deleted_at FROM warehouses WHERE id = ?",
+                java.sql.Timestamp.class, warehouse.getId()));
+    }
+
+    @Test
+    void nativeStockUpdates_ShouldNotEvictOtherRegions() {
+        Long id = warehouse("Central").getId();
+        warehouseRepository.findById(id).orElseThrow();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                productStockRepository.reserve(1L, id, 1));
+        awaitNextCacheTimestamp();
+        statistics.clear();
+
+        warehouseRepository.findById(id).orElseThrow();
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllById_ShouldUseTheQueryCacheUntilACategoryChanges() {
+        Category chairs = category("Cadeiras");
+        Category tables = category("Mesas");
+        List<Long> ids = List.of(chairs.getId(), tables.getId());
+        categoryRepository.findAllById(ids);
+        awaitNextCacheTimestamp();
+        statistics.clear();
+
+        assertEquals(2, categoryRepository.findAllById(ids).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        chairs.setName("Poltronas");
+        categoryRepository.save(chairs);
+        statistics.clear();
+
+        assertTrue(categoryRepository.findAllById(ids).stream().anyMatch(c -> c.getName().equals("Poltronas")));
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    // no READ_WRITE uma sessão só lê o que foi gravado no cache antes dela começar,
+    // e o relógio do JCacheRegionFactory anda de 100 em 100 ms
+    private static void awaitNextCacheTimestamp() {
+        try {
+            Thread.sleep(150);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Warehouse warehouse(String name) {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(name);
+        warehouse.setAddress(address);
+        return warehouseRepository.save(warehouse);
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+}
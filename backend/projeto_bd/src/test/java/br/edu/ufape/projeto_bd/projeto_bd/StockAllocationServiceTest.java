@@ -0,0 +1,188 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.AllocationLineDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.OrderAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.ResponseDTO.ShipmentAllocationDTO;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Order;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.OrderProduct;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.ProductStock;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Warehouse;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderMethod;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.OrderStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.EntityNotFoundException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.StockAllocationService;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(StockAllocationService.class)
+class StockAllocationServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StockAllocationService stockAllocationService;
+
+    private Product chair;
+    private Product table;
+    private Product lamp;
+    private Warehouse recife;
+    private Warehouse garanhuns;
+
+    @BeforeEach
+    void setUp() {
+        chair = product();
+        table = product();
+        lamp = product();
+        recife = warehouse("Recife");
+        garanhuns = warehouse("Garanhuns");
+    }
+
+    @Test
+    void allocateOrder_WhenOneWarehouseHasEverything_ShouldShipFromItAlone() {
+        stock(chair, recife, 5);
+        stock(table, recife, 2);
+        stock(chair, garanhuns, 100);
+        Order order = order(Map.of(chair, 3L, table, 2L));
+
+        OrderAllocationDTO allocation = stockAllocationService.allocateOrder(order.getId());
+
+        assertTrue(allocation.isComplete());
+        assertEquals(0, allocation.getSplitLines());
+        assertEquals(List.of(recife.getId()), warehouses(allocation));
+        assertEquals(Map.of(chair.getId(), 3L, table.getId(), 2L), amounts(allocation.getShipments().get(0)));
+    }
+
+    @Test
+    void allocateOrder_ShouldNotSplitALineThatAnotherWarehouseCovers() {
+        stock(chair, recife, 5);
+        stock(table, recife, 3);
+        stock(table, garanhuns, 5);
+        Order order = order(Map.of(chair, 5L, table, 5L));
+
+        OrderAllocationDTO allocation = stockAllocationService.allocateOrder(order.getId());
+
+        assertTrue(allocation.isComplete());
+        assertEquals(0, allocation.getSplitLines());
+        assertEquals(List.of(recife.getId(), garanhuns.getId()), warehouses(allocation));
+        assertEquals(Map.of(chair.getId(), 5L), amounts(allocation.getShipments().get(0)));
+        assertEquals(Map.of(table.getId(), 5L), amounts(allocation.getShipments().get(1)));
+    }
+
+    @Test
+    void allocateOrder_WhenNoWarehouseHasTheWholeLine_ShouldSplitIt() {
+        stock(lamp, recife, 6);
+        stock(lamp, garanhuns, 6);
+        Order order = order(Map.of(lamp, 10L));
+
+        OrderAllocationDTO allocation = stockAllocationService.allocateOrder(order.getId());
+
+        assertTrue(allocation.isComplete());
+        assertEquals(1, allocation.getSplitLines());
+        assertEquals(2, allocation.getShipments().size());
+    }
+
+    @Test
+    void allocateOrders_ShouldShareStockAcrossTheBatchWithTwoQueries() {
+        stock(chair, recife, 10);
+        Order first = order(Map.of(chair, 8L));
+        Order second = order(Map.of(chair, 8L, lamp, 1L));
+        em.flush();
+        em.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderAllocationDTO> allocations = stockAllocationService.allocateOrders(List.of(second.getId(), first.getId()));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(first.getId(), allocations.get(0).getOrderId());
+        assertTrue(allocations.get(0).isComplete());
+
+        OrderAllocationDTO partial = allocations.get(1);
+        assertFalse(partial.isComplete());
+        assertEquals(Map.of(chair.getId(), 2L), amounts(partial.getShipments().get(0)));
+        assertEquals(Map.of(chair.getId(), 6L, lamp.getId(), 1L),
+                partial.getUnallocated().stream().collect(Collectors.toMap(AllocationLineDTO::getProductId, AllocationLineDTO::getAmount)));
+    }
+
+    @Test
+    void allocateOrder_WhenOrderDoesNotExist_ShouldThrow() {
+        assertThrows(EntityNotFoundException.class, () -> stockAllocationService.allocateOrder(999L));
+    }
+
+    private List<Long> warehouses(OrderAllocationDTO allocation) {
+        return allocation.getShipments().stream().map(ShipmentAllocationDTO::getWarehouseId).toList();
+    }
+
+    private Map<Long, Long> amounts(ShipmentAllocationDTO shipment) {
+        return shipment.getLines().stream().collect(Collectors.toMap(AllocationLineDTO::getProductId, AllocationLineDTO::getAmount));
+    }
+
+    private Product product() {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(BigDecimal.TEN);
+        return em.persist(product);
+    }
+
+    private Warehouse warehouse(String name) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setName(name);
+        return em.persist(warehouse);
+    }
+
+    private void stock(Product product, Warehouse warehouse, long amount) {
+        ProductStock stock = new ProductStock();
+        stock.setCode("EST-" + product.getId() + "-" + warehouse.getId());
+        stock.setAmount(amount);
+        stock.setProduct(product);
+        stock.setWarehouse(warehouse);
+        em.persist(stock);
+    }
+
+    private Order order(Map<Product, Long> lines) {
+        Order order = new Order();
+        order.setOrderStatus(OrderStatus.PENDING);
+        order.setOrderMethod(OrderMethod.ONLINE);
+        order.setOrderedAt(LocalDateTime.now());
+        order.setExoectedToDeliverAt(LocalDateTime.now().plusDays(5));
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        em.persist(order);
+        lines.forEach((product, amount) -> {
+            OrderProduct line = new OrderProduct();
+            line.setOrder(order);
+            line.setProduct(product);
+            line.setAmount(amount);
+            line.setSalePrice(BigDecimal.TEN);
+            em.persist(line);
+        });
+        em.flush();
+        return order;
+    }
+}
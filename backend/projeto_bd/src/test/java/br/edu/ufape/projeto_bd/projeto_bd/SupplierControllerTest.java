@@ -2,10 +2,13 @@ package br.edu.ufape.projeto_bd.projeto_bd;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import java.util.Collections;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +27,9 @@ import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierPatchDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.RequestDTO.SupplierRequestDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.dtos.SupplierResponseDTO;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.SupplierType;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.ResourceVersionService;
 import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.SupplierService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ResourceVersion;
 
 @ExtendWith(MockitoExtension.class)
 public class SupplierControllerTest {
@@ -34,6 +39,9 @@ public class SupplierControllerTest {
     @Mock
     private SupplierService supplierService;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
     @InjectMocks
     private SupplierController supplierController;
 
@@ -104,6 +112,18 @@ public class SupplierControllerTest {
                 .andExpect(jsonPath("$.supplierType").value("NATURAL_PERSON"));
     }
 
+    @Test
+    void getSupplier_WhenEtagMatches_ShouldReturnNotModifiedWithoutLoadingIt() throws Exception {
+        when(resourceVersionService.ofRow(ResourceVersionService.Resource.SUPPLIERS, 1L))
+                .thenReturn(Optional.of(new ResourceVersion("W/\"v1\"", 1_700_000_000_000L)));
+
+        mockMvc.perform(get("/api/suppliers/1").header("If-None-Match", "W/\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"v1\""))
+                .andExpect(content().string(""));
+        verify(supplierService, never()).findSupplierById(1L);
+    }
+
     @Test
     void updateSupplier_ShouldReturnUpdatedSupplier() throws Exception {
         SupplierResponseDTO updatedResponse = new SupplierResponseDTO();
@@ -0,0 +1,123 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import br.edu.ufape.projeto_bd.projeto_bd.config.SyntheticDataRunner;
+import br.edu.ufape.projeto_bd.projeto_bd.config.SyntheticDataRunner.Plan;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Carga sintética em escala reduzida no H2: contagens do plano, totais coerentes com os itens e o mesmo
+ * conteúdo para a mesma semente, com qualquer número de threads.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticDataRunnerTest {
+
+    // mais de um bloco de pedidos, para os blocos rodarem em paralelo
+    private static final Plan PLAN = new Plan(7, 5, 300, 4, 2_000, 2, 12_000, 4, List.of("pt", "en"), 4);
+
+    private static final String FINGERPRINT_SQL = """
+            SELECT (SELECT COUNT(*) FROM orders_products) || '|' ||
+                   (SELECT SUM(amount) FROM orders_products) || '|' ||
+                   (SELECT SUM(sale_price * amount) FROM orders_products) || '|' ||
+                   (SELECT SUM(open_balance) FROM customer_balances) || '|' ||
+                   (SELECT SUM(amount) FROM product_stocks) || '|' ||
+                   (SELECT SUM(minimum_sale_price) FROM products) || '|' ||
+                   (SELECT COUNT(*) FROM products_categories) || '|' ||
+                   (SELECT MAX(name) FROM products_translations)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO languages (language_name, iso_code, created_at, updated_at) VALUES "
+                + "('Português', 'pt', NOW(), NOW()), ('English', 'en', NOW(), NOW())");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteGenerated();
+        jdbcTemplate.update("DELETE FROM languages");
+        // o cache de segundo nível é compartilhado entre os contextos de teste e as linhas foram apagadas por fora
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void generate_ShouldLoadThePlanWithConsistentTotals() {
+        Map<String, Long> rows = new SyntheticDataRunner(jdbcTemplate, transactionManager).generate(PLAN);
+
+        assertEquals(2_000L, rows.get("products"));
+        assertEquals(4_000L, rows.get("products_translations"));
+        assertEquals(4_000L, rows.get("product_stocks"));
+        assertEquals(12_000L, rows.get("orders"));
+        assertEquals(12_000L, rows.get("order_totals"));
+        assertEquals(304L, rows.get("addresses"));
+        assertEquals(rows.get("orders_products"), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_products", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM orders_products op JOIN products p ON p.id = op.products_id
+                WHERE op.sale_price < p.minimum_sale_price
+                """, Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM order_totals t
+                JOIN (SELECT orders_id, SUM(amount) units, SUM(amount * sale_price) price
+                      FROM orders_products GROUP BY orders_id) x ON x.orders_id = t.orders_id
+                WHERE t.total_units <> x.units OR t.total_price <> x.price
+                """, Integer.class));
+        assertEquals(rows.get("customer_balances"), jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM customer_balances b
+                JOIN (SELECT o.customers_id, SUM(t.total_price) open_balance
+                      FROM orders o JOIN order_totals t ON t.orders_id = o.id
+                      WHERE o.status NOT IN ('DELIVERED', 'CANCELED') GROUP BY o.customers_id) x
+                  ON x.customers_id = b.customers_id
+                WHERE b.open_balance = x.open_balance
+                """, Long.class));
+    }
+
+    @Test
+    void generate_SameSeed_ShouldProduceTheSameDataWithAnyNumberOfThreads() {
+        SyntheticDataRunner runner = new SyntheticDataRunner(jdbcTemplate, transactionManager);
+        runner.generate(PLAN);
+        String parallel = jdbcTemplate.queryForObject(FINGERPRINT_SQL, String.class);
+        deleteGenerated();
+
+        runner.generate(new Plan(PLAN.seed(), PLAN.categories(), PLAN.customers(), PLAN.warehouses(), PLAN.products(),
+                PLAN.stocksPerProduct(), PLAN.orders(), PLAN.maxLinesPerOrder(), PLAN.languages(), 1));
+        assertEquals(parallel, jdbcTemplate.queryForObject(FINGERPRINT_SQL, String.class));
+
+        deleteGenerated();
+        runner.generate(new Plan(PLAN.seed() + 1, PLAN.categories(), PLAN.customers(), PLAN.warehouses(),
+                PLAN.products(), PLAN.stocksPerProduct(), PLAN.orders(), PLAN.maxLinesPerOrder(), PLAN.languages(), 4));
+        assertNotEquals(parallel, jdbcTemplate.queryForObject(FINGERPRINT_SQL, String.class));
+    }
+
+    private void deleteGenerated() {
+        for (String table : List.of("customer_balances", "order_totals", "orders_products", "orders", "product_stocks",
+                "products_categories", "products_translations", "products", "categories", "warehouses", "customers",
+                "addresses")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.edu.ufape.projeto_bd.projeto_bd;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Address;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Customer;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.entities.Product;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.enums.ProductStatus;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.exceptions.BusinessRuleException;
+import br.edu.ufape.projeto_bd.projeto_bd.domain.services.impl.TableExportService;
+import br.edu.ufape.projeto_bd.projeto_bd.utils.ExportFormat;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ TableExportService.class, JacksonAutoConfiguration.class })
+class TableExportServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private TableExportService tableExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Customer maria;
+
+    @BeforeEach
+    void setUp() {
+        maria = customer("Maria \"Mia\", da Silva");
+        customer("João");
+        Product removed = product("10.00");
+        product("12.50");
+        removed.setDeletedAt(LocalDateTime.now());
+        em.flush();
+    }
+
+    @Test
+    void exportProducts_AsNdjson_ShouldWriteOneTypedObjectPerActiveRow() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tableExportService.exportProducts(ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, lines.size());
+        JsonNode product = objectMapper.readTree(lines.get(0));
+        assertTrue(product.get("id").isIntegralNumber());
+        assertEquals(0, new BigDecimal("12.50").compareTo(product.get("minimum_sale_price").decimalValue()));
+        assertEquals("TESTED", product.get("status").asText());
+        assertNotNull(LocalDateTime.parse(product.get("created_at").asText()));
+    }
+
+    @Test
+    void exportCustomers_AsCsv_ShouldWriteHeaderAndQuoteSpecialCharacters() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        tableExportService.exportCustomers(ExportFormat.of("csv"), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("id,name,addresses_id,credit_limit,open_balance,created_at,updated_at", lines.get(0));
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith(maria.getId() + ",\"Maria \"\"Mia\"\", da Silva\","), lines.get(1));
+        assertTrue(lines.get(1).contains(",1000.00,"), lines.get(1));
+    }
+
+    @Test
+    void exportFormat_WhenUnknown_ShouldReject() {
+        assertThrows(BusinessRuleException.class, () -> ExportFormat.of("xml"));
+    }
+
+    private Customer customer(String name) {
+        Address address = new Address();
+        address.setCity("Garanhuns");
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setAddresses(address);
+        customer.setCreditLimit(new BigDecimal("1000.00"));
+        customer.setCreatedAt(LocalDateTime.now());
+        customer.setUpdatedAt(LocalDateTime.now());
+        return em.persist(customer);
+    }
+
+    private Product product(String minimumSalePrice) {
+        Product product = new Product();
+        product.setWarranty_date(LocalDateTime.now().plusDays(30));
+        product.setStatus(ProductStatus.TESTED);
+        product.setMinimumSalePrice(new BigDecimal(minimumSalePrice));
+        return em.persist(product);
+    }
+}